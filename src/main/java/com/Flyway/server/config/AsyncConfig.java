@@ -1,26 +1,120 @@
 package com.Flyway.server.config;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.event.ApplicationEventMulticaster;
-import org.springframework.context.event.SimpleApplicationEventMulticaster;
 import org.springframework.context.annotation.Bean;
-import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Configuration for asynchronous event processing.
- * This ensures that event listeners (audit logs, webhooks, notifications)
- * don't block the main request thread.
+ * Domain events go through the outbox and EventOutboxRelay runs their listeners
+ * (audit logs, webhooks, notifications) on this executor, so they never block
+ * the main request thread.
+ *
+ * Listeners run on virtual threads, capped at events.executor.concurrency running
+ * listeners with at most events.executor.queue-capacity waiting. When both are full the
+ * events.executor.rejection-policy applies: "caller-runs" handles the event on the publishing
+ * thread (backpressure), "shed" drops it.
  */
+@Slf4j
 @Configuration
 @EnableAsync
 public class AsyncConfig {
     
-    @Bean(name = "applicationEventMulticaster")
-    public ApplicationEventMulticaster simpleApplicationEventMulticaster() {
-        SimpleApplicationEventMulticaster eventMulticaster = new SimpleApplicationEventMulticaster();
-        eventMulticaster.setTaskExecutor(new SimpleAsyncTaskExecutor());
-        return eventMulticaster;
+    @Bean(destroyMethod = "shutdown")
+    public EventDispatchExecutor eventDispatchExecutor(
+            @Value("${events.executor.concurrency:32}") int concurrency,
+            @Value("${events.executor.queue-capacity:10000}") int queueCapacity,
+            @Value("${events.executor.rejection-policy:caller-runs}") String rejectionPolicy) {
+        return new EventDispatchExecutor(concurrency, queueCapacity, rejectionPolicy);
+    }
+    
+    /**
+     * Expose queue depth, active listeners and rejections under /actuator/metrics
+     */
+    @Bean
+    public MeterBinder eventDispatchExecutorMetrics(EventDispatchExecutor eventDispatchExecutor) {
+        ThreadPoolExecutor executor = eventDispatchExecutor.getExecutor();
+        
+        return registry -> {
+            Gauge.builder("events.executor.queued", executor, e -> e.getQueue().size())
+                    .description("Domain events waiting for a dispatch thread")
+                    .register(registry);
+            Gauge.builder("events.executor.active", executor, ThreadPoolExecutor::getActiveCount)
+                    .description("Domain event listeners currently running")
+                    .register(registry);
+            FunctionCounter.builder("events.executor.rejected", eventDispatchExecutor, EventDispatchExecutor::getRejectedCount)
+                    .description("Domain events that did not fit in the dispatch queue")
+                    .tag("policy", eventDispatchExecutor.getRejectionPolicy())
+                    .register(registry);
+        };
+    }
+    
+    /**
+     * Bounded virtual-thread executor for domain events.
+     * Not exposed as an Executor bean so it does not replace the application task executor.
+     */
+    public static class EventDispatchExecutor {
+        
+        @Getter
+        private final ThreadPoolExecutor executor;
+        @Getter
+        private final String rejectionPolicy;
+        private final LongAdder rejected = new LongAdder();
+        
+        EventDispatchExecutor(int concurrency, int queueCapacity, String rejectionPolicy) {
+            if (!"caller-runs".equals(rejectionPolicy) && !"shed".equals(rejectionPolicy)) {
+                throw new IllegalArgumentException("Unknown events.executor.rejection-policy: " + rejectionPolicy);
+            }
+            this.rejectionPolicy = rejectionPolicy;
+            this.executor = new ThreadPoolExecutor(
+                    concurrency,
+                    concurrency,
+                    60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity),
+                    Thread.ofVirtual().name("event-", 0).factory(),
+                    this::reject
+            );
+            this.executor.allowCoreThreadTimeOut(true);
+        }
+        
+        public long getRejectedCount() {
+            return rejected.sum();
+        }
+        
+        public void shutdown() {
+            executor.shutdown();
+        }
+        
+        /**
+         * Count the rejection, then either run the event on the publishing thread or drop it
+         */
+        private void reject(Runnable task, ThreadPoolExecutor executor) {
+            rejected.increment();
+            
+            if ("shed".equals(rejectionPolicy)) {
+                log.warn("Event dispatch queue is full, dropping event");
+                // Let whoever waits on the task see it was dropped
+                if (task instanceof Future<?> future) {
+                    future.cancel(false);
+                }
+                return;
+            }
+            
+            if (!executor.isShutdown()) {
+                task.run();
+            }
+        }
     }
 }
-
@@ -11,5 +11,9 @@ public class JwtConfig {
     private String secret;
     private Long expiration;
     private Long refreshExpiration;
+    // Embed organization, permissions and status in access tokens so requests skip the user lookup
+    private Boolean statelessPrincipal = false;
+    // Upper bound on recently verified tokens whose claims are kept in memory
+    private Integer verifiedTokenCacheSize = 10000;
 }
 
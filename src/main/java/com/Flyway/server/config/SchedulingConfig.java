@@ -0,0 +1,12 @@
+package com.Flyway.server.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (e.g. syncing in-memory deployment pointers).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
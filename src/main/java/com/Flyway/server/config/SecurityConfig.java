@@ -33,7 +33,7 @@ public class SecurityConfig {
             .cors(cors -> {})
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers(org.springframework.http.HttpMethod.OPTIONS, "/**").permitAll()
-                .requestMatchers("/api/auth/**", "/api/public/**", "/actuator/**", "/api/invitations/token/**", "/api/v1/builds/**", "/api/permissions").permitAll()
+                .requestMatchers("/api/auth/**", "/api/public/**", "/actuator/health", "/actuator/health/**", "/api/invitations/token/**", "/api/v1/builds/**", "/api/v1/uploads/**", "/api/v1/updates/**", "/api/v1/telemetry", "/api/v1/bundles/**", "/api/permissions").permitAll()
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session
@@ -30,6 +30,8 @@ public class ApiKeyController {
      * @param page Page number (default: 0)
      * @param size Page size (default: 20)
      * @param sort Sort direction: "asc" or "desc" (default: "desc")
+     * @param cursor nextCursor of the previous page; replaces page (optional)
+     * @param total How to report the total: "exact", "estimate" (cached) or "none" (default: "exact")
      */
     @GetMapping("/api/{orgId}/{bundleId}/api-keys")
     @RequirePermission("api_key.view")
@@ -39,6 +41,8 @@ public class ApiKeyController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "desc") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "exact") String total,
             @AuthenticationPrincipal CustomUserDetails userDetails) {
         
             PaginatedApiKeyResponse response = apiKeyService.getApiKeysByBundleIdPaginated(
@@ -47,6 +51,8 @@ public class ApiKeyController {
                 page,
                 size,
                 sort,
+                cursor,
+                total,
                 userDetails.getOrganizationId()
         );
         
@@ -8,7 +8,9 @@ import com.Flyway.server.security.CustomUserDetails;
 import com.Flyway.server.security.RequirePermission;
 import com.Flyway.server.service.ApiKeyService;
 import com.Flyway.server.service.AppBuildService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -74,6 +76,63 @@ public class AppBuildController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
+    /**
+     * Upload a new build as a raw request body using API key authentication
+     * 
+     * Streaming alternative to the multipart upload for CI/CD pipelines: the body is piped
+     * straight into storage while it is hashed and size-checked, so large concurrent uploads
+     * are never buffered by the server. Build metadata is passed as query parameters.
+     * 
+     * @param apiKey The API key (from X-API-Key header)
+     * @param contentLength The size of the build file (Content-Length header, required)
+     * @param contentSha256 The SHA-256 of the build file, verified after upload (optional)
+     * @param commitHash The git commit hash (unique identifier for the build)
+     * @param branchName The git branch name
+     * @param commitMessage The git commit message
+     * @param nativeVersion The native app version (e.g., "1.0.0")
+     * @param filename The file name of the build (e.g., "bundle.zip")
+     */
+    @PostMapping(value = "/api/v1/builds/stream", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<BuildResponse> uploadBuildStream(
+            @RequestHeader(value = "X-API-Key", required = false) String apiKey,
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+            @RequestHeader(value = "X-Content-SHA256", required = false) String contentSha256,
+            @RequestParam String commitHash,
+            @RequestParam String branchName,
+            @RequestParam(required = false) String commitMessage,
+            @RequestParam String nativeVersion,
+            @RequestParam String filename,
+            HttpServletRequest request) throws IOException {
+        
+        // Validate API key
+        if (apiKey == null || apiKey.trim().isEmpty()) {
+            throw new BadRequestException("X-API-Key header is required");
+        }
+        
+        if (contentLength == null) {
+            throw new BadRequestException("Content-Length header is required");
+        }
+        
+        // Direct lookup of API key
+        ApiKeyResponse apiKeyData = apiKeyService.lookupApiKey(apiKey);
+        
+        BuildResponse response = appBuildService.uploadBuildStream(
+                apiKeyData.getOrganizationId(),
+                apiKeyData.getBundleId(),
+                commitHash,
+                branchName,
+                commitMessage,
+                nativeVersion,
+                apiKeyData.getCreatedBy(),
+                filename,
+                request.getInputStream(),
+                contentLength,
+                contentSha256
+        );
+        
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+    
     /**
      * Get builds with pagination and sorting
      * 
@@ -82,6 +141,8 @@ public class AppBuildController {
      * @param page Page number (default: 0)
      * @param size Page size (default: 20)
      * @param sort Sort direction: "asc" or "desc" (default: "desc")
+     * @param cursor nextCursor of the previous page; replaces page (optional)
+     * @param total How to report the total: "exact", "estimate" (cached) or "none" (default: "exact")
      */
     @GetMapping("/api/{orgId}/{bundleId}/builds")
     @RequirePermission("build.view")
@@ -91,6 +152,8 @@ public class AppBuildController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "desc") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "exact") String total,
             @AuthenticationPrincipal CustomUserDetails userDetails) {
         
         PaginatedBuildResponse response = appBuildService.getBuilds(
@@ -99,6 +162,8 @@ public class AppBuildController {
                 page,
                 size,
                 sort,
+                cursor,
+                total,
                 userDetails.getOrganizationId()
         );
         
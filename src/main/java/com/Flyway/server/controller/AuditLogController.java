@@ -3,9 +3,12 @@ package com.Flyway.server.controller;
 import com.Flyway.server.dto.generated.AuditLogResponse;
 import com.Flyway.server.dto.generated.PaginatedAuditLogResponse;
 import com.Flyway.server.jooq.tables.records.AuditLogsRecord;
+import com.Flyway.server.repository.PagedRecords;
 import com.Flyway.server.security.CustomUserDetails;
 import com.Flyway.server.security.RequirePermission;
 import com.Flyway.server.service.AuditLogService;
+import com.Flyway.server.util.PageCursor;
+import com.Flyway.server.util.PageTotal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +19,7 @@ import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.function.IntSupplier;
 import java.util.stream.Collectors;
 
 /**
@@ -48,6 +52,8 @@ public class AuditLogController {
      * @param page Page number (0-indexed)
      * @param size Page size
      * @param sort Sort order (asc or desc)
+     * @param cursor nextCursor of the previous page; replaces page and skips the total count (optional)
+     * @param total How to report the total: "exact", "estimate" (cached, cheap on large logs) or "none"
      */
     @GetMapping
     @RequirePermission("audit.read")
@@ -60,6 +66,8 @@ public class AuditLogController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "desc") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "exact") String total,
             @AuthenticationPrincipal CustomUserDetails userDetails) {
         
         String organizationId = userDetails.getOrganizationId();
@@ -68,28 +76,26 @@ public class AuditLogController {
         LocalDateTime startLocalDateTime = startDate != null ? startDate.atZoneSameInstant(ZoneOffset.UTC).toLocalDateTime() : null;
         LocalDateTime endLocalDateTime = endDate != null ? endDate.atZoneSameInstant(ZoneOffset.UTC).toLocalDateTime() : null;
         
-        // Get audit logs
-        List<AuditLogsRecord> records = auditLogService.getAuditLogs(
+        PageTotal totalMode = PageTotal.parse(total);
+        PageCursor after = PageCursor.decode(cursor);
+        
+        // Get audit logs, plus one to know whether there is a next page; an exact total rides along in the same query
+        PagedRecords<AuditLogsRecord> result = auditLogService.getAuditLogs(
                 organizationId,
                 action,
                 resourceType,
                 userId,
                 startLocalDateTime,
                 endLocalDateTime,
+                after,
                 page,
                 size,
-                sort
-        );
-        
-        // Get total count
-        int totalCount = auditLogService.countAuditLogs(
-                organizationId,
-                action,
-                resourceType,
-                userId,
-                startLocalDateTime,
-                endLocalDateTime
+                size + 1,
+                sort,
+                after == null && totalMode == PageTotal.EXACT
         );
+        List<AuditLogsRecord> records = result.records();
+        String nextCursor = PageCursor.nextPage(records, size, AuditLogsRecord::getCreatedAt, AuditLogsRecord::getId);
         
         // Map to response DTOs
         List<AuditLogResponse> auditLogResponses = records.stream()
@@ -99,10 +105,33 @@ public class AuditLogController {
         // Build paginated response
         PaginatedAuditLogResponse response = new PaginatedAuditLogResponse()
                 .data(auditLogResponses)
-                .page(page)
                 .size(size)
-                .totalElements(totalCount)
-                .totalPages((int) Math.ceil((double) totalCount / size));
+                .hasNext(nextCursor != null)
+                .nextCursor(nextCursor);
+        
+        // Totals only for numbered pages, so cursor pages never count the whole log
+        if (after == null) {
+            response.page(page);
+            
+            IntSupplier counter = () -> auditLogService.countAuditLogs(
+                    organizationId,
+                    action,
+                    resourceType,
+                    userId,
+                    startLocalDateTime,
+                    endLocalDateTime
+            );
+            Integer totalCount = switch (totalMode) {
+                case EXACT -> result.totalOrCount(page * size, counter);
+                case ESTIMATE -> auditLogService.estimateAuditLogs(
+                        organizationId, action, resourceType, userId, startLocalDateTime, endLocalDateTime);
+                case NONE -> null;
+            };
+            if (totalCount != null) {
+                response.totalElements(totalCount)
+                        .totalPages((int) Math.ceil((double) totalCount / size));
+            }
+        }
         
         return ResponseEntity.ok(response);
     }
@@ -0,0 +1,177 @@
+package com.Flyway.server.controller;
+
+import com.Flyway.server.exception.BadRequestException;
+import com.Flyway.server.exception.ResourceNotFoundException;
+import com.Flyway.server.storage.ContentAddressedStorageService;
+import com.Flyway.server.storage.FileSystemStorageService;
+import com.Flyway.server.storage.StorageService;
+import com.Flyway.server.util.HttpRangeUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+@RestController
+public class BundleDownloadController {
+    
+    private static final String DOWNLOAD_PATH = "/api/v1/bundles/";
+    
+    // Tomcat's sendfile contract: when supported, the connector streams the file itself after the request completes
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+    
+    private final StorageService storageService;
+    private final StorageService storageBackend;
+    
+    public BundleDownloadController(
+            StorageService storageService,
+            @Qualifier(StorageService.BACKEND) StorageService storageBackend) {
+        this.storageService = storageService;
+        this.storageBackend = storageBackend;
+    }
+    
+    /**
+     * Download a stored bundle or delta patch
+     * 
+     * Called by devices using the downloadUrl returned by the update check.
+     * Plain files on filesystem storage are served zero-copy with Range and If-Range support
+     * so interrupted downloads can resume. Chunked objects are reassembled on the fly and
+     * streamed whole. Every response carries a strong ETag derived from the content hash.
+     * It does NOT require authentication.
+     */
+    @GetMapping(DOWNLOAD_PATH + "**")
+    public ResponseEntity<StreamingResponseBody> download(
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length() + DOWNLOAD_PATH.length());
+        
+        if (!path.startsWith("builds/") || path.contains("..")) {
+            throw new BadRequestException("Invalid bundle path");
+        }
+        
+        if (!storageService.exists(path)) {
+            throw new ResourceNotFoundException("Bundle not found");
+        }
+        
+        if (storageBackend instanceof FileSystemStorageService fileSystem && !isChunked(path)) {
+            serveFile(fileSystem, path, request, response);
+            return null;
+        }
+        
+        String etag = null;
+        if (storageService instanceof ContentAddressedStorageService chunkedStorage) {
+            etag = "\"" + chunkedStorage.loadManifest(path).getSha256() + "\"";
+            if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        
+        StreamingResponseBody body = outputStream -> {
+            try (InputStream in = storageService.load(path)) {
+                in.transferTo(outputStream);
+            }
+        };
+        
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM);
+        if (etag != null) {
+            builder.eTag(etag);
+        }
+        return builder.body(body);
+    }
+    
+    private boolean isChunked(String path) throws IOException {
+        return storageService instanceof ContentAddressedStorageService chunkedStorage
+                && chunkedStorage.isChunked(path);
+    }
+    
+    /**
+     * Serve a file directly from disk, handling conditional and single-range requests
+     */
+    private void serveFile(FileSystemStorageService fileSystem, String path,
+                           HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file = fileSystem.resolve(path);
+        long size = Files.size(file);
+        String etag = "\"" + fileSystem.contentHash(path) + "\"";
+        
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, Files.getLastModifiedTime(file).toMillis());
+        
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+        
+        // A stale If-Range means the client's partial copy is of another version: send everything
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        long[] range = ifRange == null || ifRange.equals(etag)
+                ? HttpRangeUtil.parse(request.getHeader(HttpHeaders.RANGE), size)
+                : null;
+        
+        if (range == HttpRangeUtil.UNSATISFIABLE) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            return;
+        }
+        
+        long start = range != null ? range[0] : 0;
+        long end = range != null ? range[1] : size - 1;
+        long length = end - start + 1;
+        
+        if (range != null) {
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        } else {
+            response.setStatus(HttpStatus.OK.value());
+        }
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment");
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setContentLengthLong(length);
+        
+        if (length == 0) {
+            return;
+        }
+        
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTR, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, end + 1);
+            return;
+        }
+        
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            OutputStream outputStream = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(outputStream);
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+            outputStream.flush();
+        }
+    }
+}
@@ -28,6 +28,8 @@ public class ChannelController {
      * @param page Page number (default: 0)
      * @param size Page size (default: 20)
      * @param sort Sort direction: "asc" or "desc" (default: "desc")
+     * @param cursor nextCursor of the previous page; replaces page (optional)
+     * @param total How to report the total: "exact", "estimate" (cached) or "none" (default: "exact")
      */
     @GetMapping("/api/{orgId}/channels")
     @RequirePermission("channel.view")
@@ -36,6 +38,8 @@ public class ChannelController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "desc") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "exact") String total,
             @AuthenticationPrincipal CustomUserDetails userDetails) {
         
         PaginatedChannelResponse response = channelService.getChannelsPaginated(
@@ -43,6 +47,8 @@ public class ChannelController {
                 page,
                 size,
                 sort,
+                cursor,
+                total,
                 userDetails.getOrganizationId()
         );
         
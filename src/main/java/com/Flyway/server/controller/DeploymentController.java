@@ -0,0 +1,130 @@
+package com.Flyway.server.controller;
+
+import com.Flyway.server.dto.generated.DeploymentResponse;
+import com.Flyway.server.dto.generated.PromoteDeploymentRequest;
+import com.Flyway.server.dto.generated.UpdateRolloutRequest;
+import com.Flyway.server.security.CustomUserDetails;
+import com.Flyway.server.security.RequirePermission;
+import com.Flyway.server.service.DeploymentService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class DeploymentController {
+    
+    private final DeploymentService deploymentService;
+    
+    /**
+     * Get the build each channel currently points at
+     * 
+     * @param orgId Organization ID
+     * @param bundleId Bundle ID of the mobile application
+     */
+    @GetMapping("/api/{orgId}/{bundleId}/deployments")
+    @RequirePermission("deployment.view")
+    public ResponseEntity<List<DeploymentResponse>> getDeployments(
+            @PathVariable String orgId,
+            @PathVariable String bundleId,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        
+        List<DeploymentResponse> response = deploymentService.getDeployments(
+                orgId,
+                bundleId,
+                userDetails.getOrganizationId()
+        );
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Promote a build to a channel
+     * 
+     * @param orgId Organization ID
+     * @param bundleId Bundle ID of the mobile application
+     * @param channelId Channel ID
+     * @param request Build to deploy
+     */
+    @PutMapping("/api/{orgId}/{bundleId}/deployments/{channelId}")
+    @RequirePermission("deployment.create")
+    public ResponseEntity<DeploymentResponse> promote(
+            @PathVariable String orgId,
+            @PathVariable String bundleId,
+            @PathVariable String channelId,
+            @Valid @RequestBody PromoteDeploymentRequest request,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        
+        DeploymentResponse response = deploymentService.promote(
+                orgId,
+                bundleId,
+                channelId,
+                request.getBuildId(),
+                request.getRolloutPercentage(),
+                userDetails.getId(),
+                userDetails.getOrganizationId()
+        );
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Change the share of a channel's devices that get its deployed build
+     * 
+     * @param orgId Organization ID
+     * @param bundleId Bundle ID of the mobile application
+     * @param channelId Channel ID
+     * @param request New rollout percentage
+     */
+    @PutMapping("/api/{orgId}/{bundleId}/deployments/{channelId}/rollout")
+    @RequirePermission("deployment.create")
+    public ResponseEntity<DeploymentResponse> updateRollout(
+            @PathVariable String orgId,
+            @PathVariable String bundleId,
+            @PathVariable String channelId,
+            @Valid @RequestBody UpdateRolloutRequest request,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        
+        DeploymentResponse response = deploymentService.updateRollout(
+                orgId,
+                bundleId,
+                channelId,
+                request.getRolloutPercentage(),
+                userDetails.getId(),
+                userDetails.getOrganizationId()
+        );
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Roll a channel back to the build it served before the last promotion
+     * 
+     * @param orgId Organization ID
+     * @param bundleId Bundle ID of the mobile application
+     * @param channelId Channel ID
+     */
+    @PostMapping("/api/{orgId}/{bundleId}/deployments/{channelId}/rollback")
+    @RequirePermission("deployment.rollback")
+    public ResponseEntity<DeploymentResponse> rollback(
+            @PathVariable String orgId,
+            @PathVariable String bundleId,
+            @PathVariable String channelId,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        
+        DeploymentResponse response = deploymentService.rollback(
+                orgId,
+                bundleId,
+                channelId,
+                userDetails.getId(),
+                userDetails.getOrganizationId()
+        );
+        
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,36 @@
+package com.Flyway.server.controller;
+
+import com.Flyway.server.dto.generated.DeviceTelemetryAcceptedResponse;
+import com.Flyway.server.dto.generated.DeviceTelemetryRequest;
+import com.Flyway.server.service.DeviceTelemetryService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class DeviceTelemetryController {
+    
+    private final DeviceTelemetryService deviceTelemetryService;
+    
+    /**
+     * Report update lifecycle events (download, apply, success, rollback) from a device
+     * 
+     * Called by Capacitor devices. It does NOT require authentication: events are only
+     * accepted for builds of the reported bundle ID. Events are queued and persisted in
+     * batches, so the response is 202 Accepted before anything is written.
+     * 
+     * @param request Device, bundle and the events to record
+     */
+    @PostMapping("/api/v1/telemetry")
+    public ResponseEntity<DeviceTelemetryAcceptedResponse> reportTelemetry(
+            @Valid @RequestBody DeviceTelemetryRequest request) {
+        
+        DeviceTelemetryAcceptedResponse response = deviceTelemetryService.ingest(request);
+        
+        return ResponseEntity.accepted().body(response);
+    }
+}
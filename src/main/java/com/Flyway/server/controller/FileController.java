@@ -1,5 +1,6 @@
 package com.Flyway.server.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
@@ -25,9 +26,13 @@ public class FileController {
     private final Path storageLocation = Paths.get("./storage").toAbsolutePath().normalize();
     
     @GetMapping("/**")
-    public ResponseEntity<Resource> serveFile() throws Exception {
-        String filePath = Paths.get("").toAbsolutePath().toString();
-        Path file = storageLocation.resolve(filePath.replace("/files/", "")).normalize();
+    public ResponseEntity<Resource> serveFile(HttpServletRequest request) throws Exception {
+        String filePath = request.getRequestURI().substring(request.getContextPath().length() + "/files/".length());
+        Path file = storageLocation.resolve(filePath).normalize();
+        if (!file.startsWith(storageLocation)) {
+            return ResponseEntity.notFound().build();
+        }
+        
         Resource resource = new UrlResource(file.toUri());
         
         if (resource.exists() && resource.isReadable()) {
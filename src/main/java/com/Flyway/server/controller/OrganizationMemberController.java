@@ -39,9 +39,10 @@ public class OrganizationMemberController {
     public ResponseEntity<PaginatedOrganizationMemberResponse> getMembers(
             @RequestParam(defaultValue = "0") Integer page,
             @RequestParam(defaultValue = "20") Integer limit,
+            @RequestParam(defaultValue = "exact") String total,
             @AuthenticationPrincipal CustomUserDetails userDetails) {
         PaginatedOrganizationMemberResponse members = memberService.getMembersByOrganizationIdWithPagination(
-                userDetails.getOrganizationId(), page, limit);
+                userDetails.getOrganizationId(), page, limit, total);
         return ResponseEntity.ok(members);
     }
     
@@ -50,7 +51,7 @@ public class OrganizationMemberController {
     public ResponseEntity<OrganizationMemberResponse> addMember(
             @Valid @RequestBody AddOrganizationMemberRequest request,
             @AuthenticationPrincipal CustomUserDetails userDetails) {
-        OrganizationMemberResponse member = memberService.addMember(userDetails.getOrganizationId(), request);
+        OrganizationMemberResponse member = memberService.addMember(userDetails.getOrganizationId(), request, userDetails.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(member);
     }
     
@@ -62,7 +63,7 @@ public class OrganizationMemberController {
             @AuthenticationPrincipal CustomUserDetails userDetails) {
         // Verify member belongs to user's organization
         memberService.verifyMemberOwnership(memberId, userDetails.getOrganizationId());
-        OrganizationMemberResponse member = memberService.updateMemberRole(memberId, request);
+        OrganizationMemberResponse member = memberService.updateMemberRole(memberId, request, userDetails.getId());
         return ResponseEntity.ok(member);
     }
     
@@ -73,7 +74,7 @@ public class OrganizationMemberController {
             @AuthenticationPrincipal CustomUserDetails userDetails) {
         // Verify member belongs to user's organization
         memberService.verifyMemberOwnership(memberId, userDetails.getOrganizationId());
-        memberService.removeMember(memberId);
+        memberService.removeMember(memberId, userDetails.getId());
         return ResponseEntity.ok().build();
     }
 }
@@ -0,0 +1,67 @@
+package com.Flyway.server.controller;
+
+import com.Flyway.server.dto.generated.UpdateCheckResponse;
+import com.Flyway.server.model.UpdateCheckResult;
+import com.Flyway.server.service.UpdateCheckService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequiredArgsConstructor
+public class UpdateCheckController {
+    
+    private final UpdateCheckService updateCheckService;
+    
+    /**
+     * Check whether a newer bundle is available for a device
+     * 
+     * This endpoint is called by Capacitor devices on app start/resume.
+     * It does NOT require authentication and is answered entirely from memory.
+     * Responses carry a strong ETag; a matching If-None-Match (compared weakly, so W/ tags,
+     * lists and "*" work too) gets a 304 without a body, so the common "no change" poll
+     * neither builds nor serializes a response.
+     * 
+     * @param bundleId Bundle ID of the mobile application
+     * @param nativeVersion Native app version installed on the device (e.g., "1.0.0")
+     * @param channel Channel the device is subscribed to
+     * @param currentCommit Commit hash of the bundle currently installed on the device
+     * @param deviceId Stable device identifier, used for staged rollouts
+     * @param webRequest Carries the If-None-Match header with the ETag the device already has, if any
+     */
+    @GetMapping("/api/v1/updates/check")
+    public ResponseEntity<UpdateCheckResponse> checkForUpdate(
+            @RequestParam String bundleId,
+            @RequestParam String nativeVersion,
+            @RequestParam(required = false) String channel,
+            @RequestParam(required = false) String currentCommit,
+            @RequestParam(required = false) String deviceId,
+            WebRequest webRequest) {
+        
+        UpdateCheckResult result = updateCheckService.resolveUpdate(
+                bundleId,
+                nativeVersion,
+                channel,
+                currentCommit,
+                deviceId
+        );
+        
+        // Devices may keep the response but must revalidate it on every check
+        if (webRequest.checkNotModified(result.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(result.getEtag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        
+        return ResponseEntity.ok()
+                .eTag(result.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .body(updateCheckService.toResponse(result));
+    }
+}
@@ -0,0 +1,162 @@
+package com.Flyway.server.controller;
+
+import com.Flyway.server.dto.generated.ApiKeyResponse;
+import com.Flyway.server.dto.generated.BuildResponse;
+import com.Flyway.server.dto.generated.CreateUploadSessionRequest;
+import com.Flyway.server.dto.generated.UploadSessionResponse;
+import com.Flyway.server.exception.BadRequestException;
+import com.Flyway.server.service.ApiKeyService;
+import com.Flyway.server.service.UploadSessionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * Resumable build uploads for CI/CD pipelines
+ * 
+ * All endpoints use API key authentication (X-API-Key header) instead of JWT,
+ * like the single-request upload at POST /api/v1/builds.
+ */
+@RestController
+@RequestMapping("/api/v1/uploads")
+@RequiredArgsConstructor
+public class UploadSessionController {
+    
+    private final UploadSessionService uploadSessionService;
+    private final ApiKeyService apiKeyService;
+    
+    /**
+     * Start a resumable upload
+     * 
+     * The response tells the client the part size to use; part N starts at offset N * partSize.
+     */
+    @PostMapping
+    public ResponseEntity<UploadSessionResponse> createUploadSession(
+            @RequestHeader(value = "X-API-Key", required = false) String apiKey,
+            @Valid @RequestBody CreateUploadSessionRequest request) {
+        
+        ApiKeyResponse apiKeyData = authenticate(apiKey);
+        
+        UploadSessionResponse response = uploadSessionService.createSession(
+                apiKeyData.getOrganizationId(),
+                apiKeyData.getBundleId(),
+                apiKeyData.getCreatedBy(),
+                request
+        );
+        
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+    
+    /**
+     * Get the progress of a resumable upload (which parts have been received)
+     * 
+     * @param sessionId The UUID of the upload session
+     */
+    @GetMapping("/{sessionId}")
+    public ResponseEntity<UploadSessionResponse> getUploadSession(
+            @RequestHeader(value = "X-API-Key", required = false) String apiKey,
+            @PathVariable String sessionId) {
+        
+        ApiKeyResponse apiKeyData = authenticate(apiKey);
+        
+        UploadSessionResponse response = uploadSessionService.getSession(
+                sessionId,
+                apiKeyData.getOrganizationId(),
+                apiKeyData.getBundleId()
+        );
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Upload one part as a raw request body
+     * 
+     * Parts may be sent in parallel and in any order; re-sending a part replaces it.
+     * 
+     * @param sessionId The UUID of the upload session
+     * @param offset Byte offset of the part, a multiple of the session's part size
+     * @param contentLength Size of the part (Content-Length header, required)
+     */
+    @PutMapping(value = "/{sessionId}/parts", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<UploadSessionResponse> uploadPart(
+            @RequestHeader(value = "X-API-Key", required = false) String apiKey,
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+            @PathVariable String sessionId,
+            @RequestParam long offset,
+            HttpServletRequest request) throws IOException {
+        
+        ApiKeyResponse apiKeyData = authenticate(apiKey);
+        
+        if (contentLength == null) {
+            throw new BadRequestException("Content-Length header is required");
+        }
+        
+        UploadSessionResponse response = uploadSessionService.uploadPart(
+                sessionId,
+                apiKeyData.getOrganizationId(),
+                apiKeyData.getBundleId(),
+                offset,
+                contentLength,
+                request.getInputStream()
+        );
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Finish a resumable upload once all parts are received and create the build
+     * 
+     * @param sessionId The UUID of the upload session
+     */
+    @PostMapping("/{sessionId}/complete")
+    public ResponseEntity<BuildResponse> completeUploadSession(
+            @RequestHeader(value = "X-API-Key", required = false) String apiKey,
+            @PathVariable String sessionId) throws IOException {
+        
+        ApiKeyResponse apiKeyData = authenticate(apiKey);
+        
+        BuildResponse response = uploadSessionService.completeSession(
+                sessionId,
+                apiKeyData.getOrganizationId(),
+                apiKeyData.getBundleId()
+        );
+        
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+    
+    /**
+     * Abandon a resumable upload and discard the received parts
+     * 
+     * @param sessionId The UUID of the upload session
+     */
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<Void> abortUploadSession(
+            @RequestHeader(value = "X-API-Key", required = false) String apiKey,
+            @PathVariable String sessionId) {
+        
+        ApiKeyResponse apiKeyData = authenticate(apiKey);
+        
+        uploadSessionService.abortSession(
+                sessionId,
+                apiKeyData.getOrganizationId(),
+                apiKeyData.getBundleId()
+        );
+        
+        return ResponseEntity.noContent().build();
+    }
+    
+    private ApiKeyResponse authenticate(String apiKey) {
+        if (apiKey == null || apiKey.trim().isEmpty()) {
+            throw new BadRequestException("X-API-Key header is required");
+        }
+        
+        return apiKeyService.lookupApiKey(apiKey);
+    }
+}
@@ -0,0 +1,125 @@
+package com.Flyway.server.controller;
+
+import com.Flyway.server.dto.generated.CreateWebhookRequest;
+import com.Flyway.server.dto.generated.UpdateWebhookRequest;
+import com.Flyway.server.dto.generated.WebhookDeliveryResponse;
+import com.Flyway.server.dto.generated.WebhookResponse;
+import com.Flyway.server.security.CustomUserDetails;
+import com.Flyway.server.security.RequirePermission;
+import com.Flyway.server.service.WebhookService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@DependsOn({"customUserDetailsService"})
+public class WebhookController {
+    
+    private final WebhookService webhookService;
+    
+    /**
+     * Get all webhooks of an organization
+     * 
+     * @param orgId Organization ID
+     */
+    @GetMapping("/api/{orgId}/webhooks")
+    @RequirePermission("webhook.view")
+    public ResponseEntity<List<WebhookResponse>> getWebhooks(
+            @PathVariable String orgId,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        
+        return ResponseEntity.ok(webhookService.getWebhooks(orgId, userDetails.getOrganizationId()));
+    }
+    
+    /**
+     * Create a webhook; the response is the only place the signing secret is shown
+     * 
+     * @param orgId Organization ID
+     */
+    @PostMapping("/api/{orgId}/webhooks")
+    @RequirePermission("webhook.manage")
+    public ResponseEntity<WebhookResponse> createWebhook(
+            @PathVariable String orgId,
+            @Valid @RequestBody CreateWebhookRequest request,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        
+        WebhookResponse response = webhookService.createWebhook(
+                request,
+                orgId,
+                userDetails.getId(),
+                userDetails.getOrganizationId()
+        );
+        
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+    
+    /**
+     * Update a webhook
+     * 
+     * @param orgId Organization ID
+     * @param webhookId Webhook ID
+     */
+    @PutMapping("/api/{orgId}/webhooks/{webhookId}")
+    @RequirePermission("webhook.manage")
+    public ResponseEntity<WebhookResponse> updateWebhook(
+            @PathVariable String orgId,
+            @PathVariable String webhookId,
+            @Valid @RequestBody UpdateWebhookRequest request,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        
+        return ResponseEntity.ok(webhookService.updateWebhook(
+                webhookId,
+                request,
+                orgId,
+                userDetails.getOrganizationId()
+        ));
+    }
+    
+    /**
+     * Delete a webhook
+     * 
+     * @param orgId Organization ID
+     * @param webhookId Webhook ID
+     */
+    @DeleteMapping("/api/{orgId}/webhooks/{webhookId}")
+    @RequirePermission("webhook.manage")
+    public ResponseEntity<Void> deleteWebhook(
+            @PathVariable String orgId,
+            @PathVariable String webhookId,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        
+        webhookService.deleteWebhook(webhookId, orgId, userDetails.getOrganizationId());
+        return ResponseEntity.noContent().build();
+    }
+    
+    /**
+     * Get the most recent delivery attempts of a webhook
+     * 
+     * @param orgId Organization ID
+     * @param webhookId Webhook ID
+     * @param limit Maximum number of attempts to return (default: 50)
+     */
+    @GetMapping("/api/{orgId}/webhooks/{webhookId}/deliveries")
+    @RequirePermission("webhook.view")
+    public ResponseEntity<List<WebhookDeliveryResponse>> getDeliveries(
+            @PathVariable String orgId,
+            @PathVariable String webhookId,
+            @RequestParam(defaultValue = "50") int limit,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        
+        return ResponseEntity.ok(webhookService.getDeliveries(
+                webhookId,
+                limit,
+                orgId,
+                userDetails.getOrganizationId()
+        ));
+    }
+}
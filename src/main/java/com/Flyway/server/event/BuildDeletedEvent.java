@@ -2,6 +2,8 @@ package com.Flyway.server.event;
 
 import lombok.Getter;
 
+import java.beans.ConstructorProperties;
+
 @Getter
 public class BuildDeletedEvent extends DomainEvent {
     
@@ -9,6 +11,7 @@ public class BuildDeletedEvent extends DomainEvent {
     private final String bundleId;
     private final String commitHash;
     
+    @ConstructorProperties({"buildId", "bundleId", "commitHash", "userId", "organizationId"})
     public BuildDeletedEvent(String buildId, String bundleId, String commitHash,
                               String userId, String organizationId) {
         super(userId, organizationId);
@@ -42,4 +45,3 @@ public class BuildDeletedEvent extends DomainEvent {
         return String.format("%s@%s", bundleId, commitHash);
     }
 }
-
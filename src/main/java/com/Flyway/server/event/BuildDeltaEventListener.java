@@ -0,0 +1,39 @@
+package com.Flyway.server.event;
+
+import com.Flyway.server.service.BuildDeltaService;
+import com.Flyway.server.service.BuildIndexService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+/**
+ * Event listener that generates delta patches in the background when a build is uploaded,
+ * against the builds currently deployed on each channel of the application.
+ * 
+ * Runs once, on the node that stored the upload, on the application task executor. Delta
+ * generation can take long, so it stays off the outbox relay where it would hold up the
+ * delivery of every organization's events. A delta lost to a crash only means devices
+ * download the full bundle.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BuildDeltaEventListener {
+    
+    private final BuildDeltaService buildDeltaService;
+    private final BuildIndexService buildIndexService;
+    
+    @Async
+    @EventListener
+    public void handleBuildUploaded(CommittedEvent<BuildUploadedEvent> committed) {
+        BuildUploadedEvent event = committed.getEvent();
+        try {
+            buildDeltaService.generateDeltas(buildIndexService.toIndexedBuild(event));
+        } catch (Exception e) {
+            // Log the error but don't throw - deltas are an optimization, full builds still work
+            log.error("Failed to generate deltas for build {} - {}", event.getBuildId(), e.getMessage(), e);
+        }
+    }
+}
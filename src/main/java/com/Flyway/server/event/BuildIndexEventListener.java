@@ -0,0 +1,45 @@
+package com.Flyway.server.event;
+
+import com.Flyway.server.service.BuildIndexService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Event listener that keeps this node's in-memory build index in sync with build uploads and
+ * deletions made here, so update checks never have to query app_builds. Changes made on other
+ * nodes reach the index through BuildIndexService's periodic sync.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BuildIndexEventListener {
+    
+    private final BuildIndexService buildIndexService;
+    
+    @EventListener
+    public void handleBuildUploaded(CommittedEvent<BuildUploadedEvent> committed) {
+        BuildUploadedEvent event = committed.getEvent();
+        buildIndexService.add(buildIndexService.toIndexedBuild(event));
+        
+        log.debug("Build {} added to update index", event.getBuildId());
+    }
+    
+    @EventListener
+    public void handleBuildDeleted(CommittedEvent<BuildDeletedEvent> committed) {
+        BuildDeletedEvent event = committed.getEvent();
+        buildIndexService.remove(event.getBuildId());
+        
+        log.debug("Build {} removed from update index", event.getBuildId());
+    }
+    
+    @EventListener
+    public void handleMobileAppDeleted(CommittedEvent<MobileAppDeletedEvent> committed) {
+        MobileAppDeletedEvent event = committed.getEvent();
+        // Builds are removed by ON DELETE CASCADE, so drop them from the index as well
+        buildIndexService.removeBundle(event.getBundleId());
+        
+        log.debug("Builds of application {} removed from update index", event.getBundleId());
+    }
+}
@@ -2,6 +2,8 @@ package com.Flyway.server.event;
 
 import lombok.Getter;
 
+import java.beans.ConstructorProperties;
+
 @Getter
 public class BuildUploadedEvent extends DomainEvent {
     
@@ -11,10 +13,13 @@ public class BuildUploadedEvent extends DomainEvent {
     private final String branchName;
     private final String nativeVersion;
     private final Long buildSize;
+    private final String buildUrl;
     
+    @ConstructorProperties({"buildId", "bundleId", "commitHash", "branchName", "nativeVersion",
+                            "buildSize", "buildUrl", "userId", "organizationId"})
     public BuildUploadedEvent(String buildId, String bundleId, String commitHash, 
                                String branchName, String nativeVersion, Long buildSize,
-                               String userId, String organizationId) {
+                               String buildUrl, String userId, String organizationId) {
         super(userId, organizationId);
         this.buildId = buildId;
         this.bundleId = bundleId;
@@ -22,6 +27,7 @@ public class BuildUploadedEvent extends DomainEvent {
         this.branchName = branchName;
         this.nativeVersion = nativeVersion;
         this.buildSize = buildSize;
+        this.buildUrl = buildUrl;
     }
     
     @Override
@@ -49,4 +55,3 @@ public class BuildUploadedEvent extends DomainEvent {
         return String.format("%s@%s", bundleId, commitHash);
     }
 }
-
@@ -0,0 +1,28 @@
+package com.Flyway.server.event;
+
+import lombok.Getter;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.ResolvableTypeProvider;
+
+/**
+ * A domain event published on the node that raised it, once its transaction committed.
+ *
+ * Outbox delivery runs each event's listeners on one arbitrary node, which suits audit logs
+ * and webhooks. Node-local state (in-memory indexes and caches) listens for this wrapper
+ * instead, e.g. {@code @EventListener void handle(CommittedEvent<BuildUploadedEvent> event)},
+ * and relies on its own database sync to learn about changes made on other nodes.
+ */
+@Getter
+public class CommittedEvent<T extends DomainEvent> implements ResolvableTypeProvider {
+    
+    private final T event;
+    
+    public CommittedEvent(T event) {
+        this.event = event;
+    }
+    
+    @Override
+    public ResolvableType getResolvableType() {
+        return ResolvableType.forClassWithGenerics(getClass(), ResolvableType.forInstance(event));
+    }
+}
@@ -0,0 +1,63 @@
+package com.Flyway.server.event;
+
+import lombok.Getter;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * A deployment was rolled back automatically because too many devices rolled the new build back.
+ * There is no acting user; the deployment keeps its last deployer.
+ */
+@Getter
+public class DeploymentAutoRolledBackEvent extends DomainEvent {
+    
+    private final String deploymentId;
+    private final String bundleId;
+    private final String channelName;
+    private final String buildId;
+    private final String failedBuildId;
+    private final long successes;
+    private final long failures;
+    private final double failureRate;
+    
+    @ConstructorProperties({"deploymentId", "bundleId", "channelName", "buildId", "failedBuildId",
+                            "successes", "failures", "organizationId"})
+    public DeploymentAutoRolledBackEvent(String deploymentId, String bundleId, String channelName,
+                                          String buildId, String failedBuildId,
+                                          long successes, long failures, String organizationId) {
+        super(null, organizationId);
+        this.deploymentId = deploymentId;
+        this.bundleId = bundleId;
+        this.channelName = channelName;
+        this.buildId = buildId;
+        this.failedBuildId = failedBuildId;
+        this.successes = successes;
+        this.failures = failures;
+        this.failureRate = (double) failures / (successes + failures);
+    }
+    
+    @Override
+    public String getEventType() {
+        return "deployment.auto_rolled_back";
+    }
+    
+    @Override
+    public String getAuditAction() {
+        return "DEPLOYMENT_AUTO_ROLLED_BACK";
+    }
+    
+    @Override
+    public String getResourceType() {
+        return "DEPLOYMENT";
+    }
+    
+    @Override
+    public String getResourceId() {
+        return deploymentId;
+    }
+    
+    @Override
+    public String getResourceName() {
+        return String.format("%s/%s", bundleId, channelName);
+    }
+}
@@ -0,0 +1,53 @@
+package com.Flyway.server.event;
+
+import lombok.Getter;
+
+import java.beans.ConstructorProperties;
+
+@Getter
+public class DeploymentRolledBackEvent extends DomainEvent {
+    
+    private final String deploymentId;
+    private final String bundleId;
+    private final String channelName;
+    private final String buildId;
+    private final String previousBuildId;
+    
+    @ConstructorProperties({"deploymentId", "bundleId", "channelName", "buildId", "previousBuildId",
+                            "userId", "organizationId"})
+    public DeploymentRolledBackEvent(String deploymentId, String bundleId, String channelName,
+                                      String buildId, String previousBuildId,
+                                      String userId, String organizationId) {
+        super(userId, organizationId);
+        this.deploymentId = deploymentId;
+        this.bundleId = bundleId;
+        this.channelName = channelName;
+        this.buildId = buildId;
+        this.previousBuildId = previousBuildId;
+    }
+    
+    @Override
+    public String getEventType() {
+        return "deployment.rolled_back";
+    }
+    
+    @Override
+    public String getAuditAction() {
+        return "DEPLOYMENT_ROLLED_BACK";
+    }
+    
+    @Override
+    public String getResourceType() {
+        return "DEPLOYMENT";
+    }
+    
+    @Override
+    public String getResourceId() {
+        return deploymentId;
+    }
+    
+    @Override
+    public String getResourceName() {
+        return String.format("%s/%s", bundleId, channelName);
+    }
+}
@@ -0,0 +1,56 @@
+package com.Flyway.server.event;
+
+import lombok.Getter;
+
+import java.beans.ConstructorProperties;
+
+@Getter
+public class DeploymentRolloutUpdatedEvent extends DomainEvent {
+    
+    private final String deploymentId;
+    private final String bundleId;
+    private final String channelName;
+    private final String buildId;
+    private final double previousRolloutPercentage;
+    private final double rolloutPercentage;
+    
+    @ConstructorProperties({"deploymentId", "bundleId", "channelName", "buildId",
+                            "previousRolloutPercentage", "rolloutPercentage", "userId",
+                            "organizationId"})
+    public DeploymentRolloutUpdatedEvent(String deploymentId, String bundleId, String channelName,
+                                          String buildId, double previousRolloutPercentage,
+                                          double rolloutPercentage, String userId, String organizationId) {
+        super(userId, organizationId);
+        this.deploymentId = deploymentId;
+        this.bundleId = bundleId;
+        this.channelName = channelName;
+        this.buildId = buildId;
+        this.previousRolloutPercentage = previousRolloutPercentage;
+        this.rolloutPercentage = rolloutPercentage;
+    }
+    
+    @Override
+    public String getEventType() {
+        return "deployment.rollout_updated";
+    }
+    
+    @Override
+    public String getAuditAction() {
+        return "DEPLOYMENT_ROLLOUT_UPDATED";
+    }
+    
+    @Override
+    public String getResourceType() {
+        return "DEPLOYMENT";
+    }
+    
+    @Override
+    public String getResourceId() {
+        return deploymentId;
+    }
+    
+    @Override
+    public String getResourceName() {
+        return String.format("%s/%s", bundleId, channelName);
+    }
+}
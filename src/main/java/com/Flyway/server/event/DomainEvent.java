@@ -8,6 +8,12 @@ import java.util.UUID;
 /**
  * Base class for all domain events in the system.
  * Events are used to trigger audit logs, webhooks, and notifications.
+ * They are stored in the event outbox as JSON and read back through the constructor that carries
+ * a ConstructorProperties annotation; eventId and timestamp are restored from the JSON as well.
+ * Each event type must be registered in EventOutboxService.
+ * 
+ * Events written by the previous release are read during a rolling deploy. Adding or removing
+ * a field is compatible; renaming a field or changing its type is not, so add a new field instead.
  */
 @Getter
 public abstract class DomainEvent {
@@ -50,4 +56,3 @@ public abstract class DomainEvent {
      */
     public abstract String getResourceName();
 }
-
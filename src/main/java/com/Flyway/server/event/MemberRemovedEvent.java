@@ -0,0 +1,47 @@
+package com.Flyway.server.event;
+
+import lombok.Getter;
+
+import java.beans.ConstructorProperties;
+
+@Getter
+public class MemberRemovedEvent extends DomainEvent {
+    
+    private final String memberId;
+    private final String memberUserId;
+    private final String roleId;
+    
+    @ConstructorProperties({"memberId", "memberUserId", "roleId", "userId", "organizationId"})
+    public MemberRemovedEvent(String memberId, String memberUserId, String roleId,
+                              String userId, String organizationId) {
+        super(userId, organizationId);
+        this.memberId = memberId;
+        this.memberUserId = memberUserId;
+        this.roleId = roleId;
+    }
+    
+    @Override
+    public String getEventType() {
+        return "member.removed";
+    }
+    
+    @Override
+    public String getAuditAction() {
+        return "MEMBER_REMOVED";
+    }
+    
+    @Override
+    public String getResourceType() {
+        return "ORGANIZATION_MEMBER";
+    }
+    
+    @Override
+    public String getResourceId() {
+        return memberId;
+    }
+    
+    @Override
+    public String getResourceName() {
+        return memberUserId;
+    }
+}
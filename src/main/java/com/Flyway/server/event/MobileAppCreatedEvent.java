@@ -2,6 +2,8 @@ package com.Flyway.server.event;
 
 import lombok.Getter;
 
+import java.beans.ConstructorProperties;
+
 @Getter
 public class MobileAppCreatedEvent extends DomainEvent {
     
@@ -9,6 +11,7 @@ public class MobileAppCreatedEvent extends DomainEvent {
     private final String appName;
     private final String bundleId;
     
+    @ConstructorProperties({"appId", "appName", "bundleId", "userId", "organizationId"})
     public MobileAppCreatedEvent(String appId, String appName, String bundleId, 
                                   String userId, String organizationId) {
         super(userId, organizationId);
@@ -42,4 +45,3 @@ public class MobileAppCreatedEvent extends DomainEvent {
         return appName;
     }
 }
-
@@ -2,11 +2,14 @@ package com.Flyway.server.event;
 
 import lombok.Getter;
 
+import java.beans.ConstructorProperties;
+
 @Getter
 public class OrganizationCreatedEvent extends DomainEvent {
     
     private final String organizationName;
     
+    @ConstructorProperties({"organizationId", "organizationName", "userId"})
     public OrganizationCreatedEvent(String organizationId, String organizationName, String userId) {
         super(userId, organizationId);
         this.organizationName = organizationName;
@@ -37,4 +40,3 @@ public class OrganizationCreatedEvent extends DomainEvent {
         return organizationName;
     }
 }
-
@@ -2,11 +2,14 @@ package com.Flyway.server.event;
 
 import lombok.Getter;
 
+import java.beans.ConstructorProperties;
+
 @Getter
 public class OrganizationUpdatedEvent extends DomainEvent {
     
     private final String organizationName;
     
+    @ConstructorProperties({"organizationId", "organizationName", "userId"})
     public OrganizationUpdatedEvent(String organizationId, String organizationName, String userId) {
         super(userId, organizationId);
         this.organizationName = organizationName;
@@ -37,4 +40,3 @@ public class OrganizationUpdatedEvent extends DomainEvent {
         return organizationName;
     }
 }
-
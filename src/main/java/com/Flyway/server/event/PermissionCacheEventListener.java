@@ -0,0 +1,49 @@
+package com.Flyway.server.event;
+
+import com.Flyway.server.service.EffectivePermissionCache;
+import com.Flyway.server.service.PermissionVersionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the effective-permission cache and stateless token versions in line with
+ * membership and ownership changes.
+ * Runs on the node that made the change, after commit, so a reload never sees the old state.
+ * The version bump is stored in the database; other nodes see it within the version cache TTL
+ * and drop their cached permissions for the user (see PermissionService).
+ */
+@Component
+@RequiredArgsConstructor
+public class PermissionCacheEventListener {
+    
+    private final EffectivePermissionCache effectivePermissionCache;
+    private final PermissionVersionService permissionVersionService;
+    
+    @EventListener
+    public void handleMemberAdded(CommittedEvent<MemberAddedEvent> committed) {
+        invalidate(committed.getEvent().getMemberUserId(), committed.getEvent().getOrganizationId());
+    }
+    
+    @EventListener
+    public void handleMemberRoleUpdated(CommittedEvent<MemberRoleUpdatedEvent> committed) {
+        invalidate(committed.getEvent().getMemberUserId(), committed.getEvent().getOrganizationId());
+    }
+    
+    @EventListener
+    public void handleMemberRemoved(CommittedEvent<MemberRemovedEvent> committed) {
+        invalidate(committed.getEvent().getMemberUserId(), committed.getEvent().getOrganizationId());
+    }
+    
+    @EventListener
+    public void handleOrganizationCreated(CommittedEvent<OrganizationCreatedEvent> committed) {
+        // The creator becomes owner, so drop anything resolved before the organization existed
+        invalidate(committed.getEvent().getUserId(), committed.getEvent().getOrganizationId());
+    }
+    
+    private void invalidate(String userId, String organizationId) {
+        // Evict before bumping, so a token issued in between is stamped stale rather than cached stale
+        effectivePermissionCache.evict(userId, organizationId);
+        permissionVersionService.bump(userId);
+    }
+}
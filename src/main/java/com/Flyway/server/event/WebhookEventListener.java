@@ -0,0 +1,31 @@
+package com.Flyway.server.event;
+
+import com.Flyway.server.service.WebhookDeliveryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands domain events to the webhook delivery engine.
+ * This only queues the event; the HTTP requests run asynchronously, so a slow
+ * endpoint never holds up the outbox relay or other listeners.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WebhookEventListener {
+    
+    private final WebhookDeliveryService webhookDeliveryService;
+    
+    @EventListener
+    public void handleDomainEvent(DomainEvent event) {
+        try {
+            webhookDeliveryService.dispatch(event);
+        } catch (Exception e) {
+            // Don't throw - a webhook lookup failure shouldn't make the outbox redeliver to every listener
+            log.error("Failed to dispatch webhooks for event: {} ({}) - {}",
+                      event.getEventType(), event.getEventId(), e.getMessage(), e);
+        }
+    }
+}
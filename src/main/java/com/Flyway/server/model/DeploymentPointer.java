@@ -0,0 +1,41 @@
+package com.Flyway.server.model;
+
+import com.Flyway.server.util.RolloutUtil;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Immutable snapshot of a channel deployment pointer held in memory for update checks
+ */
+@Getter
+@Builder(toBuilder = true)
+public class DeploymentPointer {
+    private final String deploymentId;
+    private final String organizationId;
+    private final String bundleId;
+    private final String channelId;
+    private final String channelName;
+    private final String buildId;
+    private final String previousBuildId;
+    private final long version;
+    @Builder.Default
+    private final int rolloutBasisPoints = RolloutUtil.BUCKETS;
+    // RolloutUtil.seed(deploymentId, buildId), precomputed so update checks only hash the device ID
+    private final long rolloutSeed;
+    
+    /**
+     * The build a device should run: the deployed build if the device is inside the rollout,
+     * otherwise the previous build (null when there is none). Devices that send no ID are only
+     * served the deployed build once it is fully rolled out.
+     */
+    public String buildIdFor(String deviceId) {
+        if (rolloutBasisPoints >= RolloutUtil.BUCKETS) {
+            return buildId;
+        }
+        if (deviceId != null && !deviceId.isEmpty()
+                && RolloutUtil.bucket(rolloutSeed, deviceId) < rolloutBasisPoints) {
+            return buildId;
+        }
+        return previousBuildId;
+    }
+}
@@ -0,0 +1,22 @@
+package com.Flyway.server.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable snapshot of a build held in the in-memory update index
+ */
+@Getter
+@Builder
+public class IndexedBuild {
+    private final String id;
+    private final String organizationId;
+    private final String bundleId;
+    private final String commitHash;
+    private final String nativeVersion;
+    private final String buildUrl;
+    private final Long buildSize;
+    private final LocalDateTime createdAt;
+}
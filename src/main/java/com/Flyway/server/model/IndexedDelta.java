@@ -0,0 +1,18 @@
+package com.Flyway.server.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Immutable snapshot of a delta patch held in the in-memory update index
+ */
+@Getter
+@Builder
+public class IndexedDelta {
+    private final String id;
+    private final String fromBuildId;
+    private final String fromCommitHash;
+    private final String toBuildId;
+    private final String deltaUrl;
+    private final long deltaSize;
+}
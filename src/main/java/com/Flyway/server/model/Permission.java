@@ -66,7 +66,11 @@ public enum Permission {
     CHANNEL_DELETE("channel.delete", "Delete Channels", "Can delete channels", "channel", 1L << 37),
     
     // Audit Log permissions (bit 38)
-    AUDIT_READ("audit.read", "View Audit Logs", "Can view audit logs and activity history", "audit", 1L << 38);
+    AUDIT_READ("audit.read", "View Audit Logs", "Can view audit logs and activity history", "audit", 1L << 38),
+    
+    // Webhook permissions (bits 39-40)
+    WEBHOOK_VIEW("webhook.view", "View Webhooks", "Can view webhooks and their deliveries", "webhook", 1L << 39),
+    WEBHOOK_MANAGE("webhook.manage", "Manage Webhooks", "Can create, update and delete webhooks", "webhook", 1L << 40);
     
     private final String code;
     private final String label;
@@ -0,0 +1,22 @@
+package com.Flyway.server.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Outcome of an update check, resolved from the in-memory indexes before any response is built
+ */
+@Getter
+@Builder
+public class UpdateCheckResult {
+    // Build to offer; null when the device is up to date or nothing is deployed for it
+    private final IndexedBuild build;
+    // Patch from the device's current commit to the build, if one exists
+    private final IndexedDelta delta;
+    // Strong validator of the response the result maps to
+    private final String etag;
+    
+    public boolean isUpdateAvailable() {
+        return build != null;
+    }
+}
@@ -1,13 +1,20 @@
 package com.Flyway.server.repository;
 
 import com.Flyway.server.jooq.tables.records.ApiKeysRecord;
+import com.Flyway.server.util.PageCursor;
 import lombok.RequiredArgsConstructor;
+import org.jooq.CaseValueStep;
+import org.jooq.CaseWhenStep;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
-import org.jooq.SortField;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.impl.DSL;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static com.Flyway.server.jooq.tables.ApiKeys.API_KEYS;
@@ -69,25 +76,37 @@ public class ApiKeyRepository {
     
     /**
      * Find API keys by bundle ID and organization with pagination and sorting
+     * 
+     * @param cursor Continue after this (created_at, id) position instead of skipping offset rows (optional)
+     * @param withTotal Also count all matching rows, in the same query
      */
-    public List<ApiKeysRecord> findByBundleIdAndOrganizationId(
+    public PagedRecords<ApiKeysRecord> findByBundleIdAndOrganizationId(
             String bundleId, 
             String organizationId,
+            PageCursor cursor,
             int limit,
             int offset,
-            String sortDirection) {
+            String sortDirection,
+            boolean withTotal) {
         
-        SortField<?> sortField = sortDirection.equalsIgnoreCase("asc") 
-                ? API_KEYS.CREATED_AT.asc() 
-                : API_KEYS.CREATED_AT.desc();
+        boolean ascending = sortDirection.equalsIgnoreCase("asc");
         
-        return dsl.selectFrom(API_KEYS)
-                .where(API_KEYS.BUNDLE_ID.eq(bundleId)
-                        .and(API_KEYS.ORGANIZATION_ID.eq(organizationId)))
-                .orderBy(sortField)
+        Condition condition = API_KEYS.BUNDLE_ID.eq(bundleId)
+                .and(API_KEYS.ORGANIZATION_ID.eq(organizationId));
+        if (cursor != null) {
+            condition = condition.and(cursor.after(API_KEYS.CREATED_AT, API_KEYS.ID, ascending));
+        }
+        
+        Result<Record> page = dsl.select(PagedRecords.fields(API_KEYS, withTotal))
+                .from(API_KEYS)
+                .where(condition)
+                .orderBy(ascending ? API_KEYS.CREATED_AT.asc() : API_KEYS.CREATED_AT.desc(),
+                         ascending ? API_KEYS.ID.asc() : API_KEYS.ID.desc())
                 .limit(limit)
                 .offset(offset)
                 .fetch();
+        
+        return PagedRecords.of(page, API_KEYS, withTotal);
     }
     
     /**
@@ -133,12 +152,27 @@ public class ApiKeyRepository {
     }
     
     /**
-     * Update the last used timestamp
+     * Set last_used_at of several API keys in a single statement
+     * 
+     * @param lastUsedAtById API key ID -> last time it was used
+     * @return number of rows updated
      */
-    public void updateLastUsedAt(String id) {
-        dsl.update(API_KEYS)
-                .set(API_KEYS.LAST_USED_AT, LocalDateTime.now())
-                .where(API_KEYS.ID.eq(id))
+    public int updateLastUsedAt(Map<String, LocalDateTime> lastUsedAtById) {
+        if (lastUsedAtById.isEmpty()) {
+            return 0;
+        }
+        
+        CaseValueStep<String> byId = DSL.choose(API_KEYS.ID);
+        CaseWhenStep<String, LocalDateTime> lastUsedAt = null;
+        for (Map.Entry<String, LocalDateTime> entry : lastUsedAtById.entrySet()) {
+            lastUsedAt = lastUsedAt == null
+                    ? byId.when(entry.getKey(), DSL.val(entry.getValue()))
+                    : lastUsedAt.when(entry.getKey(), DSL.val(entry.getValue()));
+        }
+        
+        return dsl.update(API_KEYS)
+                .set(API_KEYS.LAST_USED_AT, lastUsedAt.otherwise(API_KEYS.LAST_USED_AT))
+                .where(API_KEYS.ID.in(lastUsedAtById.keySet()))
                 .execute();
     }
     
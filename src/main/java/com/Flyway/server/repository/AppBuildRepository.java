@@ -1,15 +1,21 @@
 package com.Flyway.server.repository;
 
 import com.Flyway.server.jooq.tables.records.AppBuildsRecord;
+import com.Flyway.server.util.PageCursor;
+import com.Flyway.server.util.UuidUtil;
 import lombok.RequiredArgsConstructor;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.Result;
 import org.jooq.SortField;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
 
 import static com.Flyway.server.jooq.tables.AppBuilds.APP_BUILDS;
 
@@ -28,6 +34,42 @@ public class AppBuildRepository {
                 .fetchOptional();
     }
     
+    /**
+     * Find all builds (used to warm the in-memory update index)
+     */
+    public List<AppBuildsRecord> findAll() {
+        return dsl.selectFrom(APP_BUILDS)
+                .orderBy(APP_BUILDS.CREATED_AT.desc())
+                .fetch();
+    }
+    
+    /**
+     * Find builds created at or after a point in time (used to sync the in-memory update index)
+     */
+    public List<AppBuildsRecord> findCreatedSince(LocalDateTime since) {
+        return dsl.selectFrom(APP_BUILDS)
+                .where(APP_BUILDS.CREATED_AT.greaterOrEqual(since))
+                .fetch();
+    }
+    
+    /**
+     * Find builds by their IDs
+     */
+    public List<AppBuildsRecord> findByIds(Collection<String> ids) {
+        return dsl.selectFrom(APP_BUILDS)
+                .where(APP_BUILDS.ID.in(ids))
+                .fetch();
+    }
+    
+    /**
+     * Find the IDs of all builds (used to reconcile the in-memory update index)
+     */
+    public Set<String> findAllIds() {
+        return dsl.select(APP_BUILDS.ID)
+                .from(APP_BUILDS)
+                .fetchSet(APP_BUILDS.ID);
+    }
+    
     /**
      * Find a build by organization, bundle ID, and commit hash
      */
@@ -83,25 +125,37 @@ public class AppBuildRepository {
     
     /**
      * Find builds by organization and bundle ID with pagination and sorting
+     * 
+     * @param cursor Continue after this (created_at, id) position instead of skipping offset rows (optional)
+     * @param withTotal Also count all matching rows, in the same query
      */
-    public List<AppBuildsRecord> findByOrganizationAndBundleId(
+    public PagedRecords<AppBuildsRecord> findByOrganizationAndBundleId(
             String organizationId,
             String bundleId,
+            PageCursor cursor,
             int limit,
             int offset,
-            String sortDirection) {
+            String sortDirection,
+            boolean withTotal) {
         
-        SortField<?> sortField = sortDirection.equalsIgnoreCase("asc") 
-                ? APP_BUILDS.CREATED_AT.asc() 
-                : APP_BUILDS.CREATED_AT.desc();
+        boolean ascending = sortDirection.equalsIgnoreCase("asc");
         
-        return dsl.selectFrom(APP_BUILDS)
-                .where(APP_BUILDS.ORGANIZATION_ID.eq(organizationId)
-                        .and(APP_BUILDS.BUNDLE_ID.eq(bundleId)))
-                .orderBy(sortField)
+        Condition condition = APP_BUILDS.ORGANIZATION_ID.eq(organizationId)
+                .and(APP_BUILDS.BUNDLE_ID.eq(bundleId));
+        if (cursor != null) {
+            condition = condition.and(cursor.after(APP_BUILDS.CREATED_AT, APP_BUILDS.ID, ascending));
+        }
+        
+        Result<Record> page = dsl.select(PagedRecords.fields(APP_BUILDS, withTotal))
+                .from(APP_BUILDS)
+                .where(condition)
+                .orderBy(ascending ? APP_BUILDS.CREATED_AT.asc() : APP_BUILDS.CREATED_AT.desc(),
+                         ascending ? APP_BUILDS.ID.asc() : APP_BUILDS.ID.desc())
                 .limit(limit)
                 .offset(offset)
                 .fetch();
+        
+        return PagedRecords.of(page, APP_BUILDS, withTotal);
     }
     
     /**
@@ -145,12 +199,13 @@ public class AppBuildRepository {
             String branchName,
             String commitMessage,
             Long buildSize,
+            String contentSha256,
             String buildUrl,
             String nativeVersion,
             String uploadedBy) {
         
         LocalDateTime now = LocalDateTime.now();
-        String id = UUID.randomUUID().toString();
+        String id = UuidUtil.timeOrderedId();
         
         AppBuildsRecord record = dsl.newRecord(APP_BUILDS);
         record.setId(id);
@@ -160,6 +215,7 @@ public class AppBuildRepository {
         record.setBranchName(branchName);
         record.setCommitMessage(commitMessage);
         record.setBuildSize(buildSize);
+        record.setContentSha256(contentSha256);
         record.setBuildUrl(buildUrl);
         record.setNativeVersion(nativeVersion);
         record.setUploadedBy(uploadedBy);
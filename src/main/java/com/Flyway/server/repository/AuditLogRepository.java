@@ -3,12 +3,15 @@ package com.Flyway.server.repository;
 import lombok.RequiredArgsConstructor;
 import org.jooq.DSLContext;
 import org.jooq.JSON;
+import org.jooq.Record;
+import org.jooq.Result;
 import org.springframework.stereotype.Repository;
 
 import com.Flyway.server.jooq.tables.records.AuditLogsRecord;
+import com.Flyway.server.util.PageCursor;
+import com.Flyway.server.util.UuidUtil;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
 
 import static com.Flyway.server.jooq.Tables.AUDIT_LOGS;
 
@@ -40,7 +43,7 @@ public class AuditLogRepository {
             String errorMessage,
             String metadata) {
         
-        String id = UUID.randomUUID().toString();
+        String id = UuidUtil.timeOrderedId();
         LocalDateTime now = LocalDateTime.now();
         
         dsl.insertInto(AUDIT_LOGS)
@@ -65,23 +68,50 @@ public class AuditLogRepository {
         return id;
     }
     
+    /**
+     * Insert prepared audit log entries with one multi-row INSERT
+     */
+    public int createBatch(List<AuditLogsRecord> entries) {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        
+        return dsl.insertInto(AUDIT_LOGS)
+                .columns(AUDIT_LOGS.fields())
+                .valuesOfRecords(entries)
+                .execute();
+    }
+    
     /**
      * Find audit logs for an organization with pagination and filtering
+     * 
+     * @param cursor Continue after this (created_at, id) position instead of skipping offset rows (optional)
+     * @param withTotal Also count all matching rows, in the same query
      */
-    public List<AuditLogsRecord> findByOrganization(
+    public PagedRecords<AuditLogsRecord> findByOrganization(
             String organizationId,
             String action,
             String resourceType,
             String userId,
             LocalDateTime startDate,
             LocalDateTime endDate,
+            PageCursor cursor,
             int limit,
             int offset,
-            String sortOrder) {
+            String sortOrder,
+            boolean withTotal) {
+        
+        boolean ascending = "asc".equalsIgnoreCase(sortOrder);
         
-        var query = dsl.selectFrom(AUDIT_LOGS)
+        var query = dsl.select(PagedRecords.fields(AUDIT_LOGS, withTotal))
+                .from(AUDIT_LOGS)
                 .where(AUDIT_LOGS.ORGANIZATION_ID.eq(organizationId));
         
+        // Continue after the previous page instead of skipping rows
+        if (cursor != null) {
+            query = query.and(cursor.after(AUDIT_LOGS.CREATED_AT, AUDIT_LOGS.ID, ascending));
+        }
+        
         // Apply filters if provided
         if (action != null && !action.isEmpty()) {
             query = query.and(AUDIT_LOGS.ACTION.eq(action));
@@ -103,18 +133,21 @@ public class AuditLogRepository {
             query = query.and(AUDIT_LOGS.CREATED_AT.lessOrEqual(endDate));
         }
         
-        // Apply sorting and return
-        if ("asc".equalsIgnoreCase(sortOrder)) {
-            return query.orderBy(AUDIT_LOGS.CREATED_AT.asc())
+        // Apply sorting (id breaks ties so cursors are stable) and return
+        Result<Record> page;
+        if (ascending) {
+            page = query.orderBy(AUDIT_LOGS.CREATED_AT.asc(), AUDIT_LOGS.ID.asc())
                     .limit(limit)
                     .offset(offset)
                     .fetch();
         } else {
-            return query.orderBy(AUDIT_LOGS.CREATED_AT.desc())
+            page = query.orderBy(AUDIT_LOGS.CREATED_AT.desc(), AUDIT_LOGS.ID.desc())
                     .limit(limit)
                     .offset(offset)
                     .fetch();
         }
+        
+        return PagedRecords.of(page, AUDIT_LOGS, withTotal);
     }
     
     /**
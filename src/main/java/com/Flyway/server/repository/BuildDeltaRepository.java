@@ -0,0 +1,94 @@
+package com.Flyway.server.repository;
+
+import com.Flyway.server.jooq.tables.records.BuildDeltasRecord;
+import com.Flyway.server.util.UuidUtil;
+import lombok.RequiredArgsConstructor;
+import org.jooq.DSLContext;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static com.Flyway.server.jooq.tables.BuildDeltas.BUILD_DELTAS;
+
+@Repository
+@RequiredArgsConstructor
+public class BuildDeltaRepository {
+    
+    private final DSLContext dsl;
+    
+    /**
+     * Find all deltas (used to warm the in-memory update index)
+     */
+    public List<BuildDeltasRecord> findAll() {
+        return dsl.selectFrom(BUILD_DELTAS)
+                .fetch();
+    }
+    
+    /**
+     * Find deltas created at or after a point in time (used to sync the in-memory update index)
+     */
+    public List<BuildDeltasRecord> findCreatedSince(LocalDateTime since) {
+        return dsl.selectFrom(BUILD_DELTAS)
+                .where(BUILD_DELTAS.CREATED_AT.greaterOrEqual(since))
+                .fetch();
+    }
+    
+    /**
+     * Find the deltas patching to any of the given builds
+     */
+    public List<BuildDeltasRecord> findByToBuildIds(Collection<String> toBuildIds) {
+        return dsl.selectFrom(BUILD_DELTAS)
+                .where(BUILD_DELTAS.TO_BUILD_ID.in(toBuildIds))
+                .fetch();
+    }
+    
+    /**
+     * Find all deltas that patch from or to a build
+     */
+    public List<BuildDeltasRecord> findByBuildId(String buildId) {
+        return dsl.selectFrom(BUILD_DELTAS)
+                .where(BUILD_DELTAS.FROM_BUILD_ID.eq(buildId)
+                        .or(BUILD_DELTAS.TO_BUILD_ID.eq(buildId)))
+                .fetch();
+    }
+    
+    /**
+     * Check if a delta between two builds already exists
+     */
+    public boolean exists(String fromBuildId, String toBuildId) {
+        return dsl.fetchExists(
+                dsl.selectFrom(BUILD_DELTAS)
+                        .where(BUILD_DELTAS.FROM_BUILD_ID.eq(fromBuildId)
+                                .and(BUILD_DELTAS.TO_BUILD_ID.eq(toBuildId)))
+        );
+    }
+    
+    /**
+     * Create a new delta
+     */
+    public BuildDeltasRecord create(
+            String organizationId,
+            String bundleId,
+            String fromBuildId,
+            String toBuildId,
+            String deltaUrl,
+            long deltaSize) {
+        
+        String id = UuidUtil.timeOrderedId();
+        
+        BuildDeltasRecord record = dsl.newRecord(BUILD_DELTAS);
+        record.setId(id);
+        record.setOrganizationId(organizationId);
+        record.setBundleId(bundleId);
+        record.setFromBuildId(fromBuildId);
+        record.setToBuildId(toBuildId);
+        record.setDeltaUrl(deltaUrl);
+        record.setDeltaSize(deltaSize);
+        record.setCreatedAt(LocalDateTime.now());
+        record.store();
+        
+        return record;
+    }
+}
@@ -1,9 +1,12 @@
 package com.Flyway.server.repository;
 
 import com.Flyway.server.jooq.tables.records.ChannelsRecord;
+import com.Flyway.server.util.PageCursor;
 import lombok.RequiredArgsConstructor;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
-import org.jooq.SortField;
+import org.jooq.Record;
+import org.jooq.Result;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -49,23 +52,35 @@ public class ChannelRepository {
     
     /**
      * Find channels by organization with pagination and sorting
+     * 
+     * @param cursor Continue after this (created_at, id) position instead of skipping offset rows (optional)
+     * @param withTotal Also count all matching rows, in the same query
      */
-    public List<ChannelsRecord> findByOrganizationIdPaginated(
+    public PagedRecords<ChannelsRecord> findByOrganizationIdPaginated(
             String organizationId,
+            PageCursor cursor,
             int limit,
             int offset,
-            String sortDirection) {
+            String sortDirection,
+            boolean withTotal) {
         
-        SortField<?> sortField = sortDirection.equalsIgnoreCase("asc") 
-                ? CHANNELS.CREATED_AT.asc() 
-                : CHANNELS.CREATED_AT.desc();
+        boolean ascending = sortDirection.equalsIgnoreCase("asc");
         
-        return dsl.selectFrom(CHANNELS)
-                .where(CHANNELS.ORGANIZATION_ID.eq(organizationId))
-                .orderBy(sortField)
+        Condition condition = CHANNELS.ORGANIZATION_ID.eq(organizationId);
+        if (cursor != null) {
+            condition = condition.and(cursor.after(CHANNELS.CREATED_AT, CHANNELS.ID, ascending));
+        }
+        
+        Result<Record> page = dsl.select(PagedRecords.fields(CHANNELS, withTotal))
+                .from(CHANNELS)
+                .where(condition)
+                .orderBy(ascending ? CHANNELS.CREATED_AT.asc() : CHANNELS.CREATED_AT.desc(),
+                         ascending ? CHANNELS.ID.asc() : CHANNELS.ID.desc())
                 .limit(limit)
                 .offset(offset)
                 .fetch();
+        
+        return PagedRecords.of(page, CHANNELS, withTotal);
     }
     
     /**
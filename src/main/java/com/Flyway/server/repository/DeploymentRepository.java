@@ -0,0 +1,161 @@
+package com.Flyway.server.repository;
+
+import com.Flyway.server.jooq.tables.records.DeploymentsRecord;
+import com.Flyway.server.util.UuidUtil;
+import lombok.RequiredArgsConstructor;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static com.Flyway.server.jooq.tables.Channels.CHANNELS;
+import static com.Flyway.server.jooq.tables.Deployments.DEPLOYMENTS;
+
+@Repository
+@RequiredArgsConstructor
+public class DeploymentRepository {
+    
+    private final DSLContext dsl;
+    
+    /**
+     * Find a deployment by ID
+     */
+    public Optional<DeploymentsRecord> findById(String id) {
+        return dsl.selectFrom(DEPLOYMENTS)
+                .where(DEPLOYMENTS.ID.eq(id))
+                .fetchOptional();
+    }
+    
+    /**
+     * Find the deployment pointer for an application and channel
+     */
+    public Optional<DeploymentsRecord> findByBundleIdAndChannelId(String bundleId, String channelId) {
+        return dsl.selectFrom(DEPLOYMENTS)
+                .where(DEPLOYMENTS.BUNDLE_ID.eq(bundleId)
+                        .and(DEPLOYMENTS.CHANNEL_ID.eq(channelId)))
+                .fetchOptional();
+    }
+    
+    /**
+     * Find all deployment pointers of an application
+     */
+    public List<DeploymentsRecord> findByOrganizationAndBundleId(String organizationId, String bundleId) {
+        return dsl.selectFrom(DEPLOYMENTS)
+                .where(DEPLOYMENTS.ORGANIZATION_ID.eq(organizationId)
+                        .and(DEPLOYMENTS.BUNDLE_ID.eq(bundleId)))
+                .orderBy(DEPLOYMENTS.CREATED_AT.asc())
+                .fetch();
+    }
+    
+    /**
+     * Find all deployment pointers together with their channel name
+     */
+    public Result<Record> findAllWithChannelName() {
+        return dsl.select(DEPLOYMENTS.asterisk(), CHANNELS.NAME)
+                .from(DEPLOYMENTS)
+                .join(CHANNELS).on(CHANNELS.ID.eq(DEPLOYMENTS.CHANNEL_ID))
+                .fetch();
+    }
+    
+    /**
+     * Find deployment pointers changed at or after the given time, together with their channel name
+     */
+    public Result<Record> findUpdatedSinceWithChannelName(LocalDateTime since) {
+        return dsl.select(DEPLOYMENTS.asterisk(), CHANNELS.NAME)
+                .from(DEPLOYMENTS)
+                .join(CHANNELS).on(CHANNELS.ID.eq(DEPLOYMENTS.CHANNEL_ID))
+                .where(DEPLOYMENTS.UPDATED_AT.greaterOrEqual(since))
+                .fetch();
+    }
+    
+    /**
+     * Create a new deployment pointer
+     */
+    public DeploymentsRecord create(
+            String organizationId,
+            String bundleId,
+            String channelId,
+            String buildId,
+            int rolloutBasisPoints,
+            String deployedBy) {
+        
+        LocalDateTime now = LocalDateTime.now();
+        String id = UuidUtil.timeOrderedId();
+        
+        DeploymentsRecord record = dsl.newRecord(DEPLOYMENTS);
+        record.setId(id);
+        record.setOrganizationId(organizationId);
+        record.setBundleId(bundleId);
+        record.setChannelId(channelId);
+        record.setBuildId(buildId);
+        record.setPreviousBuildId(null);
+        record.setRolloutBasisPoints(rolloutBasisPoints);
+        record.setVersion(1L);
+        record.setDeployedBy(deployedBy);
+        record.setCreatedAt(now);
+        record.setUpdatedAt(now);
+        record.store();
+        
+        return record;
+    }
+    
+    /**
+     * Atomically repoint a deployment, but only if nobody else changed it since it was read
+     * 
+     * @return number of rows updated (0 if the expected version no longer matches)
+     */
+    public int compareAndSetBuild(
+            String id,
+            long expectedVersion,
+            String buildId,
+            String previousBuildId,
+            int rolloutBasisPoints,
+            String deployedBy) {
+        
+        return dsl.update(DEPLOYMENTS)
+                .set(DEPLOYMENTS.BUILD_ID, buildId)
+                .set(DEPLOYMENTS.PREVIOUS_BUILD_ID, previousBuildId)
+                .set(DEPLOYMENTS.ROLLOUT_BASIS_POINTS, rolloutBasisPoints)
+                .set(DEPLOYMENTS.VERSION, expectedVersion + 1)
+                .set(DEPLOYMENTS.DEPLOYED_BY, deployedBy)
+                .set(DEPLOYMENTS.UPDATED_AT, LocalDateTime.now())
+                .where(DEPLOYMENTS.ID.eq(id)
+                        .and(DEPLOYMENTS.VERSION.eq(expectedVersion)))
+                .execute();
+    }
+    
+    /**
+     * Atomically change the rollout of a deployment, but only if nobody else changed it since it was read
+     * 
+     * @return number of rows updated (0 if the expected version no longer matches)
+     */
+    public int compareAndSetRollout(
+            String id,
+            long expectedVersion,
+            int rolloutBasisPoints,
+            String deployedBy) {
+        
+        return dsl.update(DEPLOYMENTS)
+                .set(DEPLOYMENTS.ROLLOUT_BASIS_POINTS, rolloutBasisPoints)
+                .set(DEPLOYMENTS.VERSION, expectedVersion + 1)
+                .set(DEPLOYMENTS.DEPLOYED_BY, deployedBy)
+                .set(DEPLOYMENTS.UPDATED_AT, LocalDateTime.now())
+                .where(DEPLOYMENTS.ID.eq(id)
+                        .and(DEPLOYMENTS.VERSION.eq(expectedVersion)))
+                .execute();
+    }
+    
+    /**
+     * Check if any channel currently points at a build
+     */
+    public boolean existsByBuildId(String buildId) {
+        return dsl.fetchExists(
+                dsl.selectFrom(DEPLOYMENTS)
+                        .where(DEPLOYMENTS.BUILD_ID.eq(buildId))
+        );
+    }
+}
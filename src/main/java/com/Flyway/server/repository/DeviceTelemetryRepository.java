@@ -0,0 +1,68 @@
+package com.Flyway.server.repository;
+
+import com.Flyway.server.jooq.tables.records.DeviceTelemetryRecord;
+import lombok.RequiredArgsConstructor;
+import org.jooq.DSLContext;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+import static com.Flyway.server.jooq.tables.DeviceTelemetry.DEVICE_TELEMETRY;
+
+/**
+ * Repository for device telemetry, including maintenance of its daily partitions
+ * (partition DDL is not modelled by jOOQ, so it is issued as plain SQL)
+ */
+@Repository
+@RequiredArgsConstructor
+public class DeviceTelemetryRepository {
+    
+    private final DSLContext dsl;
+    
+    /**
+     * Insert telemetry events with one multi-row INSERT; ids are assigned by the database
+     */
+    public int createBatch(List<DeviceTelemetryRecord> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        
+        return dsl.insertInto(DEVICE_TELEMETRY)
+                .columns(DEVICE_TELEMETRY.fields())
+                .valuesOfRecords(events)
+                .execute();
+    }
+    
+    /**
+     * Names of the table's partitions, in partition order
+     */
+    public List<String> findPartitionNames() {
+        return dsl.resultQuery(
+                        "SELECT partition_name FROM information_schema.partitions "
+                                + "WHERE table_schema = DATABASE() AND table_name = ? AND partition_name IS NOT NULL "
+                                + "ORDER BY partition_ordinal_position",
+                        DEVICE_TELEMETRY.getName())
+                .fetch(0, String.class);
+    }
+    
+    /**
+     * Split a partition holding rows received before the given instant off the catch-all pmax partition
+     *
+     * @param lessThanEpochSecond Exclusive upper bound, in seconds since the epoch
+     */
+    public void addPartition(String name, long lessThanEpochSecond) {
+        dsl.execute("ALTER TABLE " + DEVICE_TELEMETRY.getName() + " REORGANIZE PARTITION pmax INTO ("
+                + "PARTITION " + name + " VALUES LESS THAN (" + lessThanEpochSecond + "), "
+                + "PARTITION pmax VALUES LESS THAN MAXVALUE)");
+    }
+    
+    /**
+     * Drop whole partitions with their rows
+     */
+    public void dropPartitions(List<String> names) {
+        if (names.isEmpty()) {
+            return;
+        }
+        dsl.execute("ALTER TABLE " + DEVICE_TELEMETRY.getName() + " DROP PARTITION " + String.join(", ", names));
+    }
+}
@@ -0,0 +1,104 @@
+package com.Flyway.server.repository;
+
+import com.Flyway.server.jooq.tables.records.EventOutboxRecord;
+import lombok.RequiredArgsConstructor;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static com.Flyway.server.jooq.tables.EventOutbox.EVENT_OUTBOX;
+
+@Repository
+@RequiredArgsConstructor
+public class EventOutboxRepository {
+    
+    private final DSLContext dsl;
+    
+    /**
+     * Append an event to the outbox
+     */
+    public void create(String eventId, String eventType, String organizationKey, byte[] payload) {
+        dsl.insertInto(EVENT_OUTBOX)
+                .set(EVENT_OUTBOX.EVENT_ID, eventId)
+                .set(EVENT_OUTBOX.EVENT_TYPE, eventType)
+                .set(EVENT_OUTBOX.ORGANIZATION_KEY, organizationKey)
+                .set(EVENT_OUTBOX.PAYLOAD, payload)
+                .set(EVENT_OUTBOX.CREATED_AT, LocalDateTime.now())
+                .execute();
+    }
+    
+    /**
+     * Lock the oldest events that are not claimed by another relay, skipping rows locked by
+     * concurrent claims. Must run inside a transaction.
+     */
+    public List<EventOutboxRecord> lockClaimable(String relayId, LocalDateTime now, int limit) {
+        return dsl.selectFrom(EVENT_OUTBOX)
+                .where(EVENT_OUTBOX.CLAIMED_UNTIL.isNull()
+                        .or(EVENT_OUTBOX.CLAIMED_UNTIL.le(now))
+                        .or(EVENT_OUTBOX.CLAIMED_BY.eq(relayId)))
+                .orderBy(EVENT_OUTBOX.ID)
+                .limit(limit)
+                .forUpdate()
+                .skipLocked()
+                .fetch();
+    }
+    
+    /**
+     * Find the id of the oldest pending event of each organization
+     */
+    public Map<String, Long> findHeadIds(Collection<String> organizationKeys) {
+        return dsl.select(EVENT_OUTBOX.ORGANIZATION_KEY, DSL.min(EVENT_OUTBOX.ID))
+                .from(EVENT_OUTBOX)
+                .where(EVENT_OUTBOX.ORGANIZATION_KEY.in(organizationKeys))
+                .groupBy(EVENT_OUTBOX.ORGANIZATION_KEY)
+                .fetchMap(EVENT_OUTBOX.ORGANIZATION_KEY, DSL.min(EVENT_OUTBOX.ID));
+    }
+    
+    /**
+     * Lease events to a relay until the given time
+     */
+    public int claim(Collection<Long> ids, String relayId, LocalDateTime claimedUntil) {
+        return dsl.update(EVENT_OUTBOX)
+                .set(EVENT_OUTBOX.CLAIMED_BY, relayId)
+                .set(EVENT_OUTBOX.CLAIMED_UNTIL, claimedUntil)
+                .where(EVENT_OUTBOX.ID.in(ids))
+                .execute();
+    }
+    
+    /**
+     * Extend a relay's lease on events it still holds
+     */
+    public int extendLease(Collection<Long> ids, String relayId, LocalDateTime claimedUntil) {
+        return dsl.update(EVENT_OUTBOX)
+                .set(EVENT_OUTBOX.CLAIMED_UNTIL, claimedUntil)
+                .where(EVENT_OUTBOX.ID.in(ids)
+                        .and(EVENT_OUTBOX.CLAIMED_BY.eq(relayId)))
+                .execute();
+    }
+    
+    /**
+     * Give events back so any relay can pick them up again, counting a failed attempt if asked
+     */
+    public int release(Collection<Long> ids, boolean failedAttempt) {
+        return dsl.update(EVENT_OUTBOX)
+                .set(EVENT_OUTBOX.CLAIMED_BY, (String) null)
+                .set(EVENT_OUTBOX.CLAIMED_UNTIL, (LocalDateTime) null)
+                .set(EVENT_OUTBOX.ATTEMPTS, failedAttempt ? EVENT_OUTBOX.ATTEMPTS.plus(1) : EVENT_OUTBOX.ATTEMPTS)
+                .where(EVENT_OUTBOX.ID.in(ids))
+                .execute();
+    }
+    
+    /**
+     * Delete relayed events
+     */
+    public int deleteByIds(Collection<Long> ids) {
+        return dsl.deleteFrom(EVENT_OUTBOX)
+                .where(EVENT_OUTBOX.ID.in(ids))
+                .execute();
+    }
+}
@@ -2,6 +2,7 @@ package com.Flyway.server.repository;
 
 import com.Flyway.server.jooq.tables.records.InvitationsRecord;
 import com.Flyway.server.jooq.tables.records.InvitationStatusesRecord;
+import com.Flyway.server.util.UuidUtil;
 import lombok.RequiredArgsConstructor;
 import org.jooq.DSLContext;
 import org.springframework.stereotype.Repository;
@@ -9,7 +10,6 @@ import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 import static com.Flyway.server.jooq.tables.Invitations.INVITATIONS;
 import static com.Flyway.server.jooq.tables.InvitationStatuses.INVITATION_STATUSES;
@@ -46,7 +46,7 @@ public class InvitationRepository {
     
     public String create(String organizationId, String email, String roleId, String invitedBy, 
                         String invitationStatusId, String token, LocalDateTime expiresAt) {
-        String id = UUID.randomUUID().toString();
+        String id = UuidUtil.timeOrderedId();
         LocalDateTime now = LocalDateTime.now();
         
         InvitationsRecord record = dsl.newRecord(INVITATIONS);
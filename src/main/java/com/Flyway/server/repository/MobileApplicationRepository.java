@@ -1,6 +1,7 @@
 package com.Flyway.server.repository;
 
 import com.Flyway.server.jooq.tables.records.MobileApplicationsRecord;
+import com.Flyway.server.util.UuidUtil;
 import lombok.RequiredArgsConstructor;
 import org.jooq.DSLContext;
 import org.springframework.stereotype.Repository;
@@ -8,7 +9,6 @@ import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 import static com.Flyway.server.jooq.tables.MobileApplications.MOBILE_APPLICATIONS;
 
@@ -42,7 +42,7 @@ public class MobileApplicationRepository {
     }
     
     public String create(String bundleId, String organizationId, String name, String description, String createdBy) {
-        String id = UUID.randomUUID().toString();
+        String id = UuidUtil.timeOrderedId();
         LocalDateTime now = LocalDateTime.now();
         
         MobileApplicationsRecord record = dsl.newRecord(MOBILE_APPLICATIONS);
@@ -1,21 +1,93 @@
 package com.Flyway.server.repository;
 
 import com.Flyway.server.jooq.tables.records.OrganizationMembersRecord;
+import com.Flyway.server.util.PageCursor;
+import com.Flyway.server.util.UuidUtil;
 import lombok.RequiredArgsConstructor;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SelectField;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
+import static com.Flyway.server.jooq.tables.InvitationStatuses.INVITATION_STATUSES;
+import static com.Flyway.server.jooq.tables.Invitations.INVITATIONS;
 import static com.Flyway.server.jooq.tables.OrganizationMembers.ORGANIZATION_MEMBERS;
+import static com.Flyway.server.jooq.tables.Organizations.ORGANIZATIONS;
+import static com.Flyway.server.jooq.tables.Roles.ROLES;
+import static com.Flyway.server.jooq.tables.UserStatuses.USER_STATUSES;
+import static com.Flyway.server.jooq.tables.Users.USERS;
 
 @Repository
 @RequiredArgsConstructor
 public class OrganizationMemberRepository {
     
+    /**
+     * Members with their user, user status and role, for member listings
+     */
+    private static final Table<?> MEMBER_DETAILS = ORGANIZATION_MEMBERS
+            .join(USERS).on(USERS.ID.eq(ORGANIZATION_MEMBERS.USER_ID))
+            .leftJoin(USER_STATUSES).on(USER_STATUSES.ID.eq(USERS.USER_STATUS_ID))
+            .join(ROLES).on(ROLES.ID.eq(ORGANIZATION_MEMBERS.ROLE_ID));
+    
+    private static final List<SelectField<?>> MEMBER_DETAIL_FIELDS = List.of(
+            ORGANIZATION_MEMBERS.ID,
+            ORGANIZATION_MEMBERS.JOINED_AT,
+            USERS.ID,
+            USERS.EMAIL,
+            USERS.FIRST_NAME,
+            USERS.LAST_NAME,
+            USERS.CREATED_AT,
+            USERS.UPDATED_AT,
+            USER_STATUSES.ID,
+            USER_STATUSES.CODE,
+            ROLES.ID,
+            ROLES.NAME,
+            ROLES.DESCRIPTION,
+            ROLES.PERMISSIONS,
+            ROLES.CREATED_AT,
+            ROLES.UPDATED_AT
+    );
+    
+    /**
+     * Memberships with their organization, role and the status of the latest invitation
+     * the user received to that organization (null if they were never invited)
+     */
+    private static final Table<?> MEMBERSHIP_DETAILS = ORGANIZATION_MEMBERS
+            .join(USERS).on(USERS.ID.eq(ORGANIZATION_MEMBERS.USER_ID))
+            .join(ORGANIZATIONS).on(ORGANIZATIONS.ID.eq(ORGANIZATION_MEMBERS.ORGANIZATION_ID))
+            .join(ROLES).on(ROLES.ID.eq(ORGANIZATION_MEMBERS.ROLE_ID))
+            .leftJoin(INVITATION_STATUSES).on(INVITATION_STATUSES.ID.eq(
+                    DSL.select(INVITATIONS.INVITATION_STATUS_ID)
+                            .from(INVITATIONS)
+                            .where(INVITATIONS.EMAIL.eq(USERS.EMAIL)
+                                    .and(INVITATIONS.ORGANIZATION_ID.eq(ORGANIZATION_MEMBERS.ORGANIZATION_ID)))
+                            .orderBy(INVITATIONS.CREATED_AT.desc())
+                            .limit(1)));
+    
+    private static final List<SelectField<?>> MEMBERSHIP_DETAIL_FIELDS = List.of(
+            ORGANIZATION_MEMBERS.USER_ID,
+            ORGANIZATIONS.ID,
+            ORGANIZATIONS.NAME,
+            ORGANIZATIONS.SUBDOMAIN,
+            ROLES.ID,
+            ROLES.NAME,
+            ROLES.DESCRIPTION,
+            ROLES.PERMISSIONS,
+            ROLES.CREATED_AT,
+            ROLES.UPDATED_AT,
+            INVITATION_STATUSES.ID,
+            INVITATION_STATUSES.CODE
+    );
+    
     private final DSLContext dsl;
     
     public Optional<OrganizationMembersRecord> findById(String id) {
@@ -30,14 +102,63 @@ public class OrganizationMemberRepository {
                 .fetch();
     }
     
-    public List<OrganizationMembersRecord> findByOrganizationIdWithPagination(
-            String organizationId, int limit, int offset) {
-        return dsl.selectFrom(ORGANIZATION_MEMBERS)
+    public Optional<Record> findWithDetailsById(String id) {
+        return dsl.select(MEMBER_DETAIL_FIELDS)
+                .from(MEMBER_DETAILS)
+                .where(ORGANIZATION_MEMBERS.ID.eq(id))
+                .fetchOptional();
+    }
+    
+    public PagedRecords<Record> findWithDetailsByOrganizationId(
+            String organizationId, int limit, int offset, boolean withTotal) {
+        Result<Record> page = dsl.select(PagedRecords.fields(MEMBER_DETAIL_FIELDS, withTotal))
+                .from(MEMBER_DETAILS)
                 .where(ORGANIZATION_MEMBERS.ORGANIZATION_ID.eq(organizationId))
-                .orderBy(ORGANIZATION_MEMBERS.JOINED_AT.desc())
+                .orderBy(ORGANIZATION_MEMBERS.JOINED_AT.desc(), ORGANIZATION_MEMBERS.ID.desc())
                 .limit(limit)
                 .offset(offset)
                 .fetch();
+        
+        return PagedRecords.of(page, withTotal);
+    }
+    
+    /**
+     * One chunk of an organization's members, newest first, strictly after the cursor
+     * (joined_at, id) when one is given
+     */
+    public Result<Record> findWithDetailsByOrganizationIdAfter(String organizationId, PageCursor cursor, int limit) {
+        Condition condition = ORGANIZATION_MEMBERS.ORGANIZATION_ID.eq(organizationId);
+        if (cursor != null) {
+            condition = condition.and(cursor.after(ORGANIZATION_MEMBERS.JOINED_AT, ORGANIZATION_MEMBERS.ID, false));
+        }
+        
+        return dsl.select(MEMBER_DETAIL_FIELDS)
+                .from(MEMBER_DETAILS)
+                .where(condition)
+                .orderBy(ORGANIZATION_MEMBERS.JOINED_AT.desc(), ORGANIZATION_MEMBERS.ID.desc())
+                .limit(limit)
+                .fetch();
+    }
+    
+    public Result<Record> findWithDetailsByUserId(String userId) {
+        return dsl.select(MEMBER_DETAIL_FIELDS)
+                .from(MEMBER_DETAILS)
+                .where(ORGANIZATION_MEMBERS.USER_ID.eq(userId))
+                .fetch();
+    }
+    
+    /**
+     * Every membership of the given users, with organization, role and invitation status
+     */
+    public List<Record> findMembershipDetailsByUserIds(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        
+        return dsl.select(MEMBERSHIP_DETAIL_FIELDS)
+                .from(MEMBERSHIP_DETAILS)
+                .where(ORGANIZATION_MEMBERS.USER_ID.in(userIds))
+                .fetch();
     }
     
     public int countByOrganizationId(String organizationId) {
@@ -67,7 +188,7 @@ public class OrganizationMemberRepository {
     }
     
     public String create(String organizationId, String userId, String roleId) {
-        String id = UUID.randomUUID().toString();
+        String id = UuidUtil.timeOrderedId();
         LocalDateTime now = LocalDateTime.now();
         
         OrganizationMembersRecord record = dsl.newRecord(ORGANIZATION_MEMBERS);
@@ -103,4 +224,3 @@ public class OrganizationMemberRepository {
         );
     }
 }
-
@@ -1,6 +1,7 @@
 package com.Flyway.server.repository;
 
 import com.Flyway.server.jooq.tables.records.OrganizationsRecord;
+import com.Flyway.server.util.UuidUtil;
 import lombok.RequiredArgsConstructor;
 import org.jooq.DSLContext;
 import org.springframework.stereotype.Repository;
@@ -8,7 +9,6 @@ import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 import static com.Flyway.server.jooq.tables.Organizations.ORGANIZATIONS;
 
@@ -36,7 +36,7 @@ public class OrganizationRepository {
     }
     
     public String create(String name, String subdomain, String createdBy) {
-        String id = UUID.randomUUID().toString();
+        String id = UuidUtil.timeOrderedId();
         LocalDateTime now = LocalDateTime.now();
         
         OrganizationsRecord record = dsl.newRecord(ORGANIZATIONS);
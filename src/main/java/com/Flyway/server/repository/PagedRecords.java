@@ -0,0 +1,72 @@
+package com.Flyway.server.repository;
+
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SelectField;
+import org.jooq.Table;
+import org.jooq.TableRecord;
+import org.jooq.impl.DSL;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * One page of records, with the total number of matching rows when it was asked for
+ *
+ * The total comes from a COUNT(*) OVER() window evaluated before LIMIT, so it is read
+ * in the same query as the page instead of a second COUNT(*) round trip.
+ *
+ * @param records The page (mutable, so callers can trim a look-ahead row)
+ * @param total Rows matching the query regardless of LIMIT/OFFSET; null if not counted or the page was empty
+ */
+public record PagedRecords<R extends Record>(Result<R> records, Integer total) {
+    
+    private static final Field<Integer> TOTAL = DSL.count().over().as("total_count");
+    
+    /**
+     * The window total. An empty page past the first one has no row to carry it, so count separately.
+     */
+    public int totalOrCount(int offset, IntSupplier counter) {
+        if (total != null) {
+            return total;
+        }
+        return offset == 0 ? 0 : counter.getAsInt();
+    }
+    
+    /**
+     * The table's columns, plus the window total when requested
+     */
+    static List<SelectField<?>> fields(Table<?> table, boolean withTotal) {
+        return fields(Arrays.asList(table.fields()), withTotal);
+    }
+    
+    /**
+     * The given columns, plus the window total when requested
+     */
+    static List<SelectField<?>> fields(List<? extends SelectField<?>> columns, boolean withTotal) {
+        List<SelectField<?>> fields = new ArrayList<>(columns);
+        if (withTotal) {
+            fields.add(TOTAL);
+        }
+        return fields;
+    }
+    
+    /**
+     * Split a fetched page into table records and the window total
+     */
+    static <R extends TableRecord<R>> PagedRecords<R> of(Result<Record> result, Table<R> table, boolean withTotal) {
+        Integer total = withTotal && result.isNotEmpty() ? result.get(0).get(TOTAL) : null;
+        return new PagedRecords<>(result.into(table), total);
+    }
+    
+    /**
+     * Read the window total of a fetched page whose rows span several tables
+     */
+    static PagedRecords<Record> of(Result<Record> result, boolean withTotal) {
+        Integer total = withTotal && result.isNotEmpty() ? result.get(0).get(TOTAL) : null;
+        return new PagedRecords<>(result, total);
+    }
+}
@@ -1,6 +1,7 @@
 package com.Flyway.server.repository;
 
 import com.Flyway.server.jooq.tables.records.RefreshTokensRecord;
+import com.Flyway.server.util.UuidUtil;
 import lombok.RequiredArgsConstructor;
 import org.jooq.DSLContext;
 import org.springframework.stereotype.Repository;
@@ -8,7 +9,6 @@ import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 import static com.Flyway.server.jooq.tables.RefreshTokens.REFRESH_TOKENS;
 
@@ -38,7 +38,7 @@ public class RefreshTokenRepository {
     }
     
     public String create(String userId, String tokenHash, LocalDateTime expiresAt, String deviceInfo, String ipAddress) {
-        String id = UUID.randomUUID().toString();
+        String id = UuidUtil.timeOrderedId();
         
         RefreshTokensRecord record = dsl.newRecord(REFRESH_TOKENS);
         record.setId(id);
@@ -1,6 +1,7 @@
 package com.Flyway.server.repository;
 
 import com.Flyway.server.jooq.tables.records.RolesRecord;
+import com.Flyway.server.util.UuidUtil;
 import lombok.RequiredArgsConstructor;
 import org.jooq.DSLContext;
 import org.springframework.stereotype.Repository;
@@ -8,7 +9,6 @@ import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 import static com.Flyway.server.jooq.tables.Roles.ROLES;
 
@@ -36,7 +36,7 @@ public class RoleRepository {
     }
     
     public String create(String name, String description, long permissions) {
-        String id = UUID.randomUUID().toString();
+        String id = UuidUtil.timeOrderedId();
         LocalDateTime now = LocalDateTime.now();
         
         RolesRecord record = dsl.newRecord(ROLES);
@@ -0,0 +1,117 @@
+package com.Flyway.server.repository;
+
+import com.Flyway.server.jooq.tables.records.UploadSessionPartsRecord;
+import com.Flyway.server.jooq.tables.records.UploadSessionsRecord;
+import com.Flyway.server.util.UuidUtil;
+import lombok.RequiredArgsConstructor;
+import org.jooq.DSLContext;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static com.Flyway.server.jooq.tables.UploadSessionParts.UPLOAD_SESSION_PARTS;
+import static com.Flyway.server.jooq.tables.UploadSessions.UPLOAD_SESSIONS;
+
+@Repository
+@RequiredArgsConstructor
+public class UploadSessionRepository {
+    
+    private final DSLContext dsl;
+    
+    /**
+     * Find an upload session by its UUID
+     */
+    public Optional<UploadSessionsRecord> findById(String id) {
+        return dsl.selectFrom(UPLOAD_SESSIONS)
+                .where(UPLOAD_SESSIONS.ID.eq(id))
+                .fetchOptional();
+    }
+    
+    /**
+     * Find sessions that expired before the given time
+     */
+    public List<UploadSessionsRecord> findExpired(LocalDateTime now) {
+        return dsl.selectFrom(UPLOAD_SESSIONS)
+                .where(UPLOAD_SESSIONS.EXPIRES_AT.lt(now))
+                .fetch();
+    }
+    
+    /**
+     * Create a new upload session
+     */
+    public UploadSessionsRecord create(
+            String organizationId,
+            String bundleId,
+            String commitHash,
+            String branchName,
+            String commitMessage,
+            String nativeVersion,
+            String filename,
+            long totalSize,
+            int partSize,
+            String expectedSha256,
+            String createdBy,
+            LocalDateTime expiresAt) {
+        
+        LocalDateTime now = LocalDateTime.now();
+        String id = UuidUtil.timeOrderedId();
+        
+        UploadSessionsRecord record = dsl.newRecord(UPLOAD_SESSIONS);
+        record.setId(id);
+        record.setOrganizationId(organizationId);
+        record.setBundleId(bundleId);
+        record.setCommitHash(commitHash);
+        record.setBranchName(branchName);
+        record.setCommitMessage(commitMessage);
+        record.setNativeVersion(nativeVersion);
+        record.setFilename(filename);
+        record.setTotalSize(totalSize);
+        record.setPartSize(partSize);
+        record.setExpectedSha256(expectedSha256);
+        record.setCreatedBy(createdBy);
+        record.setExpiresAt(expiresAt);
+        record.setCreatedAt(now);
+        record.setUpdatedAt(now);
+        record.store();
+        
+        return record;
+    }
+    
+    /**
+     * Delete an upload session (its parts are removed by ON DELETE CASCADE)
+     */
+    public int deleteById(String id) {
+        return dsl.deleteFrom(UPLOAD_SESSIONS)
+                .where(UPLOAD_SESSIONS.ID.eq(id))
+                .execute();
+    }
+    
+    /**
+     * Find the received parts of a session, in order
+     */
+    public List<UploadSessionPartsRecord> findParts(String sessionId) {
+        return dsl.selectFrom(UPLOAD_SESSION_PARTS)
+                .where(UPLOAD_SESSION_PARTS.SESSION_ID.eq(sessionId))
+                .orderBy(UPLOAD_SESSION_PARTS.PART_NUMBER.asc())
+                .fetch();
+    }
+    
+    /**
+     * Record a received part. Re-sending a part replaces it.
+     */
+    public void savePart(String sessionId, int partNumber, int size) {
+        LocalDateTime now = LocalDateTime.now();
+        
+        dsl.insertInto(UPLOAD_SESSION_PARTS)
+                .set(UPLOAD_SESSION_PARTS.SESSION_ID, sessionId)
+                .set(UPLOAD_SESSION_PARTS.PART_NUMBER, partNumber)
+                .set(UPLOAD_SESSION_PARTS.SIZE, size)
+                .set(UPLOAD_SESSION_PARTS.CREATED_AT, now)
+                .onDuplicateKeyUpdate()
+                .set(UPLOAD_SESSION_PARTS.SIZE, size)
+                .set(UPLOAD_SESSION_PARTS.CREATED_AT, now)
+                .execute();
+    }
+}
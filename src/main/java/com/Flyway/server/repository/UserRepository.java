@@ -1,6 +1,7 @@
 package com.Flyway.server.repository;
 
 import com.Flyway.server.jooq.tables.records.UsersRecord;
+import com.Flyway.server.util.UuidUtil;
 import lombok.RequiredArgsConstructor;
 import org.jooq.DSLContext;
 import org.springframework.stereotype.Repository;
@@ -8,7 +9,6 @@ import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 import static com.Flyway.server.jooq.tables.Users.USERS;
 
@@ -40,7 +40,7 @@ public class UserRepository {
     }
     
     public String create(String firstName, String lastName, String email, String passwordHash, String userStatusId, boolean tempPassword) {
-        String id = UUID.randomUUID().toString();
+        String id = UuidUtil.timeOrderedId();
         LocalDateTime now = LocalDateTime.now();
         
         UsersRecord record = dsl.newRecord(USERS);
@@ -111,6 +111,24 @@ public class UserRepository {
                 .execute();
     }
     
+    /**
+     * Get the permission version of a user, or 0 if the user does not exist
+     */
+    public long findPermissionVersion(String id) {
+        Long version = dsl.select(USERS.PERMISSION_VERSION)
+                .from(USERS)
+                .where(USERS.ID.eq(id))
+                .fetchOne(USERS.PERMISSION_VERSION);
+        return version != null ? version : 0L;
+    }
+    
+    public int incrementPermissionVersion(String id) {
+        return dsl.update(USERS)
+                .set(USERS.PERMISSION_VERSION, USERS.PERMISSION_VERSION.plus(1))
+                .where(USERS.ID.eq(id))
+                .execute();
+    }
+    
     public int delete(String id) {
         return dsl.deleteFrom(USERS)
                 .where(USERS.ID.eq(id))
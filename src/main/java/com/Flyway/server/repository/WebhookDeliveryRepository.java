@@ -0,0 +1,64 @@
+package com.Flyway.server.repository;
+
+import com.Flyway.server.jooq.tables.records.WebhookDeliveriesRecord;
+import lombok.RequiredArgsConstructor;
+import org.jooq.DSLContext;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.Flyway.server.jooq.tables.WebhookDeliveries.WEBHOOK_DELIVERIES;
+
+@Repository
+@RequiredArgsConstructor
+public class WebhookDeliveryRepository {
+    
+    private final DSLContext dsl;
+    
+    /**
+     * Record one delivery attempt
+     */
+    public void create(
+            String webhookId,
+            String eventType,
+            int eventCount,
+            int attempt,
+            Integer statusCode,
+            boolean success,
+            int durationMs,
+            String error) {
+        
+        dsl.insertInto(WEBHOOK_DELIVERIES)
+                .set(WEBHOOK_DELIVERIES.WEBHOOK_ID, webhookId)
+                .set(WEBHOOK_DELIVERIES.EVENT_TYPE, eventType)
+                .set(WEBHOOK_DELIVERIES.EVENT_COUNT, eventCount)
+                .set(WEBHOOK_DELIVERIES.ATTEMPT, attempt)
+                .set(WEBHOOK_DELIVERIES.STATUS_CODE, statusCode != null ? statusCode.shortValue() : null)
+                .set(WEBHOOK_DELIVERIES.SUCCESS, (byte) (success ? 1 : 0))
+                .set(WEBHOOK_DELIVERIES.DURATION_MS, durationMs)
+                .set(WEBHOOK_DELIVERIES.ERROR, error)
+                .set(WEBHOOK_DELIVERIES.CREATED_AT, LocalDateTime.now())
+                .execute();
+    }
+    
+    /**
+     * Find the most recent delivery attempts of a webhook
+     */
+    public List<WebhookDeliveriesRecord> findRecentByWebhookId(String webhookId, int limit) {
+        return dsl.selectFrom(WEBHOOK_DELIVERIES)
+                .where(WEBHOOK_DELIVERIES.WEBHOOK_ID.eq(webhookId))
+                .orderBy(WEBHOOK_DELIVERIES.ID.desc())
+                .limit(limit)
+                .fetch();
+    }
+    
+    /**
+     * Delete delivery attempts older than the given time
+     */
+    public int deleteOlderThan(LocalDateTime cutoff) {
+        return dsl.deleteFrom(WEBHOOK_DELIVERIES)
+                .where(WEBHOOK_DELIVERIES.CREATED_AT.lt(cutoff))
+                .execute();
+    }
+}
@@ -0,0 +1,117 @@
+package com.Flyway.server.repository;
+
+import com.Flyway.server.jooq.tables.records.WebhooksRecord;
+import com.Flyway.server.util.UuidUtil;
+import lombok.RequiredArgsConstructor;
+import org.jooq.DSLContext;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static com.Flyway.server.jooq.tables.Webhooks.WEBHOOKS;
+
+@Repository
+@RequiredArgsConstructor
+public class WebhookRepository {
+    
+    private final DSLContext dsl;
+    
+    /**
+     * Find a webhook by ID and organization
+     */
+    public Optional<WebhooksRecord> findByIdAndOrganizationId(String id, String organizationId) {
+        return dsl.selectFrom(WEBHOOKS)
+                .where(WEBHOOKS.ID.eq(id)
+                        .and(WEBHOOKS.ORGANIZATION_ID.eq(organizationId)))
+                .fetchOptional();
+    }
+    
+    /**
+     * Find all webhooks of an organization
+     */
+    public List<WebhooksRecord> findByOrganizationId(String organizationId) {
+        return dsl.selectFrom(WEBHOOKS)
+                .where(WEBHOOKS.ORGANIZATION_ID.eq(organizationId))
+                .orderBy(WEBHOOKS.CREATED_AT.desc())
+                .fetch();
+    }
+    
+    /**
+     * Find the active webhooks of an organization
+     */
+    public List<WebhooksRecord> findActiveByOrganizationId(String organizationId) {
+        return dsl.selectFrom(WEBHOOKS)
+                .where(WEBHOOKS.ORGANIZATION_ID.eq(organizationId)
+                        .and(WEBHOOKS.ACTIVE.eq((byte) 1)))
+                .fetch();
+    }
+    
+    /**
+     * Create a new webhook
+     */
+    public WebhooksRecord create(
+            String organizationId,
+            String url,
+            String secret,
+            String eventTypes,
+            int maxConcurrency,
+            int batchSize,
+            int batchWindowMs,
+            String createdBy) {
+        
+        LocalDateTime now = LocalDateTime.now();
+        String id = UuidUtil.timeOrderedId();
+        
+        WebhooksRecord record = dsl.newRecord(WEBHOOKS);
+        record.setId(id);
+        record.setOrganizationId(organizationId);
+        record.setUrl(url);
+        record.setSecret(secret);
+        record.setEventTypes(eventTypes);
+        record.setMaxConcurrency(maxConcurrency);
+        record.setBatchSize(batchSize);
+        record.setBatchWindowMs(batchWindowMs);
+        record.setActive((byte) 1);
+        record.setCreatedBy(createdBy);
+        record.setCreatedAt(now);
+        record.setUpdatedAt(now);
+        record.store();
+        
+        return record;
+    }
+    
+    /**
+     * Update a webhook
+     */
+    public void update(
+            String id,
+            String url,
+            String eventTypes,
+            int maxConcurrency,
+            int batchSize,
+            int batchWindowMs,
+            boolean active) {
+        
+        dsl.update(WEBHOOKS)
+                .set(WEBHOOKS.URL, url)
+                .set(WEBHOOKS.EVENT_TYPES, eventTypes)
+                .set(WEBHOOKS.MAX_CONCURRENCY, maxConcurrency)
+                .set(WEBHOOKS.BATCH_SIZE, batchSize)
+                .set(WEBHOOKS.BATCH_WINDOW_MS, batchWindowMs)
+                .set(WEBHOOKS.ACTIVE, (byte) (active ? 1 : 0))
+                .set(WEBHOOKS.UPDATED_AT, LocalDateTime.now())
+                .where(WEBHOOKS.ID.eq(id))
+                .execute();
+    }
+    
+    /**
+     * Delete a webhook (its deliveries are removed by ON DELETE CASCADE)
+     */
+    public int delete(String id) {
+        return dsl.deleteFrom(WEBHOOKS)
+                .where(WEBHOOKS.ID.eq(id))
+                .execute();
+    }
+}
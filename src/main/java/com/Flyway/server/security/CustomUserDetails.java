@@ -22,6 +22,8 @@ public class CustomUserDetails implements UserDetails {
     private Boolean emailVerified;
     private String userStatusCode;
     private String organizationId;
+    // Permission bitmask carried by a stateless token, null when it must be resolved per request
+    private Long permissions;
     
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -13,7 +13,9 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.Flyway.server.service.PermissionVersionService;
 import com.Flyway.server.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -25,6 +27,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final PermissionVersionService permissionVersionService;
     
     private static final List<String> PUBLIC_PATHS = Arrays.asList(
         "/api/auth/register",
@@ -32,9 +35,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         "/api/auth/refresh"
     );
     
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService,
+                                   PermissionVersionService permissionVersionService) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.permissionVersionService = permissionVersionService;
     }
     
     @Override
@@ -63,21 +68,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         try {
             final String jwt = authHeader.substring(7);
-            final String userId = jwtUtil.extractUserId(jwt);
+            final Claims claims = jwtUtil.extractAllClaims(jwt);
+            final String userId = claims.getSubject();
             
             if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userId);
-                
-                if (jwtUtil.validateToken(jwt, userId)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    log.debug("JWT authentication successful for user: {}", userId);
+                UserDetails userDetails = buildStatelessPrincipal(claims);
+                if (userDetails == null) {
+                    userDetails = this.userDetailsService.loadUserByUsername(userId);
                 }
+                
+                // Claims are already signature-checked and unexpired, no need to parse again
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities()
+                );
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+                log.debug("JWT authentication successful for user: {}", userId);
             }
         } catch (Exception e) {
             log.error("JWT authentication failed", e);
@@ -85,5 +93,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
+    
+    /**
+     * Build the principal from the token claims alone, or return null when the token does not
+     * carry one or its permission version is stale and the user must be loaded from the database
+     */
+    private CustomUserDetails buildStatelessPrincipal(Claims claims) {
+        if (!jwtUtil.isStatelessPrincipalEnabled()) {
+            return null;
+        }
+        
+        Number permissionVersion = claims.get(JwtUtil.CLAIM_PERMISSION_VERSION, Number.class);
+        if (permissionVersion == null
+                || !permissionVersionService.isCurrent(claims.getSubject(), permissionVersion.longValue())) {
+            return null;
+        }
+        
+        Number permissions = claims.get(JwtUtil.CLAIM_PERMISSIONS, Number.class);
+        
+        return CustomUserDetails.builder()
+                .id(claims.getSubject())
+                .email(claims.get(JwtUtil.CLAIM_EMAIL, String.class))
+                .emailVerified(claims.get(JwtUtil.CLAIM_EMAIL_VERIFIED, Boolean.class))
+                .userStatusCode(claims.get(JwtUtil.CLAIM_STATUS, String.class))
+                .organizationId(claims.get(JwtUtil.CLAIM_ORGANIZATION_ID, String.class))
+                .permissions(permissions != null ? permissions.longValue() : null)
+                .build();
+    }
 }
-
@@ -12,8 +12,8 @@ import org.springframework.stereotype.Component;
 
 import com.Flyway.server.exception.ForbiddenException;
 import com.Flyway.server.exception.UnauthorizedException;
-import com.Flyway.server.repository.OrganizationRepository;
 import com.Flyway.server.service.PermissionService;
+import com.Flyway.server.util.PermissionUtil;
 
 import java.lang.reflect.Method;
 
@@ -24,7 +24,6 @@ import java.lang.reflect.Method;
 public class PermissionAspect {
     
     private final PermissionService permissionService;
-    private final OrganizationRepository organizationRepository;
     
     @Before("@annotation(com.Flyway.server.security.RequirePermission)")
     public void checkPermission(JoinPoint joinPoint) {
@@ -52,17 +51,12 @@ public class PermissionAspect {
             throw new ForbiddenException("User is not a member of any organization");
         }
         
-        // Check if user is the organization owner - owners have all permissions
-        boolean isOwner = organizationRepository.isUserOrganizationOwner(userId, organizationId);
-        
-        if (isOwner) {
-            log.debug("User '{}' is the owner of organization '{}', granting permission '{}'", 
-                      userId, organizationId, requiredPermission);
-            return; // Organization owners have all permissions
-        }
-        
-        // Check if user has the required permission
-        boolean hasPermission = permissionService.userHasPermission(userId, organizationId, requiredPermission);
+        // Owners resolve to all permissions, so a single cached bitmask covers both cases
+        // A stateless token already carries the bitmask, resolved when it was issued
+        long permissions = userDetails.getPermissions() != null
+                ? userDetails.getPermissions()
+                : permissionService.getEffectivePermissions(userId, organizationId);
+        boolean hasPermission = PermissionUtil.hasPermission(permissions, requiredPermission);
         
         if (!hasPermission) {
             log.warn("User '{}' does not have permission '{}' in organization '{}'", 
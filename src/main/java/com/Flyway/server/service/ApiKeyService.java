@@ -8,14 +8,21 @@ import com.Flyway.server.exception.ResourceNotFoundException;
 import com.Flyway.server.jooq.tables.records.ApiKeysRecord;
 import com.Flyway.server.repository.ApiKeyRepository;
 import com.Flyway.server.repository.MobileApplicationRepository;
+import com.Flyway.server.repository.PagedRecords;
+import com.Flyway.server.util.PageCursor;
+import com.Flyway.server.util.PageTotal;
+import com.Flyway.server.util.UuidUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.security.SecureRandom;
 import java.time.ZoneOffset;
 import java.util.*;
+import java.util.function.IntSupplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,6 +32,9 @@ public class ApiKeyService {
     private final ApiKeyRepository apiKeyRepository;
     private final MobileApplicationRepository mobileApplicationRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApiKeyVerificationCache apiKeyVerificationCache;
+    private final ApiKeyUsageTracker apiKeyUsageTracker;
+    private final PageTotalCache pageTotalCache;
     
     private static final String API_KEY_PREFIX = "flyway_";
     private static final int KEY_LENGTH = 32;
@@ -68,7 +78,7 @@ public class ApiKeyService {
         }
         
         // Create the API key record (no expiration)
-        String id = UUID.randomUUID().toString();
+        String id = UuidUtil.timeOrderedId();
         ApiKeysRecord record = apiKeyRepository.create(
                 id,
                 keyHash,
@@ -92,6 +102,8 @@ public class ApiKeyService {
     
     /**
      * Get API keys with pagination and sorting
+     * 
+     * With a cursor the page number is ignored and totals are not counted.
      */
     public PaginatedApiKeyResponse getApiKeysByBundleIdPaginated(
             String bundleId,
@@ -99,6 +111,8 @@ public class ApiKeyService {
             int page,
             int size,
             String sort,
+            String cursor,
+            String total,
             String authenticatedUserOrgId) {
         
         // Validate that the user has access to this organization
@@ -114,24 +128,43 @@ public class ApiKeyService {
         // Verify the app belongs to the organization
         verifyAppBelongsToOrganization(bundleId, organizationId);
         
-        int offset = page * size;
+        PageTotal totalMode = PageTotal.parse(total);
+        PageCursor after = PageCursor.decode(cursor);
+        int offset = after != null ? 0 : page * size;
         
-        List<ApiKeysRecord> apiKeys = apiKeyRepository.findByBundleIdAndOrganizationId(
-                bundleId, organizationId, size, offset, sort);
-        int totalCount = apiKeyRepository.countByBundleIdAndOrganizationId(bundleId, organizationId);
+        // One extra row tells whether there is a next page; an exact total rides along in the same query
+        PagedRecords<ApiKeysRecord> result = apiKeyRepository.findByBundleIdAndOrganizationId(
+                bundleId, organizationId, after, size + 1, offset, sort, after == null && totalMode == PageTotal.EXACT);
+        List<ApiKeysRecord> apiKeys = result.records();
+        String nextCursor = PageCursor.nextPage(apiKeys, size, ApiKeysRecord::getCreatedAt, ApiKeysRecord::getId);
         
         List<ApiKeyResponse> apiKeyResponses = apiKeys.stream()
                 .map(this::mapToApiKeyResponse)
                 .collect(Collectors.toList());
         
-    
-        
-        return new PaginatedApiKeyResponse()
+        PaginatedApiKeyResponse response = new PaginatedApiKeyResponse()
                 .data(apiKeyResponses)
-                .page(page)
                 .size(size)
-                .totalElements(totalCount)
-                .totalPages((int) Math.ceil((double) totalCount / size));
+                .hasNext(nextCursor != null)
+                .nextCursor(nextCursor);
+        
+        // Totals are only reported for numbered pages
+        if (after == null) {
+            response.page(page);
+            
+            IntSupplier counter = () -> apiKeyRepository.countByBundleIdAndOrganizationId(bundleId, organizationId);
+            Integer totalCount = switch (totalMode) {
+                case EXACT -> result.totalOrCount(offset, counter);
+                case ESTIMATE -> pageTotalCache.get(PageTotalCache.key("api-keys", organizationId, bundleId), counter);
+                case NONE -> null;
+            };
+            if (totalCount != null) {
+                response.totalElements(totalCount)
+                        .totalPages((int) Math.ceil((double) totalCount / size));
+            }
+        }
+        
+        return response;
     }
     
     @Transactional
@@ -140,7 +173,14 @@ public class ApiKeyService {
         if (apiKeyRepository.delete(id) == 0) {
             throw new ResourceNotFoundException("API key not found");
         }
-
+        
+        // A lookup racing the uncommitted delete could cache the key again, so evict once committed
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apiKeyVerificationCache.invalidate(id);
+            }
+        });
     }
     
     /**
@@ -151,6 +191,14 @@ public class ApiKeyService {
             throw new BadRequestException("API key is required");
         }
         
+        // Repeat calls from the same pipeline skip the BCrypt verification
+        ApiKeyResponse cached = apiKeyVerificationCache.get(
+                apiKey, verified -> apiKeyRepository.existsById(verified.getId()));
+        if (cached != null) {
+            apiKeyUsageTracker.recordUsage(cached.getId());
+            return cached;
+        }
+        
         // Extract the prefix to narrow down candidates
         String keyPrefix = apiKey.substring(0, Math.min(15, apiKey.length()));
         
@@ -174,10 +222,13 @@ public class ApiKeyService {
             throw new BadRequestException("Invalid API key");
         }
         
-        // Update last used timestamp
-        apiKeyRepository.updateLastUsedAt(apiKeyRecord.getId());
+        // Record the last used timestamp (written in the background)
+        apiKeyUsageTracker.recordUsage(apiKeyRecord.getId());
+        
+        ApiKeyResponse response = mapToApiKeyResponse(apiKeyRecord);
+        apiKeyVerificationCache.put(apiKey, response);
         
-        return mapToApiKeyResponse(apiKeyRecord);
+        return response;
     }
     
     /**
@@ -0,0 +1,74 @@
+package com.Flyway.server.service;
+
+import com.Flyway.server.repository.ApiKeyRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records API key usage in memory and writes last_used_at in periodic batches,
+ * so authenticating a request never writes to the database.
+ * Many uses of the same key between two flushes collapse into one row update.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ApiKeyUsageTracker {
+    
+    private final ApiKeyRepository apiKeyRepository;
+    
+    // API key ID -> last time it was used, not yet written
+    private final Map<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+    
+    /**
+     * Record that an API key was just used
+     */
+    public void recordUsage(String apiKeyId) {
+        pending.put(apiKeyId, LocalDateTime.now());
+    }
+    
+    /**
+     * Write all pending timestamps with one multi-row update
+     */
+    @Scheduled(fixedDelayString = "${api-keys.last-used-flush-interval-ms:30000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        
+        Map<String, LocalDateTime> batch = new HashMap<>();
+        for (Map.Entry<String, LocalDateTime> entry : pending.entrySet()) {
+            // Only take the entry if it was not refreshed meanwhile; a newer timestamp waits for the next flush
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.put(entry.getKey(), entry.getValue());
+            }
+        }
+        
+        if (batch.isEmpty()) {
+            return;
+        }
+        
+        try {
+            apiKeyRepository.updateLastUsedAt(batch);
+        } catch (Exception e) {
+            // Put the batch back unless a newer use was recorded meanwhile, and retry on the next flush
+            batch.forEach((id, lastUsedAt) -> pending.merge(id, lastUsedAt, (current, failed) -> current));
+            log.warn("Failed to flush last-used timestamps of {} API keys", batch.size(), e);
+        }
+    }
+    
+    /**
+     * Write what is left before the application stops
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
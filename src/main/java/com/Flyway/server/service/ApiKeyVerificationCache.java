@@ -0,0 +1,125 @@
+package com.Flyway.server.service;
+
+import com.Flyway.server.dto.generated.ApiKeyResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Bounded, TTL-based cache of API keys that already passed BCrypt verification
+ *
+ * Entries are keyed by an HMAC-SHA256 of the presented key under a random per-process secret,
+ * so plain keys are never held in memory and the digests are useless outside this process.
+ * Keys are evicted on deletion. Other nodes notice the deletion at the next recheck: a hit on an
+ * entry older than api-keys.cache-recheck-seconds asks the caller whether the key still exists,
+ * a cheap lookup compared to the BCrypt verification the cache saves.
+ */
+@Service
+public class ApiKeyVerificationCache {
+    
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    
+    private final Map<String, CachedApiKey> entries = new ConcurrentHashMap<>();
+    private final SecretKeySpec digestKey;
+    private final long ttlNanos;
+    private final long recheckNanos;
+    private final int maxEntries;
+    
+    public ApiKeyVerificationCache(
+            @Value("${api-keys.cache-ttl-seconds:300}") long ttlSeconds,
+            @Value("${api-keys.cache-recheck-seconds:5}") long recheckSeconds,
+            @Value("${api-keys.cache-max-entries:10000}") int maxEntries) {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.digestKey = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.recheckNanos = recheckSeconds * 1_000_000_000L;
+        this.maxEntries = maxEntries;
+    }
+    
+    /**
+     * Get the verified key for a presented API key, or null if it is not cached, expired,
+     * or no longer valid
+     *
+     * @param stillValid Checks that a cached key was not deleted since it was last checked
+     */
+    public ApiKeyResponse get(String apiKey, Predicate<ApiKeyResponse> stillValid) {
+        String digest = digest(apiKey);
+        CachedApiKey cached = entries.get(digest);
+        if (cached == null) {
+            return null;
+        }
+        
+        long now = System.nanoTime();
+        if (cached.expiresAt() - now < 0) {
+            entries.remove(digest, cached);
+            return null;
+        }
+        
+        if (cached.recheckAt() - now < 0) {
+            if (!stillValid.test(cached.apiKey())) {
+                entries.remove(digest, cached);
+                return null;
+            }
+            entries.replace(digest, cached, new CachedApiKey(cached.apiKey(), cached.expiresAt(), now + recheckNanos));
+        }
+        
+        return cached.apiKey();
+    }
+    
+    /**
+     * Remember a presented API key that was just verified
+     */
+    public void put(String apiKey, ApiKeyResponse verified) {
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+        long now = System.nanoTime();
+        entries.put(digest(apiKey), new CachedApiKey(verified, now + ttlNanos, now + recheckNanos));
+    }
+    
+    /**
+     * Drop a key from the cache (after it was deleted)
+     */
+    public void invalidate(String apiKeyId) {
+        entries.values().removeIf(cached -> cached.apiKey().getId().equals(apiKeyId));
+    }
+    
+    /**
+     * Make room: drop expired entries, then arbitrary ones until below the bound
+     */
+    private void evict() {
+        long now = System.nanoTime();
+        entries.values().removeIf(cached -> cached.expiresAt() - now < 0);
+        
+        Iterator<String> iterator = entries.keySet().iterator();
+        while (entries.size() >= maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+    
+    private String digest(String apiKey) {
+        try {
+            // Mac instances are not thread-safe and cheap to create from an initialized key
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(digestKey);
+            return HexFormat.of().formatHex(mac.doFinal(apiKey.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+    
+    private record CachedApiKey(ApiKeyResponse apiKey, long expiresAt, long recheckAt) {
+    }
+}
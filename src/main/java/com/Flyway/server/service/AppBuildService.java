@@ -9,18 +9,33 @@ import com.Flyway.server.exception.ConflictException;
 import com.Flyway.server.exception.ForbiddenException;
 import com.Flyway.server.exception.ResourceNotFoundException;
 import com.Flyway.server.jooq.tables.records.AppBuildsRecord;
+import com.Flyway.server.jooq.tables.records.BuildDeltasRecord;
 import com.Flyway.server.repository.AppBuildRepository;
+import com.Flyway.server.repository.BuildDeltaRepository;
+import com.Flyway.server.repository.DeploymentRepository;
 import com.Flyway.server.repository.MobileApplicationRepository;
+import com.Flyway.server.repository.PagedRecords;
+import com.Flyway.server.storage.DigestingInputStream;
+import com.Flyway.server.storage.StoragePaths;
 import com.Flyway.server.storage.StorageService;
+import com.Flyway.server.util.PageCursor;
+import com.Flyway.server.util.PageTotal;
+import com.Flyway.server.util.UuidUtil;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.function.IntSupplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,13 +44,20 @@ public class AppBuildService {
     
     private final AppBuildRepository appBuildRepository;
     private final MobileApplicationRepository mobileApplicationRepository;
+    private final DeploymentRepository deploymentRepository;
+    private final BuildDeltaRepository buildDeltaRepository;
     private final StorageService storageService;
-    private final ApplicationEventPublisher eventPublisher;
+    private final EventOutboxService eventOutboxService;
+    private final PageTotalCache pageTotalCache;
+    private final TransactionTemplate transactionTemplate;
     
     private static final long MAX_FILE_SIZE = 30 * 1024 * 1024; // 30MB in bytes
     
     /**
      * Get builds with pagination and sorting
+     * 
+     * With a cursor the page number is ignored and totals are not counted,
+     * so every page costs the same however deep it is.
      */
     public PaginatedBuildResponse getBuilds(
             String organizationId,
@@ -43,6 +65,8 @@ public class AppBuildService {
             int page,
             int size,
             String sort,
+            String cursor,
+            String total,
             String authenticatedUserOrgId) {
         
         // Validate that the user has access to this organization
@@ -58,31 +82,50 @@ public class AppBuildService {
         // Verify the app belongs to the organization
         verifyAppBelongsToOrganization(bundleId, organizationId);
         
-        int offset = page * size;
+        PageTotal totalMode = PageTotal.parse(total);
+        PageCursor after = PageCursor.decode(cursor);
+        int offset = after != null ? 0 : page * size;
         
-        List<AppBuildsRecord> builds = appBuildRepository.findByOrganizationAndBundleId(
-                organizationId, bundleId, size, offset, sort);
-        int totalCount = appBuildRepository.countByOrganizationAndBundleId(organizationId, bundleId);
+        // One extra row tells whether there is a next page; an exact total rides along in the same query
+        PagedRecords<AppBuildsRecord> result = appBuildRepository.findByOrganizationAndBundleId(
+                organizationId, bundleId, after, size + 1, offset, sort, after == null && totalMode == PageTotal.EXACT);
+        List<AppBuildsRecord> builds = result.records();
+        String nextCursor = PageCursor.nextPage(builds, size, AppBuildsRecord::getCreatedAt, AppBuildsRecord::getId);
         
         List<BuildResponse> buildResponses = builds.stream()
                 .map(this::mapToBuildResponse)
                 .collect(Collectors.toList());
         
-        return new PaginatedBuildResponse()
+        PaginatedBuildResponse response = new PaginatedBuildResponse()
                 .data(buildResponses)
-                .page(page)
                 .size(size)
-                .totalElements(totalCount)
-                .totalPages((int) Math.ceil((double) totalCount / size));
+                .hasNext(nextCursor != null)
+                .nextCursor(nextCursor);
         
+        // Totals are only reported for numbered pages
+        if (after == null) {
+            response.page(page);
+            
+            IntSupplier counter = () -> appBuildRepository.countByOrganizationAndBundleId(organizationId, bundleId);
+            Integer totalCount = switch (totalMode) {
+                case EXACT -> result.totalOrCount(offset, counter);
+                case ESTIMATE -> pageTotalCache.get(PageTotalCache.key("builds", organizationId, bundleId), counter);
+                case NONE -> null;
+            };
+            if (totalCount != null) {
+                response.totalElements(totalCount)
+                        .totalPages((int) Math.ceil((double) totalCount / size));
+            }
+        }
+        
+        return response;
     }
     
-
+    
     
     /**
      * Upload a new build via API key (no user auth check needed)
      */
-    @Transactional
     public BuildResponse uploadBuildViaApiKey(
             String organizationId,
             String bundleId,
@@ -102,6 +145,93 @@ public class AppBuildService {
             throw new BadRequestException("File size exceeds maximum allowed size of 30MB");
         }
         
+        try (InputStream inputStream = file.getInputStream()) {
+            return uploadBuildStream(
+                    organizationId,
+                    bundleId,
+                    commitHash,
+                    branchName,
+                    commitMessage,
+                    nativeVersion,
+                    apiKeyId,
+                    file.getOriginalFilename(),
+                    inputStream,
+                    file.getSize(),
+                    null
+            );
+        }
+    }
+    
+    /**
+     * Upload a new build from a raw request body (no user auth check needed)
+     * 
+     * The stream is read exactly once: it is hashed and size-checked on the fly while being
+     * piped into storage, so the build is never buffered in memory or spooled to a temp file.
+     * Not transactional on purpose, so no database connection is held while the body is received.
+     * 
+     * @param contentLength Declared size of the body in bytes
+     * @param expectedSha256 SHA-256 announced by the client, verified after the upload (optional)
+     */
+    public BuildResponse uploadBuildStream(
+            String organizationId,
+            String bundleId,
+            String commitHash,
+            String branchName,
+            String commitMessage,
+            String nativeVersion,
+            String apiKeyId,
+            String filename,
+            InputStream inputStream,
+            long contentLength,
+            String expectedSha256) throws IOException {
+        
+        return uploadBuildStream(
+                organizationId,
+                bundleId,
+                commitHash,
+                branchName,
+                commitMessage,
+                nativeVersion,
+                apiKeyId,
+                filename,
+                inputStream,
+                contentLength,
+                expectedSha256,
+                MAX_FILE_SIZE
+        );
+    }
+    
+    /**
+     * Upload a new build from a stream with a caller-defined size limit
+     * (resumable uploads allow larger builds than single-request uploads)
+     */
+    public BuildResponse uploadBuildStream(
+            String organizationId,
+            String bundleId,
+            String commitHash,
+            String branchName,
+            String commitMessage,
+            String nativeVersion,
+            String apiKeyId,
+            String filename,
+            InputStream inputStream,
+            long contentLength,
+            String expectedSha256,
+            long maxFileSize) throws IOException {
+        
+        // Validate file
+        if (filename == null || filename.isBlank() || filename.contains("/") || filename.contains("\\")) {
+            throw new BadRequestException("A valid file name is required");
+        }
+        
+        if (contentLength <= 0) {
+            throw new BadRequestException("File cannot be empty");
+        }
+        
+        if (contentLength > maxFileSize) {
+            throw fileTooLarge(maxFileSize);
+        }
+        
         // Verify the app belongs to the organization
         verifyAppBelongsToOrganization(bundleId, organizationId);
         
@@ -111,49 +241,99 @@ public class AppBuildService {
                     "' already exists for this application");
         }
         
-        // Store the file
-        String filePath = String.format("builds/%s/%s/%s/%s", 
-                organizationId, bundleId, commitHash, file.getOriginalFilename());
-        String buildUrl = storageService.store(file, filePath);
+        // Stage the file under a key of its own, hashing and enforcing the size limit while it streams through.
+        // The final key is shared by every upload of the commit, so only the upload whose row wins moves there.
+        String filePath = StoragePaths.build(organizationId, bundleId, commitHash, filename);
+        String stagedPath = StoragePaths.stagedBuild(UuidUtil.timeOrderedId());
+        DigestingInputStream digestingStream = new DigestingInputStream(inputStream, maxFileSize);
+        String stagedUrl;
+        try {
+            stagedUrl = storageService.store(digestingStream, contentLength, stagedPath);
+        } catch (DigestingInputStream.SizeLimitExceededException e) {
+            deleteQuietly(stagedPath);
+            throw fileTooLarge(maxFileSize);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(stagedPath);
+            throw e;
+        }
+        
+        long buildSize = digestingStream.getBytesRead();
+        String contentSha256 = digestingStream.getSha256();
         
-        // Create the build record (use apiKeyId as uploadedBy to track API key uploads)
+        if (buildSize != contentLength) {
+            deleteQuietly(stagedPath);
+            throw new BadRequestException("Received " + buildSize + " bytes but " + contentLength + " were declared");
+        }
+        
+        if (expectedSha256 != null && !expectedSha256.equalsIgnoreCase(contentSha256)) {
+            deleteQuietly(stagedPath);
+            throw new BadRequestException("File checksum does not match the provided SHA-256");
+        }
+        
+        // Create the build record (use apiKeyId as uploadedBy to track API key uploads). The insert
+        // claims the commit; the object moves into place before the row becomes visible on commit.
         AppBuildsRecord build;
         try {
-            build = appBuildRepository.create(
-                    organizationId,
-                    bundleId,
-                    commitHash,
-                    branchName,
-                    commitMessage,
-                    file.getSize(),
-                    buildUrl,
-                    nativeVersion,
-                    apiKeyId
-            );
-        } catch (Exception e) {
-            // If database insert fails, clean up the uploaded file
-            try {
-                storageService.delete(filePath);
-            } catch (IOException deleteException) {
-                // Log but don't throw - the main exception is more important
-            }
+            build = transactionTemplate.execute(status -> {
+                AppBuildsRecord created = appBuildRepository.create(
+                        organizationId,
+                        bundleId,
+                        commitHash,
+                        branchName,
+                        commitMessage,
+                        buildSize,
+                        contentSha256,
+                        stagedUrl,
+                        nativeVersion,
+                        apiKeyId
+                );
+                
+                try {
+                    created.setBuildUrl(storageService.move(stagedPath, filePath));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                // The object is in its final place now; if the commit still fails, no row points at it
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status == STATUS_ROLLED_BACK) {
+                            deleteQuietly(filePath);
+                        }
+                    }
+                });
+                created.update();
+                
+                // Publish event for audit logging, webhooks, and notifications
+                eventOutboxService.publish(new BuildUploadedEvent(
+                        created.getId(),
+                        bundleId,
+                        commitHash,
+                        branchName,
+                        nativeVersion,
+                        buildSize,
+                        created.getBuildUrl(),
+                        apiKeyId, // Using API key ID as userId for API uploads
+                        organizationId
+                ));
+                return created;
+            });
+        } catch (DuplicateKeyException e) {
+            // A concurrent upload of the same commit won the race; its object is left untouched
+            deleteQuietly(stagedPath);
+            throw new ConflictException("A build with commit hash '" + commitHash + 
+                    "' already exists for this application");
+        } catch (UncheckedIOException e) {
+            deleteQuietly(stagedPath);
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            // If database insert fails, clean up the staged file
+            deleteQuietly(stagedPath);
             throw e;
         }
         
         BuildResponse response = mapToBuildResponse(build);
         
-        // Publish event for audit logging, webhooks, and notifications
-        eventPublisher.publishEvent(new BuildUploadedEvent(
-                build.getId(),
-                bundleId,
-                commitHash,
-                branchName,
-                nativeVersion,
-                file.getSize(),
-                apiKeyId, // Using API key ID as userId for API uploads
-                organizationId
-        ));
-        
         return response;
     }
     
@@ -175,13 +355,18 @@ public class AppBuildService {
             throw new ForbiddenException("You do not have access to this organization");
         }
         
+        // A channel still serving this build would be left without a bundle
+        if (deploymentRepository.existsByBuildId(buildId)) {
+            throw new ConflictException("Cannot delete a build that is currently deployed to a channel");
+        }
+        
         // Store build details for the event before deletion
         String bundleId = build.getBundleId();
         String commitHash = build.getCommitHash();
         String organizationId = build.getOrganizationId();
         
         // Delete from storage
-        String filePath = extractFilePathFromUrl(
+        String filePath = StoragePaths.fromUrl(
                 build.getBuildUrl(), 
                 build.getOrganizationId(), 
                 build.getBundleId(), 
@@ -192,11 +377,24 @@ public class AppBuildService {
             // Log but continue with database deletion
         }
         
+        // Delete delta patches to or from this build (rows are removed by ON DELETE CASCADE)
+        for (BuildDeltasRecord delta : buildDeltaRepository.findByBuildId(buildId)) {
+            try {
+                storageService.delete(StoragePaths.fromUrl(
+                        delta.getDeltaUrl(), 
+                        build.getOrganizationId(), 
+                        build.getBundleId(), 
+                        build.getCommitHash()));
+            } catch (Exception e) {
+                // Log but continue with database deletion
+            }
+        }
+        
         // Delete from database
         appBuildRepository.deleteById(buildId);
         
         // Publish event for audit logging, webhooks, and notifications
-        eventPublisher.publishEvent(new BuildDeletedEvent(
+        eventOutboxService.publish(new BuildDeletedEvent(
                 buildId,
                 bundleId,
                 commitHash,
@@ -217,6 +415,22 @@ public class AppBuildService {
         }
     }
     
+    private BadRequestException fileTooLarge(long maxFileSize) {
+        return new BadRequestException("File size exceeds maximum allowed size of " 
+                + (maxFileSize / (1024 * 1024)) + "MB");
+    }
+    
+    /**
+     * Delete a stored object, ignoring failures (used to clean up after a rejected upload)
+     */
+    private void deleteQuietly(String filePath) {
+        try {
+            storageService.delete(filePath);
+        } catch (IOException e) {
+            // Log but don't throw - the main exception is more important
+        }
+    }
+    
     /**
      * Map database record to response DTO
      */
@@ -229,26 +443,11 @@ public class AppBuildService {
                 .branchName(record.getBranchName())
                 .commitMessage(record.getCommitMessage())
                 .buildSize(record.getBuildSize())
+                .contentSha256(record.getContentSha256())
                 .buildUrl(record.getBuildUrl())
                 .nativeVersion(record.getNativeVersion())
                 .uploadedBy(record.getUploadedBy())
                 .createdAt(record.getCreatedAt().atOffset(ZoneOffset.UTC))
                 .updatedAt(record.getUpdatedAt().atOffset(ZoneOffset.UTC));
     }
-      
-    
-    /**
-     * Extract file path from URL for deletion
-     */
-    private String extractFilePathFromUrl(String url, String organizationId, String bundleId, String commitHash) {
-        // Try to extract from URL pattern
-        if (url.contains("builds/" + organizationId)) {
-            int startIdx = url.indexOf("builds/");
-            return url.substring(startIdx);
-        }
-        
-        // Fallback: reconstruct the path (won't work if filename is different)
-        return String.format("builds/%s/%s/%s/", organizationId, bundleId, commitHash);
-    }
 }
-
@@ -3,12 +3,17 @@ package com.Flyway.server.service;
 import com.Flyway.server.event.DomainEvent;
 import com.Flyway.server.jooq.tables.records.AuditLogsRecord;
 import com.Flyway.server.repository.AuditLogRepository;
+import com.Flyway.server.repository.PagedRecords;
+import com.Flyway.server.util.PageCursor;
+import com.Flyway.server.util.UuidUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.jooq.JSON;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -20,34 +25,62 @@ import java.util.List;
 public class AuditLogService {
     
     private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final PageTotalCache pageTotalCache;
     
     /**
-     * Create an audit log entry from a domain event
+     * Write the audit log entries of relayed domain events, joining the caller's transaction
+     * so they are stored if and only if the events leave the outbox.
+     * 
+     * The entries go out as one multi-row insert. If the database rejects it because of the
+     * data, the entries are inserted one by one and only the rejected ones are skipped.
      */
-    @Transactional
-    public String logEvent(DomainEvent event) {
-        return logEvent(
-                event.getUserId(),
-                event.getOrganizationId(),
-                event.getAuditAction(),
-                event.getResourceType(),
-                event.getResourceId(),
-                event.getResourceName(),
-                null,
-                null,
-                null,
-                null,
-                null,
-                null,
-                null,
-                null
-        );
+    public void recordEvents(List<DomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        
+        List<AuditLogsRecord> entries = new ArrayList<>(events.size());
+        for (DomainEvent event : events) {
+            entries.add(newEntry(
+                    event.getUserId(),
+                    event.getOrganizationId(),
+                    event.getAuditAction(),
+                    event.getResourceType(),
+                    event.getResourceId(),
+                    event.getResourceName(),
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null
+            ));
+        }
+        
+        try {
+            auditLogRepository.createBatch(entries);
+        } catch (DataIntegrityViolationException e) {
+            // MySQL rolls back only the failed statement, so the transaction carries on
+            for (AuditLogsRecord entry : entries) {
+                try {
+                    auditLogRepository.createBatch(List.of(entry));
+                } catch (DataIntegrityViolationException rejected) {
+                    log.error("Skipped audit log entry rejected by the database: action={}, resourceType={}, resourceId={} - {}",
+                              entry.getAction(), entry.getResourceType(), entry.getResourceId(), rejected.getMessage());
+                }
+            }
+        }
     }
     
     /**
-     * Create an audit log entry with full details
+     * Create an audit log entry with full details.
+     * The entry is buffered and written with the next batch (see AuditLogWriter), so it can be
+     * lost if the buffer is full or the node stops; entries for domain events go through
+     * recordEvents instead.
      */
-    @Transactional
     public String logEvent(
             String userId,
             String organizationId,
@@ -64,46 +97,92 @@ public class AuditLogService {
             String errorMessage,
             String metadata) {
         
-        try {
-            return auditLogRepository.create(
-                    userId,
-                    organizationId,
-                    action,
-                    resourceType,
-                    resourceId,
-                    resourceName,
-                    httpMethod,
-                    endpoint,
-                    ipAddress,
-                    userAgent,
-                    requestBody,
-                    responseStatus,
-                    errorMessage,
-                    metadata
-            );
-        } catch (Exception e) {
-            // Log the error but don't throw - audit logging shouldn't break the main flow
-            log.error("Failed to create audit log entry: action={}, resourceType={}, resourceId={}", 
-                      action, resourceType, resourceId, e);
+        AuditLogsRecord entry = newEntry(
+                userId,
+                organizationId,
+                action,
+                resourceType,
+                resourceId,
+                resourceName,
+                httpMethod,
+                endpoint,
+                ipAddress,
+                userAgent,
+                requestBody,
+                responseStatus,
+                errorMessage,
+                metadata
+        );
+        
+        if (!auditLogWriter.enqueue(entry)) {
+            // Don't throw - audit logging shouldn't break the main flow; drops are reported by the writer
+            log.debug("Audit log buffer full, dropped entry: action={}, resourceType={}, resourceId={}",
+                      action, resourceType, resourceId);
             return null;
         }
+        
+        return entry.getId();
+    }
+    
+    private AuditLogsRecord newEntry(
+            String userId,
+            String organizationId,
+            String action,
+            String resourceType,
+            String resourceId,
+            String resourceName,
+            String httpMethod,
+            String endpoint,
+            String ipAddress,
+            String userAgent,
+            String requestBody,
+            Integer responseStatus,
+            String errorMessage,
+            String metadata) {
+        
+        AuditLogsRecord entry = new AuditLogsRecord();
+        entry.setId(UuidUtil.timeOrderedId());
+        entry.setUserId(userId);
+        entry.setOrganizationId(organizationId);
+        entry.setAction(action);
+        entry.setResourceType(resourceType);
+        entry.setResourceId(resourceId);
+        entry.setResourceName(resourceName);
+        entry.setHttpMethod(httpMethod);
+        entry.setEndpoint(endpoint);
+        entry.setIpAddress(ipAddress);
+        entry.setUserAgent(userAgent);
+        entry.setRequestBody(requestBody);
+        entry.setResponseStatus(responseStatus);
+        entry.setErrorMessage(errorMessage);
+        entry.setMetadata(metadata != null ? JSON.valueOf(metadata) : null);
+        entry.setCreatedAt(LocalDateTime.now());
+        
+        return entry;
     }
     
     /**
      * Get audit logs for an organization with pagination and filtering
+     * 
+     * @param cursor Continue after this position; the page number is then ignored (optional)
+     * @param limit Maximum number of entries to return
+     * @param withTotal Also count all matching entries, in the same query
      */
-    public List<AuditLogsRecord> getAuditLogs(
+    public PagedRecords<AuditLogsRecord> getAuditLogs(
             String organizationId,
             String action,
             String resourceType,
             String userId,
             LocalDateTime startDate,
             LocalDateTime endDate,
+            PageCursor cursor,
             int page,
             int size,
-            String sort) {
+            int limit,
+            String sort,
+            boolean withTotal) {
         
-        int offset = page * size;
+        int offset = cursor != null ? 0 : page * size;
         
         return auditLogRepository.findByOrganization(
                 organizationId,
@@ -112,9 +191,28 @@ public class AuditLogService {
                 userId,
                 startDate,
                 endDate,
-                size,
+                cursor,
+                limit,
                 offset,
-                sort
+                sort,
+                withTotal
+        );
+    }
+    
+    /**
+     * Count audit logs for an organization with filters, reusing a recent count of the same query
+     */
+    public int estimateAuditLogs(
+            String organizationId,
+            String action,
+            String resourceType,
+            String userId,
+            LocalDateTime startDate,
+            LocalDateTime endDate) {
+        
+        return pageTotalCache.get(
+                PageTotalCache.key("audit-logs", organizationId, action, resourceType, userId, startDate, endDate),
+                () -> countAuditLogs(organizationId, action, resourceType, userId, startDate, endDate)
         );
     }
     
@@ -0,0 +1,32 @@
+package com.Flyway.server.service;
+
+import com.Flyway.server.jooq.tables.records.AuditLogsRecord;
+import com.Flyway.server.repository.AuditLogRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Buffers audit log entries in memory and writes them with multi-row inserts,
+ * so recording an event never costs its own transaction.
+ */
+@Service
+public class AuditLogWriter extends BatchWriter<AuditLogsRecord> {
+    
+    private final AuditLogRepository auditLogRepository;
+    
+    public AuditLogWriter(
+            AuditLogRepository auditLogRepository,
+            @Value("${audit-logs.batch-size:500}") int batchSize,
+            @Value("${audit-logs.buffer-capacity:20000}") int capacity,
+            @Value("${audit-logs.flush-interval-ms:50}") long flushIntervalMs) {
+        super("audit-log", batchSize, capacity, flushIntervalMs);
+        this.auditLogRepository = auditLogRepository;
+    }
+    
+    @Override
+    protected void write(List<AuditLogsRecord> batch) {
+        auditLogRepository.createBatch(batch);
+    }
+}
@@ -11,7 +11,7 @@ import com.Flyway.server.exception.ConflictException;
 import com.Flyway.server.exception.UnauthorizedException;
 import com.Flyway.server.repository.RefreshTokenRepository;
 import com.Flyway.server.repository.UserRepository;
-import com.Flyway.server.repository.UserStatusRepository;
+import com.Flyway.server.security.CustomUserDetails;
 import com.Flyway.server.util.JwtUtil;
 import com.Flyway.server.jooq.tables.records.UserStatusesRecord;
 
@@ -31,11 +31,14 @@ import java.util.Base64;
 public class AuthService {
     
     private final UserRepository userRepository;
-    private final UserStatusRepository userStatusRepository;
+    private final LookupTableCache lookupTableCache;
     private final RefreshTokenRepository refreshTokenRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final UserService userService;
+    private final CustomUserDetailsService customUserDetailsService;
+    private final PermissionService permissionService;
+    private final PermissionVersionService permissionVersionService;
     
     @Transactional
     public AuthResponse register(UserRegistrationRequest request) {
@@ -45,7 +48,7 @@ public class AuthService {
         }
         
         // Get active status
-        UserStatusesRecord activeStatus = userStatusRepository.findByCode("active")
+        UserStatusesRecord activeStatus = lookupTableCache.findUserStatusByCode("active")
                 .orElseThrow(() -> new RuntimeException("Active status not found"));
         
         // Create user
@@ -58,7 +61,7 @@ public class AuthService {
         );
         
         // Generate tokens
-        String accessToken = jwtUtil.generateToken(userId);
+        String accessToken = generateAccessToken(userId);
         String refreshToken = jwtUtil.generateRefreshToken(userId);
         
         // Store refresh token
@@ -91,7 +94,7 @@ public class AuthService {
         userRepository.updateLastLogin(userId);
         
         // Generate tokens
-        String accessToken = jwtUtil.generateToken(userId);
+        String accessToken = generateAccessToken(userId);
         String refreshToken = jwtUtil.generateRefreshToken(userId);
         
         // Store refresh token
@@ -131,7 +134,7 @@ public class AuthService {
         }
         
         // Generate new access token
-        String newAccessToken = jwtUtil.generateToken(userId);
+        String newAccessToken = generateAccessToken(userId);
         
         // Get user details
         UserResponse user = userService.getUserById(userId);
@@ -151,6 +154,25 @@ public class AuthService {
     @Transactional
     public void logoutAll(String userId) {
         refreshTokenRepository.revokeAllByUserId(userId);
+        permissionVersionService.bump(userId);
+    }
+    
+    /**
+     * Generate an access token, embedding the principal when stateless tokens are enabled
+     */
+    private String generateAccessToken(String userId) {
+        if (!jwtUtil.isStatelessPrincipalEnabled()) {
+            return jwtUtil.generateToken(userId);
+        }
+        
+        // Read the version before the permissions, so a concurrent change leaves this token stale
+        long permissionVersion = permissionVersionService.getVersion(userId);
+        CustomUserDetails userDetails = (CustomUserDetails) customUserDetailsService.loadUserByUsername(userId);
+        long permissions = userDetails.getOrganizationId() != null
+                ? permissionService.getEffectivePermissions(userId, userDetails.getOrganizationId())
+                : 0L;
+        
+        return jwtUtil.generateToken(userDetails, permissions, permissionVersion);
     }
     
     private void storeRefreshToken(String userId, String refreshToken, String deviceInfo) {
@@ -0,0 +1,177 @@
+package com.Flyway.server.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Buffers rows in memory and hands them to write() in batches, so producers never wait
+ * on the database and each batch can go out as one multi-row insert.
+ *
+ * A single drainer thread flushes once a batch is full or the flush interval elapsed.
+ * The buffer is bounded; rows that do not fit are dropped and reported on the next flush.
+ * A batch the database rejects because of its data (a constraint violation, a value too
+ * long) is split in halves and retried, so only the offending rows are dropped. A batch that
+ * fails for any other reason is logged and discarded rather than retried.
+ */
+@Slf4j
+public abstract class BatchWriter<T> {
+    
+    private final String name;
+    private final int batchSize;
+    private final int capacity;
+    private final long flushIntervalNanos;
+    
+    private final Queue<T> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    
+    private volatile boolean running;
+    private Thread drainer;
+    
+    /**
+     * @param name Names the drainer thread and log messages
+     */
+    protected BatchWriter(String name, int batchSize, int capacity, long flushIntervalMs) {
+        this.name = name;
+        this.batchSize = batchSize;
+        this.capacity = capacity;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+    }
+    
+    /**
+     * Write one batch, typically with a single multi-row insert
+     */
+    protected abstract void write(List<T> batch);
+    
+    @PostConstruct
+    public void start() {
+        running = true;
+        drainer = Thread.ofPlatform()
+                .name(name + "-writer")
+                .daemon(true)
+                .start(this::drainLoop);
+    }
+    
+    /**
+     * Queue a row for the next flush
+     *
+     * @return false if the buffer is full and the row was dropped
+     */
+    public boolean enqueue(T row) {
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            dropped.incrementAndGet();
+            return false;
+        }
+        
+        buffer.offer(row);
+        
+        // Wake the drainer as soon as a full batch is waiting
+        if (size.get() >= batchSize) {
+            LockSupport.unpark(drainer);
+        }
+        return true;
+    }
+    
+    /**
+     * Number of rows dropped because the buffer was full, since startup
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+    
+    /**
+     * Number of rows waiting for a flush
+     */
+    public int getBufferedCount() {
+        return size.get();
+    }
+    
+    /**
+     * Stop the drainer and write whatever is still buffered before the application stops
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(drainer);
+        drainer.join(TimeUnit.SECONDS.toMillis(10));
+        
+        while (flushBatch() > 0) {
+            // keep flushing until the buffer is empty
+        }
+    }
+    
+    private void drainLoop() {
+        long lastDropped = 0;
+        
+        while (running) {
+            if (size.get() < batchSize) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            
+            flushBatch();
+            
+            long totalDropped = dropped.get();
+            if (totalDropped > lastDropped) {
+                log.warn("{} buffer overflowed, dropped {} rows ({} since startup)",
+                         name, totalDropped - lastDropped, totalDropped);
+                lastDropped = totalDropped;
+            }
+        }
+    }
+    
+    /**
+     * Write up to one batch of buffered rows
+     *
+     * @return the number of rows taken from the buffer
+     */
+    private int flushBatch() {
+        List<T> batch = new ArrayList<>(Math.min(batchSize, Math.max(size.get(), 1)));
+        T row;
+        while (batch.size() < batchSize && (row = buffer.poll()) != null) {
+            batch.add(row);
+        }
+        
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        size.addAndGet(-batch.size());
+        
+        try {
+            writeOrSplit(batch);
+        } catch (Exception e) {
+            // Don't retry - buffered writes shouldn't pile up behind a failing database
+            log.error("Failed to write {} {} rows", batch.size(), name, e);
+        }
+        return batch.size();
+    }
+    
+    /**
+     * Write rows, bisecting on data errors until the rows the database refuses are isolated
+     */
+    private void writeOrSplit(List<T> rows) {
+        try {
+            write(rows);
+        } catch (DataIntegrityViolationException e) {
+            if (rows.size() == 1) {
+                log.error("Dropped a {} row rejected by the database - {}", name, e.getMessage());
+                return;
+            }
+            
+            int middle = rows.size() / 2;
+            writeOrSplit(rows.subList(0, middle));
+            writeOrSplit(rows.subList(middle, rows.size()));
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.Flyway.server.service;
+
+import com.Flyway.server.jooq.tables.records.BuildDeltasRecord;
+import com.Flyway.server.model.DeploymentPointer;
+import com.Flyway.server.model.IndexedBuild;
+import com.Flyway.server.repository.BuildDeltaRepository;
+import com.Flyway.server.storage.StoragePaths;
+import com.Flyway.server.storage.StorageService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Generates delta patches between builds.
+ * 
+ * A delta is a zip holding only the files of the new build whose content differs from the old
+ * build, plus a "delta-manifest.json" entry listing changed and deleted paths. Deltas are only
+ * kept when they are smaller than the full build.
+ * 
+ * Entries are decompressed into memory one at a time, so archives are only trusted up to
+ * configured limits: generation is abandoned as soon as an archive holds too many entries,
+ * an entry inflates beyond the per-entry limit, or all entries together beyond the total limit.
+ */
+@Slf4j
+@Service
+public class BuildDeltaService {
+    
+    static final String MANIFEST_ENTRY = "delta-manifest.json";
+    
+    private final BuildDeltaRepository buildDeltaRepository;
+    private final BuildIndexService buildIndexService;
+    private final DeploymentIndexService deploymentIndexService;
+    private final StorageService storageService;
+    
+    private final long maxEntryBytes;
+    private final long maxTotalBytes;
+    private final int maxEntries;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    public BuildDeltaService(
+            BuildDeltaRepository buildDeltaRepository,
+            BuildIndexService buildIndexService,
+            DeploymentIndexService deploymentIndexService,
+            StorageService storageService,
+            @Value("${builds.deltas.max-entry-bytes:104857600}") long maxEntryBytes,
+            @Value("${builds.deltas.max-total-bytes:1073741824}") long maxTotalBytes,
+            @Value("${builds.deltas.max-entries:100000}") int maxEntries) {
+        this.buildDeltaRepository = buildDeltaRepository;
+        this.buildIndexService = buildIndexService;
+        this.deploymentIndexService = deploymentIndexService;
+        this.storageService = storageService;
+        // A single entry is held in a byte array
+        this.maxEntryBytes = Math.min(maxEntryBytes, Integer.MAX_VALUE - 8);
+        this.maxTotalBytes = maxTotalBytes;
+        this.maxEntries = maxEntries;
+    }
+    
+    /**
+     * Generate deltas from every build currently deployed on a channel of the app to a new build
+     */
+    public void generateDeltas(IndexedBuild target) {
+        Set<String> sourceBuildIds = new HashSet<>();
+        for (DeploymentPointer pointer : deploymentIndexService.findByBundleId(target.getBundleId())) {
+            sourceBuildIds.add(pointer.getBuildId());
+        }
+        sourceBuildIds.remove(target.getId());
+        
+        for (String sourceBuildId : sourceBuildIds) {
+            IndexedBuild source = buildIndexService.findById(sourceBuildId).orElse(null);
+            
+            // Bundles built against another native version cannot be patched in place
+            if (source == null || !source.getNativeVersion().equals(target.getNativeVersion())) {
+                continue;
+            }
+            
+            try {
+                generateDelta(source, target);
+            } catch (Exception e) {
+                // Log the error but don't throw - devices can always fall back to the full build
+                log.error("Failed to generate delta from build {} to build {}", 
+                          source.getId(), target.getId(), e);
+            }
+        }
+    }
+    
+    /**
+     * Generate and store the delta patching a device from one build to another
+     */
+    private void generateDelta(IndexedBuild source, IndexedBuild target) throws IOException {
+        if (buildDeltaRepository.exists(source.getId(), target.getId())) {
+            return;
+        }
+        
+        Map<String, String> sourceHashes = hashEntries(source);
+        Path tempFile = Files.createTempFile("delta-", ".zip");
+        
+        try {
+            List<String> changed = new ArrayList<>();
+            Set<String> seen = new HashSet<>();
+            ExtractionBudget budget = new ExtractionBudget();
+            
+            try (ZipInputStream in = new ZipInputStream(storageService.load(storagePath(target)));
+                 ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(tempFile))) {
+                
+                ZipEntry entry;
+                while ((entry = in.getNextEntry()) != null) {
+                    if (entry.isDirectory()) {
+                        continue;
+                    }
+                    
+                    byte[] content = budget.read(in, entry);
+                    seen.add(entry.getName());
+                    
+                    if (!sha256(content).equals(sourceHashes.get(entry.getName()))) {
+                        out.putNextEntry(new ZipEntry(entry.getName()));
+                        out.write(content);
+                        out.closeEntry();
+                        changed.add(entry.getName());
+                    }
+                }
+                
+                if (seen.isEmpty()) {
+                    log.debug("Build {} is not a zip archive, skipping delta generation", target.getId());
+                    return;
+                }
+                
+                List<String> deleted = new ArrayList<>(sourceHashes.keySet());
+                deleted.removeAll(seen);
+                
+                Map<String, Object> manifest = new LinkedHashMap<>();
+                manifest.put("fromCommit", source.getCommitHash());
+                manifest.put("toCommit", target.getCommitHash());
+                manifest.put("changed", changed);
+                manifest.put("deleted", deleted);
+                
+                out.putNextEntry(new ZipEntry(MANIFEST_ENTRY));
+                out.write(objectMapper.writeValueAsBytes(manifest));
+                out.closeEntry();
+            }
+            
+            long deltaSize = Files.size(tempFile);
+            if (deltaSize >= Objects.requireNonNullElse(target.getBuildSize(), Long.MAX_VALUE)) {
+                log.debug("Delta from build {} to build {} is not smaller than the full build, discarding", 
+                          source.getId(), target.getId());
+                return;
+            }
+            
+            String deltaPath = StoragePaths.delta(
+                    target.getOrganizationId(), target.getBundleId(), target.getCommitHash(), source.getCommitHash());
+            
+            String deltaUrl;
+            try (InputStream deltaStream = Files.newInputStream(tempFile)) {
+                deltaUrl = storageService.store(deltaStream, deltaSize, deltaPath);
+            }
+            
+            BuildDeltasRecord record;
+            try {
+                record = buildDeltaRepository.create(
+                        target.getOrganizationId(),
+                        target.getBundleId(),
+                        source.getId(),
+                        target.getId(),
+                        deltaUrl,
+                        deltaSize
+                );
+            } catch (DuplicateKeyException e) {
+                // Another node generated the same delta concurrently
+                return;
+            }
+            
+            buildIndexService.addDelta(buildIndexService.toIndexedDelta(record, source.getCommitHash()));
+            
+            log.info("Generated delta from build {} to build {}: {} changed, {} bytes (full build {} bytes)", 
+                     source.getId(), target.getId(), changed.size(), deltaSize, target.getBuildSize());
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+    
+    /**
+     * Compute the SHA-256 of every file in a build archive
+     */
+    private Map<String, String> hashEntries(IndexedBuild build) throws IOException {
+        Map<String, String> hashes = new HashMap<>();
+        ExtractionBudget budget = new ExtractionBudget();
+        
+        try (ZipInputStream in = new ZipInputStream(storageService.load(storagePath(build)))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                if (!entry.isDirectory()) {
+                    hashes.put(entry.getName(), sha256(budget.read(in, entry)));
+                }
+            }
+        }
+        
+        return hashes;
+    }
+    
+    private String storagePath(IndexedBuild build) {
+        return StoragePaths.fromUrl(
+                build.getBuildUrl(), build.getOrganizationId(), build.getBundleId(), build.getCommitHash());
+    }
+    
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    /**
+     * Limits on what one pass over an archive may decompress. The declared entry sizes are not
+     * trusted: the limits are enforced on the bytes actually inflated.
+     */
+    private final class ExtractionBudget {
+        
+        private long remainingBytes = maxTotalBytes;
+        private int remainingEntries = maxEntries;
+        
+        /**
+         * Read the current entry in full, failing once it or the archive exceeds the limits
+         */
+        byte[] read(ZipInputStream in, ZipEntry entry) throws IOException {
+            if (--remainingEntries < 0) {
+                throw new IOException("Archive has more than " + maxEntries + " entries");
+            }
+            
+            // readNBytes grows its buffer with the data actually read, so one byte past the limit is enough to detect it
+            byte[] content = in.readNBytes((int) Math.min(maxEntryBytes, remainingBytes) + 1);
+            if (content.length > maxEntryBytes) {
+                throw new IOException("Entry " + entry.getName() + " inflates beyond " + maxEntryBytes + " bytes");
+            }
+            if (content.length > remainingBytes) {
+                throw new IOException("Archive inflates beyond " + maxTotalBytes + " bytes");
+            }
+            
+            remainingBytes -= content.length;
+            return content;
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.Flyway.server.service;
+
+import com.Flyway.server.event.BuildUploadedEvent;
+import com.Flyway.server.jooq.tables.records.AppBuildsRecord;
+import com.Flyway.server.jooq.tables.records.BuildDeltasRecord;
+import com.Flyway.server.model.IndexedBuild;
+import com.Flyway.server.model.IndexedDelta;
+import com.Flyway.server.repository.AppBuildRepository;
+import com.Flyway.server.repository.BuildDeltaRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of builds used to answer device update checks without touching the database.
+ * 
+ * Builds are grouped by bundle ID and native version, newest first. The index is rebuilt from
+ * app_builds at startup and kept up to date from build upload/delete events on this node. Builds
+ * and deltas created on other nodes are picked up by a periodic sync on created_at. A slower
+ * periodic comparison of all build IDs drops builds deleted elsewhere and adds builds the sync
+ * missed, such as those committed long after their created_at. Reads are lock-free; writes are rare
+ * and serialized, replacing each per-version list copy-on-write.
+ * 
+ * Delta patches are indexed by target build and the commit hash they patch from, so the update
+ * check can offer a delta to a device that reports its current commit.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BuildIndexService {
+    
+    private static final Comparator<IndexedBuild> NEWEST_FIRST =
+            Comparator.comparing(IndexedBuild::getCreatedAt).reversed();
+    
+    // Rows committed slightly before the previous sync may still become visible afterwards
+    private static final long SYNC_OVERLAP_SECONDS = 5;
+    
+    private final AppBuildRepository appBuildRepository;
+    private final BuildDeltaRepository buildDeltaRepository;
+    
+    // bundleId -> nativeVersion -> builds (newest first, immutable)
+    private final Map<String, Map<String, List<IndexedBuild>>> buildsByBundle = new ConcurrentHashMap<>();
+    private final Map<String, IndexedBuild> buildsById = new ConcurrentHashMap<>();
+    
+    // toBuildId -> fromCommitHash -> delta
+    private final Map<String, Map<String, IndexedDelta>> deltasByTarget = new ConcurrentHashMap<>();
+    
+    private LocalDateTime lastSyncedAt = LocalDateTime.now();
+    
+    /**
+     * Rebuild the whole index from the database
+     */
+    @PostConstruct
+    public synchronized void rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        buildsByBundle.clear();
+        buildsById.clear();
+        deltasByTarget.clear();
+        
+        List<AppBuildsRecord> builds = appBuildRepository.findAll();
+        for (AppBuildsRecord record : builds) {
+            add(toIndexedBuild(record));
+        }
+        
+        List<BuildDeltasRecord> deltas = buildDeltaRepository.findAll();
+        for (BuildDeltasRecord record : deltas) {
+            IndexedBuild fromBuild = buildsById.get(record.getFromBuildId());
+            if (fromBuild != null) {
+                addDelta(toIndexedDelta(record, fromBuild.getCommitHash()));
+            }
+        }
+        
+        lastSyncedAt = startedAt;
+        
+        log.info("Build index rebuilt with {} builds across {} applications and {} deltas", 
+                 buildsById.size(), buildsByBundle.size(), deltas.size());
+    }
+    
+    /**
+     * Pick up builds and deltas created on other nodes since the last sync
+     */
+    @Scheduled(fixedDelayString = "${builds.index.sync-interval-ms:1000}")
+    public synchronized void sync() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime since = lastSyncedAt.minusSeconds(SYNC_OVERLAP_SECONDS);
+        
+        for (AppBuildsRecord record : appBuildRepository.findCreatedSince(since)) {
+            if (!buildsById.containsKey(record.getId())) {
+                add(toIndexedBuild(record));
+            }
+        }
+        
+        for (BuildDeltasRecord record : buildDeltaRepository.findCreatedSince(since)) {
+            IndexedBuild fromBuild = buildsById.get(record.getFromBuildId());
+            if (fromBuild != null && buildsById.containsKey(record.getToBuildId())) {
+                addDelta(toIndexedDelta(record, fromBuild.getCommitHash()));
+            }
+        }
+        
+        lastSyncedAt = startedAt;
+    }
+    
+    /**
+     * Compare the indexed builds with the stored ones: drop builds deleted on other nodes
+     * (including cascading deletes) and add builds the created_at sync missed
+     */
+    @Scheduled(fixedDelayString = "${builds.index.full-reload-interval-ms:60000}",
+               initialDelayString = "${builds.index.full-reload-interval-ms:60000}")
+    public synchronized void reconcile() {
+        Set<String> existing = appBuildRepository.findAllIds();
+        
+        List<String> deleted = buildsById.keySet().stream()
+                .filter(buildId -> !existing.contains(buildId))
+                .toList();
+        deleted.forEach(this::remove);
+        
+        List<String> missing = existing.stream()
+                .filter(buildId -> !buildsById.containsKey(buildId))
+                .toList();
+        if (!missing.isEmpty()) {
+            appBuildRepository.findByIds(missing).forEach(record -> add(toIndexedBuild(record)));
+            for (BuildDeltasRecord record : buildDeltaRepository.findByToBuildIds(missing)) {
+                IndexedBuild fromBuild = buildsById.get(record.getFromBuildId());
+                if (fromBuild != null) {
+                    addDelta(toIndexedDelta(record, fromBuild.getCommitHash()));
+                }
+            }
+        }
+        
+        if (!deleted.isEmpty() || !missing.isEmpty()) {
+            log.debug("Reconciled update index: removed {} deleted builds, added {} missed builds",
+                      deleted.size(), missing.size());
+        }
+    }
+    
+    /**
+     * Get the newest build for a bundle and native version
+     */
+    public Optional<IndexedBuild> findLatest(String bundleId, String nativeVersion) {
+        Map<String, List<IndexedBuild>> byVersion = buildsByBundle.get(bundleId);
+        if (byVersion == null) {
+            return Optional.empty();
+        }
+        
+        List<IndexedBuild> builds = byVersion.get(nativeVersion);
+        if (builds == null || builds.isEmpty()) {
+            return Optional.empty();
+        }
+        
+        return Optional.of(builds.get(0));
+    }
+    
+    /**
+     * Get a build by its UUID
+     */
+    public Optional<IndexedBuild> findById(String buildId) {
+        return Optional.ofNullable(buildsById.get(buildId));
+    }
+    
+    /**
+     * Get the delta patching a device on the given commit to a build
+     */
+    public Optional<IndexedDelta> findDelta(String toBuildId, String fromCommitHash) {
+        if (fromCommitHash == null) {
+            return Optional.empty();
+        }
+        
+        Map<String, IndexedDelta> byFromCommit = deltasByTarget.get(toBuildId);
+        if (byFromCommit == null) {
+            return Optional.empty();
+        }
+        
+        return Optional.ofNullable(byFromCommit.get(fromCommitHash));
+    }
+    
+    /**
+     * Add a delta to the index
+     */
+    public void addDelta(IndexedDelta delta) {
+        deltasByTarget.computeIfAbsent(delta.getToBuildId(), key -> new ConcurrentHashMap<>())
+                .put(delta.getFromCommitHash(), delta);
+    }
+    
+    /**
+     * Add a build to the index (replaces any entry with the same ID)
+     */
+    public synchronized void add(IndexedBuild build) {
+        IndexedBuild previous = buildsById.put(build.getId(), build);
+        if (previous != null) {
+            removeFromVersionList(previous);
+        }
+        
+        Map<String, List<IndexedBuild>> byVersion = 
+                buildsByBundle.computeIfAbsent(build.getBundleId(), key -> new ConcurrentHashMap<>());
+        
+        List<IndexedBuild> updated = new ArrayList<>(byVersion.getOrDefault(build.getNativeVersion(), List.of()));
+        updated.add(build);
+        updated.sort(NEWEST_FIRST);
+        byVersion.put(build.getNativeVersion(), List.copyOf(updated));
+    }
+    
+    /**
+     * Remove a build from the index
+     */
+    public synchronized void remove(String buildId) {
+        IndexedBuild removed = buildsById.remove(buildId);
+        if (removed != null) {
+            removeFromVersionList(removed);
+            removeDeltas(removed);
+        }
+    }
+    
+    /**
+     * Remove every build of an application from the index
+     */
+    public synchronized void removeBundle(String bundleId) {
+        Map<String, List<IndexedBuild>> byVersion = buildsByBundle.remove(bundleId);
+        if (byVersion != null) {
+            byVersion.values().forEach(builds -> builds.forEach(build -> {
+                buildsById.remove(build.getId());
+                deltasByTarget.remove(build.getId());
+            }));
+        }
+    }
+    
+    /**
+     * Map database record to index entry
+     */
+    public IndexedBuild toIndexedBuild(AppBuildsRecord record) {
+        return IndexedBuild.builder()
+                .id(record.getId())
+                .organizationId(record.getOrganizationId())
+                .bundleId(record.getBundleId())
+                .commitHash(record.getCommitHash())
+                .nativeVersion(record.getNativeVersion())
+                .buildUrl(record.getBuildUrl())
+                .buildSize(record.getBuildSize())
+                .createdAt(record.getCreatedAt())
+                .build();
+    }
+    
+    /**
+     * Map build upload event to index entry
+     */
+    public IndexedBuild toIndexedBuild(BuildUploadedEvent event) {
+        return IndexedBuild.builder()
+                .id(event.getBuildId())
+                .organizationId(event.getOrganizationId())
+                .bundleId(event.getBundleId())
+                .commitHash(event.getCommitHash())
+                .nativeVersion(event.getNativeVersion())
+                .buildUrl(event.getBuildUrl())
+                .buildSize(event.getBuildSize())
+                .createdAt(LocalDateTime.ofInstant(event.getTimestamp(), ZoneId.systemDefault()))
+                .build();
+    }
+    
+    /**
+     * Map database record to delta index entry
+     */
+    public IndexedDelta toIndexedDelta(BuildDeltasRecord record, String fromCommitHash) {
+        return IndexedDelta.builder()
+                .id(record.getId())
+                .fromBuildId(record.getFromBuildId())
+                .fromCommitHash(fromCommitHash)
+                .toBuildId(record.getToBuildId())
+                .deltaUrl(record.getDeltaUrl())
+                .deltaSize(record.getDeltaSize())
+                .build();
+    }
+    
+    /**
+     * Drop deltas patching to or from a removed build (rows are removed by ON DELETE CASCADE)
+     */
+    private void removeDeltas(IndexedBuild build) {
+        deltasByTarget.remove(build.getId());
+        deltasByTarget.values().forEach(byFromCommit -> 
+                byFromCommit.values().removeIf(delta -> delta.getFromBuildId().equals(build.getId())));
+    }
+    
+    private void removeFromVersionList(IndexedBuild build) {
+        Map<String, List<IndexedBuild>> byVersion = buildsByBundle.get(build.getBundleId());
+        if (byVersion == null) {
+            return;
+        }
+        
+        List<IndexedBuild> updated = new ArrayList<>(byVersion.getOrDefault(build.getNativeVersion(), List.of()));
+        updated.removeIf(existing -> existing.getId().equals(build.getId()));
+        
+        if (updated.isEmpty()) {
+            byVersion.remove(build.getNativeVersion());
+        } else {
+            byVersion.put(build.getNativeVersion(), List.copyOf(updated));
+        }
+        
+        if (byVersion.isEmpty()) {
+            buildsByBundle.remove(build.getBundleId());
+        }
+    }
+}
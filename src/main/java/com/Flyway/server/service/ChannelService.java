@@ -8,13 +8,17 @@ import com.Flyway.server.exception.ForbiddenException;
 import com.Flyway.server.exception.ResourceNotFoundException;
 import com.Flyway.server.jooq.tables.records.ChannelsRecord;
 import com.Flyway.server.repository.ChannelRepository;
+import com.Flyway.server.repository.PagedRecords;
+import com.Flyway.server.util.PageCursor;
+import com.Flyway.server.util.PageTotal;
+import com.Flyway.server.util.UuidUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.ZoneOffset;
 import java.util.List;
-import java.util.UUID;
+import java.util.function.IntSupplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,15 +26,21 @@ import java.util.stream.Collectors;
 public class ChannelService {
     
     private final ChannelRepository channelRepository;
+    private final DeploymentIndexService deploymentIndexService;
+    private final PageTotalCache pageTotalCache;
     
     /**
      * Get channels with pagination and sorting
+     * 
+     * With a cursor the page number is ignored and totals are not counted.
      */
     public PaginatedChannelResponse getChannelsPaginated(
             String organizationId,
             int page,
             int size,
             String sort,
+            String cursor,
+            String total,
             String authenticatedUserOrgId) {
         
         // Validate that the user has access to this organization
@@ -43,22 +53,43 @@ public class ChannelService {
             throw new BadRequestException("Sort parameter must be either 'asc' or 'desc'");
         }
         
-        int offset = page * size;
+        PageTotal totalMode = PageTotal.parse(total);
+        PageCursor after = PageCursor.decode(cursor);
+        int offset = after != null ? 0 : page * size;
         
-        List<ChannelsRecord> channels = channelRepository.findByOrganizationIdPaginated(
-                organizationId, size, offset, sort);
-        int totalCount = channelRepository.countByOrganizationId(organizationId);
+        // One extra row tells whether there is a next page; an exact total rides along in the same query
+        PagedRecords<ChannelsRecord> result = channelRepository.findByOrganizationIdPaginated(
+                organizationId, after, size + 1, offset, sort, after == null && totalMode == PageTotal.EXACT);
+        List<ChannelsRecord> channels = result.records();
+        String nextCursor = PageCursor.nextPage(channels, size, ChannelsRecord::getCreatedAt, ChannelsRecord::getId);
         
         List<ChannelResponse> channelResponses = channels.stream()
                 .map(this::mapToChannelResponse)
                 .collect(Collectors.toList());
         
-        return new PaginatedChannelResponse()
+        PaginatedChannelResponse response = new PaginatedChannelResponse()
                 .data(channelResponses)
-                .page(page)
                 .size(size)
-                .totalElements(totalCount)
-                .totalPages((int) Math.ceil((double) totalCount / size));
+                .hasNext(nextCursor != null)
+                .nextCursor(nextCursor);
+        
+        // Totals are only reported for numbered pages
+        if (after == null) {
+            response.page(page);
+            
+            IntSupplier counter = () -> channelRepository.countByOrganizationId(organizationId);
+            Integer totalCount = switch (totalMode) {
+                case EXACT -> result.totalOrCount(offset, counter);
+                case ESTIMATE -> pageTotalCache.get(PageTotalCache.key("channels", organizationId), counter);
+                case NONE -> null;
+            };
+            if (totalCount != null) {
+                response.totalElements(totalCount)
+                        .totalPages((int) Math.ceil((double) totalCount / size));
+            }
+        }
+        
+        return response;
     }
     
     /**
@@ -87,7 +118,7 @@ public class ChannelService {
         }
         
         // Create the channel record
-        String id = UUID.randomUUID().toString();
+        String id = UuidUtil.timeOrderedId();
         ChannelsRecord record = channelRepository.create(
                 id,
                 name,
@@ -136,6 +167,11 @@ public class ChannelService {
         // Update the channel
         channelRepository.update(channelId, updatedName, updatedDescription);
         
+        // Devices address channels by name, so re-key any in-memory deployment pointers
+        if (!updatedName.equals(channel.getName())) {
+            deploymentIndexService.renameChannel(channelId, updatedName);
+        }
+        
         // Fetch and return the updated channel
         ChannelsRecord updatedChannel = channelRepository.findById(channelId)
                 .orElseThrow(() -> new ResourceNotFoundException("Channel not found"));
@@ -162,6 +198,9 @@ public class ChannelService {
         if (channelRepository.delete(channelId) == 0) {
             throw new ResourceNotFoundException("Channel not found");
         }
+        
+        // Deployments are removed by ON DELETE CASCADE, drop their in-memory pointers too
+        deploymentIndexService.removeChannel(channelId);
     }
     
     /**
@@ -0,0 +1,220 @@
+package com.Flyway.server.service;
+
+import com.Flyway.server.exception.ConflictException;
+import com.Flyway.server.exception.ResourceNotFoundException;
+import com.Flyway.server.model.DeploymentPointer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Watches how devices fare with freshly deployed builds and rolls a channel back on its own
+ * when too many of them roll the build back.
+ *
+ * Device telemetry feeds "success" and "rollback" events into per-deployment sliding windows
+ * of one-minute slots. Each slot holds two LongAdders, so concurrent reports never contend on
+ * a lock or hit the database. A periodic check sums the window and, once a deployment has seen
+ * enough samples with a failure ratio at or above the threshold, points its channel back at the
+ * previous build through DeploymentService.
+ *
+ * Each device counts once per deployment within the window, so repeating a report does not add
+ * samples. Telemetry is unauthenticated, though, and device IDs are whatever the client sends:
+ * anyone who knows a bundle ID and build ID can still report made-up devices. Auto-rollback is
+ * therefore disabled by default and meant for deployments where telemetry reaches the server
+ * only from trusted clients.
+ *
+ * Counts are kept per node and only cover the reports that node received. Only deployments with
+ * a previous build to fall back to are watched, and a window starts over whenever a channel
+ * moves to another build.
+ */
+@Slf4j
+@Service
+public class DeploymentHealthMonitor {
+    
+    private final DeploymentIndexService deploymentIndexService;
+    private final DeploymentService deploymentService;
+    private final boolean enabled;
+    private final int windowMinutes;
+    private final long minSamples;
+    private final double failureThreshold;
+    private final int maxDevices;
+    
+    // deploymentId -> counters for the build the deployment served when they were started
+    private final Map<String, Health> trackers = new ConcurrentHashMap<>();
+    
+    public DeploymentHealthMonitor(
+            DeploymentIndexService deploymentIndexService,
+            DeploymentService deploymentService,
+            @Value("${deployments.auto-rollback.enabled:false}") boolean enabled,
+            @Value("${deployments.auto-rollback.window-minutes:10}") int windowMinutes,
+            @Value("${deployments.auto-rollback.min-samples:200}") long minSamples,
+            @Value("${deployments.auto-rollback.failure-threshold:0.2}") double failureThreshold,
+            @Value("${deployments.auto-rollback.max-devices:20000}") int maxDevices) {
+        this.deploymentIndexService = deploymentIndexService;
+        this.deploymentService = deploymentService;
+        this.enabled = enabled;
+        this.windowMinutes = Math.max(1, windowMinutes);
+        this.minSamples = Math.max(1, minSamples);
+        this.failureThreshold = failureThreshold;
+        this.maxDevices = Math.max(1, maxDevices);
+    }
+    
+    /**
+     * Count a device outcome for every deployment of the application currently serving the build
+     *
+     * @param failure true if the device rolled the build back, false if it started successfully
+     */
+    public void record(String bundleId, String buildId, String deviceId, boolean failure) {
+        record(bundleId, buildId, deviceId, failure, currentMinute());
+    }
+    
+    void record(String bundleId, String buildId, String deviceId, boolean failure, long minute) {
+        if (!enabled) {
+            return;
+        }
+        
+        for (DeploymentPointer pointer : deploymentIndexService.findByBundleId(bundleId)) {
+            if (!buildId.equals(pointer.getBuildId()) || pointer.getPreviousBuildId() == null) {
+                continue;
+            }
+            
+            Health health = trackers.get(pointer.getDeploymentId());
+            if (health == null || !health.pointer.getBuildId().equals(buildId)) {
+                health = trackers.compute(pointer.getDeploymentId(), (id, existing) ->
+                        existing != null && existing.pointer.getBuildId().equals(buildId)
+                                ? existing
+                                : new Health(pointer, windowMinutes, maxDevices));
+            }
+            health.record(deviceId, minute, failure);
+        }
+    }
+    
+    /**
+     * Roll back every watched deployment whose window crossed the failure threshold,
+     * and forget the ones that moved to another build or went quiet
+     */
+    @Scheduled(fixedDelayString = "${deployments.auto-rollback.check-interval-ms:5000}")
+    public void evaluate() {
+        evaluate(currentMinute());
+    }
+    
+    void evaluate(long minute) {
+        for (Health health : trackers.values()) {
+            DeploymentPointer pointer = health.pointer;
+            
+            boolean stillServed = deploymentIndexService.find(pointer.getBundleId(), pointer.getChannelName())
+                    .filter(current -> current.getDeploymentId().equals(pointer.getDeploymentId()))
+                    .filter(current -> current.getBuildId().equals(pointer.getBuildId()))
+                    .isPresent();
+            long successes = health.sum(minute, false);
+            long failures = health.sum(minute, true);
+            
+            if (!stillServed || successes + failures == 0) {
+                trackers.remove(pointer.getDeploymentId(), health);
+                continue;
+            }
+            health.forgetDevicesBefore(minute - windowMinutes + 1);
+            
+            if (successes + failures < minSamples || (double) failures / (successes + failures) < failureThreshold) {
+                continue;
+            }
+            
+            try {
+                deploymentService.rollbackUnhealthy(
+                        pointer.getDeploymentId(), pointer.getBuildId(), successes, failures);
+                log.warn("Automatically rolled back {}/{} from build {}: {} of {} devices rolled back",
+                         pointer.getBundleId(), pointer.getChannelName(), pointer.getBuildId(),
+                         failures, successes + failures);
+            } catch (ConflictException | ResourceNotFoundException e) {
+                // Another node or a user already moved the channel
+                log.debug("Skipped automatic rollback of deployment {} - {}", pointer.getDeploymentId(), e.getMessage());
+            } catch (Exception e) {
+                log.error("Failed to automatically roll back deployment {}", pointer.getDeploymentId(), e);
+                continue;
+            }
+            trackers.remove(pointer.getDeploymentId(), health);
+        }
+    }
+    
+    private static long currentMinute() {
+        return TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis());
+    }
+    
+    /**
+     * Sliding window of one deployment serving one build: a ring of per-minute slots, plus the
+     * devices already counted in the window
+     */
+    private static final class Health {
+        
+        private final DeploymentPointer pointer;
+        private final Slot[] slots;
+        private final int maxDevices;
+        // deviceId -> minute the device was counted in
+        private final Map<String, Long> devices = new ConcurrentHashMap<>();
+        
+        Health(DeploymentPointer pointer, int windowMinutes, int maxDevices) {
+            this.pointer = pointer;
+            this.maxDevices = maxDevices;
+            this.slots = new Slot[windowMinutes];
+            for (int i = 0; i < windowMinutes; i++) {
+                slots[i] = new Slot();
+            }
+        }
+        
+        void record(String deviceId, long minute, boolean failure) {
+            // Once enough distinct devices reported, the ratio is settled; new ones wait for a free place
+            if (devices.size() >= maxDevices || devices.putIfAbsent(deviceId, minute) != null) {
+                return;
+            }
+            
+            Slot slot = slots[(int) (minute % slots.length)];
+            if (slot.minute != minute) {
+                slot.advance(minute);
+            }
+            (failure ? slot.failures : slot.successes).increment();
+        }
+        
+        long sum(long currentMinute, boolean failures) {
+            long total = 0;
+            for (Slot slot : slots) {
+                if (currentMinute - slot.minute < slots.length) {
+                    total += (failures ? slot.failures : slot.successes).sum();
+                }
+            }
+            return total;
+        }
+        
+        /**
+         * Let devices whose report left the window be counted again
+         */
+        void forgetDevicesBefore(long oldestMinute) {
+            devices.values().removeIf(minute -> minute < oldestMinute);
+        }
+    }
+    
+    private static final class Slot {
+        
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private volatile long minute = -1;
+        
+        /**
+         * Reuse the slot for a new minute. Only the first reporter of the minute clears it;
+         * the minute is published last so later reporters skip straight to incrementing.
+         */
+        synchronized void advance(long newMinute) {
+            if (minute >= newMinute) {
+                return;
+            }
+            successes.reset();
+            failures.reset();
+            minute = newMinute;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.Flyway.server.service;
+
+import com.Flyway.server.jooq.tables.records.DeploymentsRecord;
+import com.Flyway.server.model.DeploymentPointer;
+import com.Flyway.server.repository.DeploymentRepository;
+import com.Flyway.server.util.RolloutUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.Record;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.Flyway.server.jooq.tables.Channels.CHANNELS;
+import static com.Flyway.server.jooq.tables.Deployments.DEPLOYMENTS;
+
+/**
+ * Copy-on-write, in-memory view of the deployment pointers, keyed by bundle ID and channel name.
+ * 
+ * Update checks read the current snapshot without taking locks. Writers (local promotions,
+ * the periodic sync and the full reload) build a new snapshot and publish it with a single
+ * volatile write, so a rollback becomes visible to every reader at once. Other nodes pick up
+ * changes through the sync job, which issues one small query per interval regardless of
+ * device traffic.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeploymentIndexService {
+    
+    // Rows committed slightly before the previous sync may still become visible afterwards
+    private static final long SYNC_OVERLAP_SECONDS = 5;
+    
+    private final DeploymentRepository deploymentRepository;
+    
+    // bundleId -> channelName -> pointer (immutable maps, replaced as a whole)
+    private volatile Map<String, Map<String, DeploymentPointer>> pointers = Map.of();
+    
+    private LocalDateTime lastSyncedAt = LocalDateTime.now();
+    
+    /**
+     * Get the deployment pointer for an application and channel
+     */
+    public Optional<DeploymentPointer> find(String bundleId, String channelName) {
+        Map<String, DeploymentPointer> byChannel = pointers.get(bundleId);
+        if (byChannel == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(byChannel.get(channelName));
+    }
+    
+    /**
+     * Get all deployment pointers of an application
+     */
+    public Collection<DeploymentPointer> findByBundleId(String bundleId) {
+        return pointers.getOrDefault(bundleId, Map.of()).values();
+    }
+    
+    /**
+     * Reload every pointer from the database. Also drops pointers removed by cascading deletes.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${deployments.full-reload-interval-ms:60000}",
+               initialDelayString = "${deployments.full-reload-interval-ms:60000}")
+    public synchronized void rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        Map<String, Map<String, DeploymentPointer>> current = pointers;
+        Map<String, Map<String, DeploymentPointer>> next = new HashMap<>();
+        
+        for (Record record : deploymentRepository.findAllWithChannelName()) {
+            DeploymentPointer loaded = toDeploymentPointer(record);
+            
+            // Never regress a pointer that was updated locally while the query was running
+            DeploymentPointer existing = current.getOrDefault(loaded.getBundleId(), Map.of())
+                    .get(loaded.getChannelName());
+            DeploymentPointer winner = existing != null
+                    && existing.getDeploymentId().equals(loaded.getDeploymentId())
+                    && existing.getVersion() > loaded.getVersion() ? existing : loaded;
+            
+            next.computeIfAbsent(winner.getBundleId(), key -> new HashMap<>())
+                    .put(winner.getChannelName(), winner);
+        }
+        
+        publish(next);
+        lastSyncedAt = startedAt;
+        
+        log.debug("Deployment index rebuilt with {} applications", next.size());
+    }
+    
+    /**
+     * Pick up pointers changed by other nodes since the last sync
+     */
+    @Scheduled(fixedDelayString = "${deployments.sync-interval-ms:1000}")
+    public synchronized void sync() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<DeploymentPointer> changed = deploymentRepository
+                .findUpdatedSinceWithChannelName(lastSyncedAt.minusSeconds(SYNC_OVERLAP_SECONDS))
+                .map(this::toDeploymentPointer);
+        
+        changed.forEach(this::apply);
+        lastSyncedAt = startedAt;
+    }
+    
+    /**
+     * Apply a pointer change. Older versions of the same deployment are ignored.
+     */
+    public synchronized void apply(DeploymentPointer pointer) {
+        Map<String, DeploymentPointer> byChannel = pointers.getOrDefault(pointer.getBundleId(), Map.of());
+        
+        DeploymentPointer existing = byChannel.get(pointer.getChannelName());
+        if (existing != null 
+                && existing.getDeploymentId().equals(pointer.getDeploymentId())
+                && existing.getVersion() >= pointer.getVersion()) {
+            return;
+        }
+        
+        Map<String, DeploymentPointer> updatedChannels = new HashMap<>(byChannel);
+        // The channel may have been renamed since the pointer was indexed
+        updatedChannels.values().removeIf(p -> p.getDeploymentId().equals(pointer.getDeploymentId()));
+        updatedChannels.put(pointer.getChannelName(), pointer);
+        
+        Map<String, Map<String, DeploymentPointer>> next = new HashMap<>(pointers);
+        next.put(pointer.getBundleId(), updatedChannels);
+        publish(next);
+    }
+    
+    /**
+     * Re-key pointers after a channel was renamed
+     */
+    public synchronized void renameChannel(String channelId, String newName) {
+        Map<String, Map<String, DeploymentPointer>> next = new HashMap<>();
+        
+        pointers.forEach((bundleId, byChannel) -> {
+            Map<String, DeploymentPointer> updatedChannels = new HashMap<>();
+            byChannel.values().forEach(pointer -> {
+                DeploymentPointer renamed = pointer.getChannelId().equals(channelId)
+                        ? pointer.toBuilder().channelName(newName).build()
+                        : pointer;
+                updatedChannels.put(renamed.getChannelName(), renamed);
+            });
+            next.put(bundleId, updatedChannels);
+        });
+        
+        publish(next);
+    }
+    
+    /**
+     * Drop pointers of a deleted channel
+     */
+    public synchronized void removeChannel(String channelId) {
+        Map<String, Map<String, DeploymentPointer>> next = new HashMap<>();
+        
+        pointers.forEach((bundleId, byChannel) -> {
+            Map<String, DeploymentPointer> updatedChannels = new HashMap<>(byChannel);
+            updatedChannels.values().removeIf(pointer -> pointer.getChannelId().equals(channelId));
+            if (!updatedChannels.isEmpty()) {
+                next.put(bundleId, updatedChannels);
+            }
+        });
+        
+        publish(next);
+    }
+    
+    /**
+     * Map a deployment record to an in-memory pointer
+     */
+    public DeploymentPointer toDeploymentPointer(DeploymentsRecord record, String channelName) {
+        return DeploymentPointer.builder()
+                .deploymentId(record.getId())
+                .organizationId(record.getOrganizationId())
+                .bundleId(record.getBundleId())
+                .channelId(record.getChannelId())
+                .channelName(channelName)
+                .buildId(record.getBuildId())
+                .previousBuildId(record.getPreviousBuildId())
+                .version(record.getVersion())
+                .rolloutBasisPoints(record.getRolloutBasisPoints())
+                .rolloutSeed(RolloutUtil.seed(record.getId(), record.getBuildId()))
+                .build();
+    }
+    
+    private DeploymentPointer toDeploymentPointer(Record record) {
+        return toDeploymentPointer(record.into(DEPLOYMENTS), record.get(CHANNELS.NAME));
+    }
+    
+    /**
+     * Freeze the new snapshot and make it visible to readers with a single volatile write
+     */
+    private void publish(Map<String, Map<String, DeploymentPointer>> next) {
+        Map<String, Map<String, DeploymentPointer>> frozen = new HashMap<>();
+        next.forEach((bundleId, byChannel) -> frozen.put(bundleId, Map.copyOf(byChannel)));
+        pointers = Map.copyOf(frozen);
+    }
+}
@@ -0,0 +1,373 @@
+package com.Flyway.server.service;
+
+import com.Flyway.server.dto.generated.DeploymentResponse;
+import com.Flyway.server.event.DeploymentAutoRolledBackEvent;
+import com.Flyway.server.event.DeploymentCreatedEvent;
+import com.Flyway.server.event.DeploymentRolledBackEvent;
+import com.Flyway.server.event.DeploymentRolloutUpdatedEvent;
+import com.Flyway.server.exception.BadRequestException;
+import com.Flyway.server.exception.ConflictException;
+import com.Flyway.server.exception.ForbiddenException;
+import com.Flyway.server.exception.ResourceNotFoundException;
+import com.Flyway.server.jooq.tables.records.AppBuildsRecord;
+import com.Flyway.server.jooq.tables.records.ChannelsRecord;
+import com.Flyway.server.jooq.tables.records.DeploymentsRecord;
+import com.Flyway.server.model.DeploymentPointer;
+import com.Flyway.server.repository.AppBuildRepository;
+import com.Flyway.server.repository.ChannelRepository;
+import com.Flyway.server.repository.DeploymentRepository;
+import com.Flyway.server.repository.MobileApplicationRepository;
+import com.Flyway.server.util.RolloutUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class DeploymentService {
+    
+    private final DeploymentRepository deploymentRepository;
+    private final ChannelRepository channelRepository;
+    private final AppBuildRepository appBuildRepository;
+    private final MobileApplicationRepository mobileApplicationRepository;
+    private final DeploymentIndexService deploymentIndexService;
+    private final EventOutboxService eventOutboxService;
+    
+    /**
+     * Get all deployment pointers of an application
+     */
+    public List<DeploymentResponse> getDeployments(
+            String organizationId,
+            String bundleId,
+            String authenticatedUserOrgId) {
+        
+        // Validate that the user has access to this organization
+        if (!organizationId.equals(authenticatedUserOrgId)) {
+            throw new ForbiddenException("You do not have access to this organization");
+        }
+        
+        verifyAppBelongsToOrganization(bundleId, organizationId);
+        
+        return deploymentRepository.findByOrganizationAndBundleId(organizationId, bundleId).stream()
+                .map(this::mapToDeploymentResponse)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Point a channel at a build. The pointer is swapped with a single compare-and-set update.
+     *
+     * @param rolloutPercentage Share of the channel's devices that get the build; null for all of them
+     */
+    @Transactional
+    public DeploymentResponse promote(
+            String organizationId,
+            String bundleId,
+            String channelId,
+            String buildId,
+            Double rolloutPercentage,
+            String userId,
+            String authenticatedUserOrgId) {
+        
+        // Validate that the user has access to this organization
+        if (!organizationId.equals(authenticatedUserOrgId)) {
+            throw new ForbiddenException("You do not have access to this organization");
+        }
+        
+        if (buildId == null || buildId.isBlank()) {
+            throw new BadRequestException("Build ID is required");
+        }
+        
+        int rolloutBasisPoints = rolloutPercentage != null ? toRolloutBasisPoints(rolloutPercentage) : RolloutUtil.BUCKETS;
+        
+        verifyAppBelongsToOrganization(bundleId, organizationId);
+        ChannelsRecord channel = findChannel(channelId, organizationId);
+        
+        AppBuildsRecord build = appBuildRepository.findById(buildId)
+                .orElseThrow(() -> new ResourceNotFoundException("Build", "id", buildId));
+        
+        if (!build.getBundleId().equals(bundleId) || !build.getOrganizationId().equals(organizationId)) {
+            throw new BadRequestException("Build does not belong to this application");
+        }
+        
+        Optional<DeploymentsRecord> existing = deploymentRepository.findByBundleIdAndChannelId(bundleId, channelId);
+        
+        DeploymentsRecord deployment;
+        if (existing.isEmpty()) {
+            try {
+                deployment = deploymentRepository.create(
+                        organizationId, bundleId, channelId, buildId, rolloutBasisPoints, userId);
+            } catch (DuplicateKeyException e) {
+                throw new ConflictException("The channel was deployed concurrently. Please retry.");
+            }
+        } else {
+            DeploymentsRecord current = existing.get();
+            if (current.getBuildId().equals(buildId)) {
+                throw new ConflictException("This build is already deployed to the channel");
+            }
+            // A build still rolling out never reached every device, so it is no fallback
+            String fallbackBuildId = current.getRolloutBasisPoints() < RolloutUtil.BUCKETS
+                    ? current.getPreviousBuildId()
+                    : current.getBuildId();
+            deployment = swapPointer(current, buildId, fallbackBuildId, rolloutBasisPoints, userId);
+        }
+        
+        publishPointerAfterCommit(deployment, channel.getName());
+        
+        eventOutboxService.publish(new DeploymentCreatedEvent(
+                deployment.getId(),
+                bundleId,
+                channel.getName(),
+                deployment.getBuildId(),
+                deployment.getPreviousBuildId(),
+                userId,
+                organizationId
+        ));
+        
+        return mapToDeploymentResponse(deployment);
+    }
+    
+    /**
+     * Point a channel back at the build it was serving before the last promotion
+     */
+    @Transactional
+    public DeploymentResponse rollback(
+            String organizationId,
+            String bundleId,
+            String channelId,
+            String userId,
+            String authenticatedUserOrgId) {
+        
+        // Validate that the user has access to this organization
+        if (!organizationId.equals(authenticatedUserOrgId)) {
+            throw new ForbiddenException("You do not have access to this organization");
+        }
+        
+        verifyAppBelongsToOrganization(bundleId, organizationId);
+        ChannelsRecord channel = findChannel(channelId, organizationId);
+        
+        DeploymentsRecord current = deploymentRepository.findByBundleIdAndChannelId(bundleId, channelId)
+                .orElseThrow(() -> new ResourceNotFoundException("Deployment not found for this channel"));
+        
+        if (current.getPreviousBuildId() == null) {
+            throw new ConflictException("There is no previous build to roll back to");
+        }
+        
+        String rolledBackBuildId = current.getBuildId();
+        
+        // The rolled back build is not kept as "previous", so a second rollback cannot re-deploy it
+        DeploymentsRecord deployment = swapPointer(
+                current, current.getPreviousBuildId(), null, RolloutUtil.BUCKETS, userId);
+        
+        publishPointerAfterCommit(deployment, channel.getName());
+        
+        eventOutboxService.publish(new DeploymentRolledBackEvent(
+                deployment.getId(),
+                bundleId,
+                channel.getName(),
+                deployment.getBuildId(),
+                rolledBackBuildId,
+                userId,
+                organizationId
+        ));
+        
+        return mapToDeploymentResponse(deployment);
+    }
+    
+    /**
+     * Change the share of a channel's devices that get its deployed build. The others keep
+     * the previous build. Takes effect on update checks as soon as it is committed.
+     */
+    @Transactional
+    public DeploymentResponse updateRollout(
+            String organizationId,
+            String bundleId,
+            String channelId,
+            Double rolloutPercentage,
+            String userId,
+            String authenticatedUserOrgId) {
+        
+        // Validate that the user has access to this organization
+        if (!organizationId.equals(authenticatedUserOrgId)) {
+            throw new ForbiddenException("You do not have access to this organization");
+        }
+        
+        if (rolloutPercentage == null) {
+            throw new BadRequestException("Rollout percentage is required");
+        }
+        int rolloutBasisPoints = toRolloutBasisPoints(rolloutPercentage);
+        
+        verifyAppBelongsToOrganization(bundleId, organizationId);
+        ChannelsRecord channel = findChannel(channelId, organizationId);
+        
+        DeploymentsRecord current = deploymentRepository.findByBundleIdAndChannelId(bundleId, channelId)
+                .orElseThrow(() -> new ResourceNotFoundException("Deployment not found for this channel"));
+        
+        if (current.getRolloutBasisPoints() == rolloutBasisPoints) {
+            return mapToDeploymentResponse(current);
+        }
+        
+        int updated = deploymentRepository.compareAndSetRollout(
+                current.getId(),
+                current.getVersion(),
+                rolloutBasisPoints,
+                userId
+        );
+        DeploymentsRecord deployment = reloadAfterSwap(current, updated);
+        
+        publishPointerAfterCommit(deployment, channel.getName());
+        
+        eventOutboxService.publish(new DeploymentRolloutUpdatedEvent(
+                deployment.getId(),
+                bundleId,
+                channel.getName(),
+                deployment.getBuildId(),
+                RolloutUtil.toPercentage(current.getRolloutBasisPoints()),
+                RolloutUtil.toPercentage(rolloutBasisPoints),
+                userId,
+                organizationId
+        ));
+        
+        return mapToDeploymentResponse(deployment);
+    }
+    
+    /**
+     * Point a channel back at its previous build because devices keep rolling the deployed
+     * build back. Called by DeploymentHealthMonitor; the deployment keeps its last deployer.
+     *
+     * @throws ConflictException if the deployment no longer serves the failing build or was changed concurrently
+     */
+    @Transactional
+    public void rollbackUnhealthy(String deploymentId, String failedBuildId, long successes, long failures) {
+        DeploymentsRecord current = deploymentRepository.findById(deploymentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Deployment", "id", deploymentId));
+        
+        if (!current.getBuildId().equals(failedBuildId) || current.getPreviousBuildId() == null) {
+            throw new ConflictException("The deployment no longer serves the failing build");
+        }
+        
+        ChannelsRecord channel = channelRepository.findById(current.getChannelId())
+                .orElseThrow(() -> new ResourceNotFoundException("Channel", "id", current.getChannelId()));
+        
+        DeploymentsRecord deployment = swapPointer(
+                current, current.getPreviousBuildId(), null, RolloutUtil.BUCKETS, current.getDeployedBy());
+        
+        publishPointerAfterCommit(deployment, channel.getName());
+        
+        eventOutboxService.publish(new DeploymentAutoRolledBackEvent(
+                deployment.getId(),
+                deployment.getBundleId(),
+                channel.getName(),
+                deployment.getBuildId(),
+                failedBuildId,
+                successes,
+                failures,
+                deployment.getOrganizationId()
+        ));
+    }
+    
+    /**
+     * Compare-and-set the build pointer, failing if another promotion or rollback won the race
+     */
+    private DeploymentsRecord swapPointer(
+            DeploymentsRecord current,
+            String buildId,
+            String previousBuildId,
+            int rolloutBasisPoints,
+            String userId) {
+        
+        int updated = deploymentRepository.compareAndSetBuild(
+                current.getId(),
+                current.getVersion(),
+                buildId,
+                previousBuildId,
+                rolloutBasisPoints,
+                userId
+        );
+        
+        return reloadAfterSwap(current, updated);
+    }
+    
+    /**
+     * Read the deployment back after a compare-and-set, failing if another change won the race
+     */
+    private DeploymentsRecord reloadAfterSwap(DeploymentsRecord current, int updated) {
+        if (updated == 0) {
+            throw new ConflictException("The deployment was changed concurrently. Please retry.");
+        }
+        
+        return deploymentRepository.findById(current.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Deployment", "id", current.getId()));
+    }
+    
+    /**
+     * Validate a rollout percentage and convert it to basis points
+     */
+    private int toRolloutBasisPoints(double rolloutPercentage) {
+        if (!(rolloutPercentage >= 0 && rolloutPercentage <= 100)) {
+            throw new BadRequestException("Rollout percentage must be between 0 and 100");
+        }
+        return RolloutUtil.toBasisPoints(rolloutPercentage);
+    }
+    
+    /**
+     * Publish the new pointer to the in-memory index once the swap is committed
+     */
+    private void publishPointerAfterCommit(DeploymentsRecord deployment, String channelName) {
+        DeploymentPointer pointer = deploymentIndexService.toDeploymentPointer(deployment, channelName);
+        
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deploymentIndexService.apply(pointer);
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deploymentIndexService.apply(pointer);
+            }
+        });
+    }
+    
+    /**
+     * Find a channel of the organization
+     */
+    private ChannelsRecord findChannel(String channelId, String organizationId) {
+        return channelRepository.findByIdAndOrganizationId(channelId, organizationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Channel not found"));
+    }
+    
+    /**
+     * Verify that an app belongs to an organization
+     */
+    private void verifyAppBelongsToOrganization(String bundleId, String organizationId) {
+        if (!mobileApplicationRepository.existsByBundleIdAndOrganizationId(bundleId, organizationId)) {
+            throw new ResourceNotFoundException("Mobile application not found in this organization");
+        }
+    }
+    
+    /**
+     * Map deployment record to response
+     */
+    private DeploymentResponse mapToDeploymentResponse(DeploymentsRecord record) {
+        return new DeploymentResponse()
+                .id(record.getId())
+                .organizationId(record.getOrganizationId())
+                .bundleId(record.getBundleId())
+                .channelId(record.getChannelId())
+                .buildId(record.getBuildId())
+                .previousBuildId(record.getPreviousBuildId())
+                .rolloutPercentage(RolloutUtil.toPercentage(record.getRolloutBasisPoints()))
+                .version(record.getVersion())
+                .deployedBy(record.getDeployedBy())
+                .createdAt(record.getCreatedAt().atOffset(ZoneOffset.UTC))
+                .updatedAt(record.getUpdatedAt().atOffset(ZoneOffset.UTC));
+    }
+}
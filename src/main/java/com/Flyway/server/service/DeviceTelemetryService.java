@@ -0,0 +1,184 @@
+package com.Flyway.server.service;
+
+import com.Flyway.server.dto.generated.DeviceTelemetryAcceptedResponse;
+import com.Flyway.server.dto.generated.DeviceTelemetryEvent;
+import com.Flyway.server.dto.generated.DeviceTelemetryRequest;
+import com.Flyway.server.exception.BadRequestException;
+import com.Flyway.server.jooq.tables.records.DeviceTelemetryRecord;
+import com.Flyway.server.model.IndexedBuild;
+import com.Flyway.server.repository.DeviceTelemetryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Ingests update lifecycle events reported by devices.
+ *
+ * Events are checked against the in-memory build index (the build must belong to the reported
+ * bundle) and queued for DeviceTelemetryWriter, so a report never waits on the database.
+ * Success and rollback events also feed DeploymentHealthMonitor.
+ * Also keeps the daily partitions of device_telemetry: upcoming days are created ahead of time
+ * and days past the retention are dropped whole.
+ */
+@Slf4j
+@Service
+public class DeviceTelemetryService {
+    
+    private static final int MAX_DEVICE_ID_LENGTH = 128;
+    private static final int MAX_MESSAGE_LENGTH = 500;
+    private static final String CATCH_ALL_PARTITION = "pmax";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMMdd");
+    
+    private final BuildIndexService buildIndexService;
+    private final DeviceTelemetryWriter deviceTelemetryWriter;
+    private final DeviceTelemetryRepository deviceTelemetryRepository;
+    private final DeploymentHealthMonitor deploymentHealthMonitor;
+    private final int retentionDays;
+    private final int partitionsAhead;
+    
+    public DeviceTelemetryService(
+            BuildIndexService buildIndexService,
+            DeviceTelemetryWriter deviceTelemetryWriter,
+            DeviceTelemetryRepository deviceTelemetryRepository,
+            DeploymentHealthMonitor deploymentHealthMonitor,
+            @Value("${telemetry.retention-days:30}") int retentionDays,
+            @Value("${telemetry.partitions-ahead-days:3}") int partitionsAhead) {
+        this.buildIndexService = buildIndexService;
+        this.deviceTelemetryWriter = deviceTelemetryWriter;
+        this.deviceTelemetryRepository = deviceTelemetryRepository;
+        this.deploymentHealthMonitor = deploymentHealthMonitor;
+        this.retentionDays = retentionDays;
+        this.partitionsAhead = partitionsAhead;
+    }
+    
+    /**
+     * Queue a device's events for persistence
+     *
+     * Events for builds that are unknown or belong to another application are rejected,
+     * as are events that do not fit in the buffer.
+     */
+    public DeviceTelemetryAcceptedResponse ingest(DeviceTelemetryRequest request) {
+        String bundleId = request.getBundleId();
+        String deviceId = request.getDeviceId();
+        
+        if (bundleId == null || bundleId.isBlank()) {
+            throw new BadRequestException("bundleId is required");
+        }
+        if (deviceId == null || deviceId.isBlank() || deviceId.length() > MAX_DEVICE_ID_LENGTH) {
+            throw new BadRequestException("deviceId is required and must be at most " + MAX_DEVICE_ID_LENGTH + " characters");
+        }
+        
+        LocalDateTime receivedAt = LocalDateTime.now();
+        int accepted = 0;
+        int rejected = 0;
+        
+        for (DeviceTelemetryEvent event : request.getEvents()) {
+            Optional<IndexedBuild> build = Optional.ofNullable(event.getBuildId())
+                    .flatMap(buildIndexService::findById)
+                    .filter(indexed -> indexed.getBundleId().equals(bundleId));
+            
+            if (build.isEmpty() || event.getType() == null
+                    || !deviceTelemetryWriter.enqueue(toRecord(event, build.get(), deviceId, receivedAt))) {
+                rejected++;
+                continue;
+            }
+            accepted++;
+            
+            if (event.getType() == DeviceTelemetryEvent.TypeEnum.SUCCESS
+                    || event.getType() == DeviceTelemetryEvent.TypeEnum.ROLLBACK) {
+                deploymentHealthMonitor.record(
+                        bundleId, build.get().getId(), deviceId, event.getType() == DeviceTelemetryEvent.TypeEnum.ROLLBACK);
+            }
+        }
+        
+        return new DeviceTelemetryAcceptedResponse()
+                .accepted(accepted)
+                .rejected(rejected);
+    }
+    
+    /**
+     * Create the partitions for today and the next days, and drop the ones past the retention.
+     * Runs at startup and then periodically; concurrent runs on other nodes fail harmlessly.
+     */
+    @Scheduled(fixedDelayString = "${telemetry.partition-maintenance-interval-ms:3600000}")
+    public void maintainPartitions() {
+        try {
+            LocalDate today = LocalDate.now(ZoneOffset.UTC);
+            List<LocalDate> days = deviceTelemetryRepository.findPartitionNames().stream()
+                    .filter(name -> !CATCH_ALL_PARTITION.equals(name))
+                    .map(this::parsePartitionDay)
+                    .flatMap(Optional::stream)
+                    .sorted()
+                    .toList();
+            
+            // Partitions can only be split off the end, after the newest existing one
+            LocalDate next = days.isEmpty() ? today : days.get(days.size() - 1).plusDays(1);
+            if (next.isBefore(today)) {
+                next = today;
+            }
+            for (LocalDate day = next; !day.isAfter(today.plusDays(partitionsAhead)); day = day.plusDays(1)) {
+                deviceTelemetryRepository.addPartition(
+                        PARTITION_NAME.format(day),
+                        day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toEpochSecond());
+            }
+            
+            LocalDate oldestKept = today.minusDays(retentionDays);
+            List<String> expired = new ArrayList<>();
+            for (LocalDate day : days) {
+                if (day.isBefore(oldestKept)) {
+                    expired.add(PARTITION_NAME.format(day));
+                }
+            }
+            deviceTelemetryRepository.dropPartitions(expired);
+            
+            if (!expired.isEmpty()) {
+                log.info("Dropped {} expired device telemetry partitions", expired.size());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to maintain device telemetry partitions - {}", e.getMessage());
+        }
+    }
+    
+    private Optional<LocalDate> parsePartitionDay(String name) {
+        try {
+            return Optional.of(LocalDate.parse(name, PARTITION_NAME));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+    
+    private DeviceTelemetryRecord toRecord(
+            DeviceTelemetryEvent event,
+            IndexedBuild build,
+            String deviceId,
+            LocalDateTime receivedAt) {
+        
+        String message = event.getMessage();
+        if (message != null && message.length() > MAX_MESSAGE_LENGTH) {
+            message = message.substring(0, MAX_MESSAGE_LENGTH);
+        }
+        
+        DeviceTelemetryRecord record = new DeviceTelemetryRecord();
+        record.setOrganizationId(build.getOrganizationId());
+        record.setBundleId(build.getBundleId());
+        record.setBuildId(build.getId());
+        record.setDeviceId(deviceId);
+        record.setEventType(event.getType().getValue());
+        record.setMessage(message);
+        record.setOccurredAt(event.getOccurredAt() != null
+                ? event.getOccurredAt().withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime()
+                : null);
+        record.setCreatedAt(receivedAt);
+        return record;
+    }
+}
@@ -0,0 +1,32 @@
+package com.Flyway.server.service;
+
+import com.Flyway.server.jooq.tables.records.DeviceTelemetryRecord;
+import com.Flyway.server.repository.DeviceTelemetryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Buffers device telemetry in memory and writes it with large multi-row inserts,
+ * so the ingestion endpoint answers without touching the database
+ */
+@Service
+public class DeviceTelemetryWriter extends BatchWriter<DeviceTelemetryRecord> {
+    
+    private final DeviceTelemetryRepository deviceTelemetryRepository;
+    
+    public DeviceTelemetryWriter(
+            DeviceTelemetryRepository deviceTelemetryRepository,
+            @Value("${telemetry.batch-size:2000}") int batchSize,
+            @Value("${telemetry.buffer-capacity:200000}") int capacity,
+            @Value("${telemetry.flush-interval-ms:200}") long flushIntervalMs) {
+        super("telemetry", batchSize, capacity, flushIntervalMs);
+        this.deviceTelemetryRepository = deviceTelemetryRepository;
+    }
+    
+    @Override
+    protected void write(List<DeviceTelemetryRecord> batch) {
+        deviceTelemetryRepository.createBatch(batch);
+    }
+}
@@ -0,0 +1,92 @@
+package com.Flyway.server.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded, TTL-based cache of resolved permission bitmasks keyed by (userId, organizationId)
+ * 
+ * Entries are evicted when memberships change on this node (see PermissionCacheEventListener).
+ * Each entry remembers the user's permission version it was resolved at; a membership change
+ * on another node bumps that version, which retires the entry here. The TTL bounds staleness
+ * for changes that do not bump versions, such as edits to a role.
+ */
+@Service
+public class EffectivePermissionCache {
+    
+    private final Map<String, CachedPermissions> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+    
+    public EffectivePermissionCache(
+            @Value("${permissions.cache-ttl-seconds:300}") long ttlSeconds,
+            @Value("${permissions.cache-max-entries:50000}") int maxEntries) {
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.maxEntries = maxEntries;
+    }
+    
+    /**
+     * Get the cached bitmask of a user in an organization, or null if absent, expired or
+     * resolved at another permission version
+     */
+    public Long get(String userId, String organizationId, long permissionVersion) {
+        String key = key(userId, organizationId);
+        CachedPermissions cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        
+        if (cached.permissionVersion() != permissionVersion || cached.expiresAt() - System.nanoTime() < 0) {
+            entries.remove(key, cached);
+            return null;
+        }
+        
+        return cached.permissions();
+    }
+    
+    public void put(String userId, String organizationId, long permissionVersion, long permissions) {
+        if (entries.size() >= maxEntries) {
+            evictExpired();
+        }
+        entries.put(key(userId, organizationId), new CachedPermissions(permissions, permissionVersion, System.nanoTime() + ttlNanos));
+    }
+    
+    /**
+     * Drop the cached permissions of a user in an organization
+     */
+    public void evict(String userId, String organizationId) {
+        entries.remove(key(userId, organizationId));
+    }
+    
+    /**
+     * Drop every cached entry (e.g. after a change to a role shared by many members)
+     */
+    public void evictAll() {
+        entries.clear();
+    }
+    
+    /**
+     * Make room: drop expired entries, then arbitrary ones until below the bound
+     */
+    private void evictExpired() {
+        long now = System.nanoTime();
+        entries.values().removeIf(cached -> cached.expiresAt() - now < 0);
+        
+        Iterator<String> iterator = entries.keySet().iterator();
+        while (entries.size() >= maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+    
+    private static String key(String userId, String organizationId) {
+        return userId + ':' + organizationId;
+    }
+    
+    private record CachedPermissions(long permissions, long permissionVersion, long expiresAt) {
+    }
+}
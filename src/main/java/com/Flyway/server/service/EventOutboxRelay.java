@@ -0,0 +1,281 @@
+package com.Flyway.server.service;
+
+import com.Flyway.server.config.AsyncConfig.EventDispatchExecutor;
+import com.Flyway.server.event.DomainEvent;
+import com.Flyway.server.jooq.tables.records.EventOutboxRecord;
+import com.Flyway.server.repository.EventOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Delivers events from the event_outbox table to the application listeners, at least once.
+ *
+ * Each round leases a batch of events in a short transaction, runs the listeners with no
+ * transaction open, then deletes what was delivered. The audit log entries of the delivered
+ * events are inserted in the same transaction as that delete, so an event leaves the outbox
+ * only together with its audit entry; if the transaction fails, the events are relayed again. Events of one organization are delivered
+ * one after the other in the order they were written; different organizations run in parallel
+ * on the event dispatch executor. A relay only takes an organization's events when it holds
+ * the oldest pending one, so several nodes can relay without reordering.
+ *
+ * A failed event stops its organization for the round and is retried later, up to
+ * events.outbox.max-attempts, after which it is logged and discarded. While a round is
+ * running its lease is renewed every third of events.outbox.lease-seconds, so a slow round
+ * is never re-claimed and re-run by another relay. Listeners here should stay short; heavy
+ * work belongs in an @Async CommittedEvent listener.
+ */
+@Slf4j
+@Service
+public class EventOutboxRelay {
+    
+    private final EventOutboxRepository eventOutboxRepository;
+    private final AuditLogService auditLogService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EventDispatchExecutor eventDispatchExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long pollIntervalNanos;
+    private final long leaseSeconds;
+    private final int maxAttempts;
+    
+    private final String relayId = UUID.randomUUID().toString();
+    private volatile boolean running;
+    private Thread relay;
+    
+    public EventOutboxRelay(
+            EventOutboxRepository eventOutboxRepository,
+            AuditLogService auditLogService,
+            ApplicationEventPublisher eventPublisher,
+            EventDispatchExecutor eventDispatchExecutor,
+            TransactionTemplate transactionTemplate,
+            @Value("${events.outbox.batch-size:200}") int batchSize,
+            @Value("${events.outbox.poll-interval-ms:1000}") long pollIntervalMs,
+            @Value("${events.outbox.lease-seconds:60}") long leaseSeconds,
+            @Value("${events.outbox.max-attempts:10}") int maxAttempts) {
+        this.eventOutboxRepository = eventOutboxRepository;
+        this.auditLogService = auditLogService;
+        this.eventPublisher = eventPublisher;
+        this.eventDispatchExecutor = eventDispatchExecutor;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.pollIntervalNanos = TimeUnit.MILLISECONDS.toNanos(pollIntervalMs);
+        this.leaseSeconds = leaseSeconds;
+        this.maxAttempts = maxAttempts;
+    }
+    
+    /**
+     * Start relaying once every listener is registered, so no event is deleted unheard
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        relay = Thread.ofPlatform()
+                .name("event-outbox-relay")
+                .daemon(true)
+                .start(this::relayLoop);
+    }
+    
+    /**
+     * Relay new events now instead of at the next poll
+     */
+    public void wakeUp() {
+        LockSupport.unpark(relay);
+    }
+    
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Leased events are picked up again when the lease expires
+        running = false;
+        if (relay != null) {
+            LockSupport.unpark(relay);
+            relay.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+    
+    private void relayLoop() {
+        while (running) {
+            int relayed = 0;
+            try {
+                relayed = relayBatch();
+            } catch (Exception e) {
+                log.error("Failed to relay outbox events - {}", e.getMessage(), e);
+            }
+            
+            // A full batch means more are probably waiting
+            if (relayed < batchSize) {
+                LockSupport.parkNanos(this, pollIntervalNanos);
+            }
+        }
+    }
+    
+    /**
+     * Lease, deliver and delete one batch of events
+     *
+     * @return the number of events leased
+     */
+    private int relayBatch() {
+        List<EventOutboxRecord> claimed = transactionTemplate.execute(status -> claimBatch());
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+        
+        Map<String, List<EventOutboxRecord>> byOrganization = new LinkedHashMap<>();
+        for (EventOutboxRecord record : claimed) {
+            byOrganization.computeIfAbsent(record.getOrganizationKey(), key -> new ArrayList<>()).add(record);
+        }
+        
+        List<Future<List<Delivery>>> deliveries = new ArrayList<>();
+        for (List<EventOutboxRecord> events : byOrganization.values()) {
+            deliveries.add(eventDispatchExecutor.getExecutor().submit(() -> deliverInOrder(events)));
+        }
+        
+        List<Delivery> delivered = new ArrayList<>();
+        List<Long> claimedIds = claimed.stream().map(EventOutboxRecord::getId).toList();
+        long renewalIntervalNanos = TimeUnit.SECONDS.toNanos(leaseSeconds) / 3;
+        long renewAt = System.nanoTime() + renewalIntervalNanos;
+        for (Future<List<Delivery>> delivery : deliveries) {
+            try {
+                while (true) {
+                    try {
+                        delivered.addAll(delivery.get(Math.max(0, renewAt - System.nanoTime()), TimeUnit.NANOSECONDS));
+                        break;
+                    } catch (TimeoutException e) {
+                        // Listeners are still running; keep the lease so no other relay re-runs them
+                        eventOutboxRepository.extendLease(
+                                claimedIds, relayId, LocalDateTime.now().plusSeconds(leaseSeconds));
+                        renewAt = System.nanoTime() + renewalIntervalNanos;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                // Shed by the executor; the lease is released below, so the events are retried
+                log.warn("Outbox delivery was not run - {}", e.getMessage());
+            }
+        }
+        
+        Set<Long> deliveredIds = new HashSet<>();
+        List<DomainEvent> audited = new ArrayList<>();
+        for (Delivery delivery : delivered) {
+            deliveredIds.add(delivery.id());
+            if (delivery.event() != null) {
+                audited.add(delivery.event());
+            }
+        }
+        
+        if (!deliveredIds.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    auditLogService.recordEvents(audited);
+                    eventOutboxRepository.deleteByIds(deliveredIds);
+                });
+            } catch (Exception e) {
+                // Nothing was deleted; the events are released below and relayed again
+                log.error("Failed to record delivered outbox events - {}", e.getMessage(), e);
+                deliveredIds.clear();
+            }
+        }
+        
+        List<Long> undelivered = claimed.stream()
+                .map(EventOutboxRecord::getId)
+                .filter(id -> !deliveredIds.contains(id))
+                .toList();
+        if (!undelivered.isEmpty()) {
+            eventOutboxRepository.release(undelivered, false);
+        }
+        
+        return claimed.size();
+    }
+    
+    /**
+     * Lease the oldest events, keeping only organizations whose oldest pending event is among them
+     */
+    private List<EventOutboxRecord> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EventOutboxRecord> candidates = eventOutboxRepository.lockClaimable(relayId, now, batchSize);
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        
+        Map<String, Long> headIds = eventOutboxRepository.findHeadIds(
+                candidates.stream().map(EventOutboxRecord::getOrganizationKey).distinct().toList());
+        
+        // Another relay holds an older event of these organizations; leave them to it
+        List<EventOutboxRecord> claimable = new ArrayList<>();
+        Map<String, Boolean> ownsHead = new LinkedHashMap<>();
+        for (EventOutboxRecord candidate : candidates) {
+            boolean owned = ownsHead.computeIfAbsent(candidate.getOrganizationKey(),
+                    key -> candidate.getId().equals(headIds.get(key)));
+            if (owned) {
+                claimable.add(candidate);
+            }
+        }
+        
+        if (!claimable.isEmpty()) {
+            eventOutboxRepository.claim(
+                    claimable.stream().map(EventOutboxRecord::getId).toList(),
+                    relayId,
+                    now.plusSeconds(leaseSeconds));
+        }
+        return claimable;
+    }
+    
+    /**
+     * Run the listeners for each event of one organization, stopping at the first failure
+     *
+     * @return the events that were delivered (or discarded after too many attempts)
+     */
+    private List<Delivery> deliverInOrder(List<EventOutboxRecord> events) {
+        List<Delivery> delivered = new ArrayList<>();
+        
+        for (EventOutboxRecord event : events) {
+            DomainEvent domainEvent = null;
+            try {
+                domainEvent = EventOutboxService.deserialize(event.getEventType(), event.getPayload());
+                eventPublisher.publishEvent(domainEvent);
+                delivered.add(new Delivery(event.getId(), domainEvent));
+            } catch (Exception e) {
+                if (event.getAttempts() + 1 >= maxAttempts) {
+                    log.error("Discarding outbox event {} ({}) after {} attempts - {}",
+                              event.getEventId(), event.getEventType(), maxAttempts, e.getMessage(), e);
+                    // The change itself was committed, so it is still audited if the event could be read
+                    delivered.add(new Delivery(event.getId(), domainEvent));
+                    continue;
+                }
+                
+                log.warn("Outbox event {} ({}) failed, will retry - {}",
+                         event.getEventId(), event.getEventType(), e.getMessage());
+                eventOutboxRepository.release(List.of(event.getId()), true);
+                break;
+            }
+        }
+        
+        return delivered;
+    }
+    
+    /**
+     * An event taken off the outbox; event is null if its payload could not be read
+     */
+    private record Delivery(long id, DomainEvent event) {
+    }
+}
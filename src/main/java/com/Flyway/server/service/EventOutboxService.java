@@ -0,0 +1,150 @@
+package com.Flyway.server.service;
+
+import com.Flyway.server.event.BuildDeletedEvent;
+import com.Flyway.server.event.BuildUploadedEvent;
+import com.Flyway.server.event.CommittedEvent;
+import com.Flyway.server.event.DeploymentAutoRolledBackEvent;
+import com.Flyway.server.event.DeploymentCreatedEvent;
+import com.Flyway.server.event.DeploymentRolledBackEvent;
+import com.Flyway.server.event.DeploymentRolloutUpdatedEvent;
+import com.Flyway.server.event.DomainEvent;
+import com.Flyway.server.event.MemberAddedEvent;
+import com.Flyway.server.event.MemberRemovedEvent;
+import com.Flyway.server.event.MemberRoleUpdatedEvent;
+import com.Flyway.server.event.MobileAppCreatedEvent;
+import com.Flyway.server.event.MobileAppDeletedEvent;
+import com.Flyway.server.event.MobileAppUpdatedEvent;
+import com.Flyway.server.event.OrganizationCreatedEvent;
+import com.Flyway.server.event.OrganizationUpdatedEvent;
+import com.Flyway.server.repository.EventOutboxRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Publishes domain events through the event_outbox table.
+ * 
+ * The event is written in the caller's transaction, so it exists if and only if the change
+ * that raised it was committed. EventOutboxRelay delivers it to the listeners afterwards,
+ * on one node. After commit the event is also published locally as a CommittedEvent for
+ * listeners that keep this node's in-memory state current.
+ * 
+ * The payload is the event as JSON; event_type selects the class it is read back into,
+ * so only the event classes registered here can come out of the outbox.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventOutboxService {
+    
+    // Every event that is published must be listed under the type it reports
+    private static final Map<String, Class<? extends DomainEvent>> EVENT_TYPES = Map.ofEntries(
+            Map.entry("build.deleted", BuildDeletedEvent.class),
+            Map.entry("build.uploaded", BuildUploadedEvent.class),
+            Map.entry("deployment.auto_rolled_back", DeploymentAutoRolledBackEvent.class),
+            Map.entry("deployment.created", DeploymentCreatedEvent.class),
+            Map.entry("deployment.rolled_back", DeploymentRolledBackEvent.class),
+            Map.entry("deployment.rollout_updated", DeploymentRolloutUpdatedEvent.class),
+            Map.entry("member.added", MemberAddedEvent.class),
+            Map.entry("member.removed", MemberRemovedEvent.class),
+            Map.entry("member.role_updated", MemberRoleUpdatedEvent.class),
+            Map.entry("mobile_app.created", MobileAppCreatedEvent.class),
+            Map.entry("mobile_app.deleted", MobileAppDeletedEvent.class),
+            Map.entry("mobile_app.updated", MobileAppUpdatedEvent.class),
+            Map.entry("organization.created", OrganizationCreatedEvent.class),
+            Map.entry("organization.updated", OrganizationUpdatedEvent.class));
+    
+    // Derived getters (auditAction, resourceName, ...) are written too; reading skips them.
+    // Unknown fields are also skipped so that a field can be removed during a rolling deploy.
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .registerModule(new SimpleModule()
+                    .addSerializer(Instant.class, ToStringSerializer.instance)
+                    .addDeserializer(Instant.class, new InstantDeserializer()))
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    
+    private final EventOutboxRepository eventOutboxRepository;
+    private final EventOutboxRelay eventOutboxRelay;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    /**
+     * Record an event for delivery once the current transaction commits
+     */
+    public void publish(DomainEvent event) {
+        String organizationKey = event.getOrganizationId() != null ? event.getOrganizationId() : "";
+        eventOutboxRepository.create(event.getEventId(), event.getEventType(), organizationKey, serialize(event));
+        
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            afterCommit(event);
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                EventOutboxService.this.afterCommit(event);
+            }
+        });
+    }
+    
+    private void afterCommit(DomainEvent event) {
+        // Relay right after commit instead of waiting for the next poll
+        eventOutboxRelay.wakeUp();
+        try {
+            eventPublisher.publishEvent(new CommittedEvent<>(event));
+        } catch (Exception e) {
+            // The change is committed; local state catches up through its periodic sync
+            log.error("Local listeners failed for event {} ({}) - {}",
+                      event.getEventType(), event.getEventId(), e.getMessage(), e);
+        }
+    }
+    
+    static byte[] serialize(DomainEvent event) {
+        if (EVENT_TYPES.get(event.getEventType()) != event.getClass()) {
+            throw new IllegalStateException("Event type " + event.getEventType() + " is not registered for the outbox");
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize event " + event.getEventType(), e);
+        }
+    }
+    
+    static DomainEvent deserialize(String eventType, byte[] payload) {
+        Class<? extends DomainEvent> type = EVENT_TYPES.get(eventType);
+        if (type == null) {
+            throw new IllegalStateException("Unknown event type in outbox: " + eventType);
+        }
+        try {
+            return OBJECT_MAPPER.readValue(payload, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to deserialize event " + eventType, e);
+        }
+    }
+    
+    private static class InstantDeserializer extends StdScalarDeserializer<Instant> {
+        
+        InstantDeserializer() {
+            super(Instant.class);
+        }
+        
+        @Override
+        public Instant deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            return Instant.parse(parser.getValueAsString());
+        }
+    }
+}
@@ -15,10 +15,8 @@ import com.Flyway.server.jooq.tables.records.InvitationStatusesRecord;
 import com.Flyway.server.jooq.tables.records.UsersRecord;
 import com.Flyway.server.jooq.tables.records.UserStatusesRecord;
 import com.Flyway.server.repository.InvitationRepository;
-import com.Flyway.server.repository.InvitationStatusRepository;
 import com.Flyway.server.repository.OrganizationMemberRepository;
 import com.Flyway.server.repository.UserRepository;
-import com.Flyway.server.repository.UserStatusRepository;
 import com.Flyway.server.util.PasswordUtil;
 import com.Flyway.server.exception.ResourceNotFoundException;
 import com.Flyway.server.exception.ConflictException;
@@ -40,10 +38,9 @@ import java.util.stream.Collectors;
 public class InvitationService {
     
     private final InvitationRepository invitationRepository;
-    private final InvitationStatusRepository invitationStatusRepository;
     private final OrganizationMemberRepository memberRepository;
     private final UserRepository userRepository;
-    private final UserStatusRepository userStatusRepository;
+    private final LookupTableCache lookupTableCache;
     private final OrganizationService organizationService;
     private final RoleService roleService;
     private final UserService userService;
@@ -84,7 +81,7 @@ public class InvitationService {
         });
      
         // Get active user status
-        UserStatusesRecord activeStatus = userStatusRepository.findByCode("active")
+        UserStatusesRecord activeStatus = lookupTableCache.findUserStatusByCode("active")
                 .orElseThrow(() -> new RuntimeException("Active status not found"));
         
         // Generate random temporary password
@@ -105,7 +102,7 @@ public class InvitationService {
         memberRepository.create(organizationId, userId, request.getRoleId());
         
         // Get pending status
-        InvitationStatusesRecord pendingStatus = invitationStatusRepository.findByCode("pending")
+        InvitationStatusesRecord pendingStatus = lookupTableCache.findInvitationStatusByCode("pending")
                 .orElseThrow(() -> new RuntimeException("Pending status not found"));
         
         // Generate unique token for tracking
@@ -148,7 +145,7 @@ public class InvitationService {
         
         // Check if invitation is pending
         String statusId = invitation.getInvitationStatusId();
-        InvitationStatusesRecord status = invitationStatusRepository.findById(statusId)
+        InvitationStatusesRecord status = lookupTableCache.findInvitationStatusById(statusId)
                 .orElseThrow(() -> new RuntimeException("Status not found"));
         
         if (!"pending".equals(status.getCode())) {
@@ -159,14 +156,14 @@ public class InvitationService {
         LocalDateTime expiresAt = invitation.getExpiresAt();
         if (expiresAt.isBefore(LocalDateTime.now())) {
             // Update to expired status
-            InvitationStatusesRecord expiredStatus = invitationStatusRepository.findByCode("expired")
+            InvitationStatusesRecord expiredStatus = lookupTableCache.findInvitationStatusByCode("expired")
                     .orElseThrow(() -> new RuntimeException("Expired status not found"));
             invitationRepository.updateStatus(invitation.getId(), expiredStatus.getId());
             throw new BadRequestException("Invitation has expired");
         }
         
         // Update invitation status to accepted
-        InvitationStatusesRecord acceptedStatus = invitationStatusRepository.findByCode("accepted")
+        InvitationStatusesRecord acceptedStatus = lookupTableCache.findInvitationStatusByCode("accepted")
                 .orElseThrow(() -> new RuntimeException("Accepted status not found"));
         invitationRepository.updateStatus(invitation.getId(), acceptedStatus.getId());
         
@@ -180,7 +177,7 @@ public class InvitationService {
         
         // Check if invitation is pending
         String statusId = invitation.getInvitationStatusId();
-        InvitationStatusesRecord status = invitationStatusRepository.findById(statusId)
+        InvitationStatusesRecord status = lookupTableCache.findInvitationStatusById(statusId)
                 .orElseThrow(() -> new RuntimeException("Status not found"));
         
         if (!"pending".equals(status.getCode())) {
@@ -188,7 +185,7 @@ public class InvitationService {
         }
         
         // Get rejected status
-        InvitationStatusesRecord rejectedStatus = invitationStatusRepository.findByCode("rejected")
+        InvitationStatusesRecord rejectedStatus = lookupTableCache.findInvitationStatusByCode("rejected")
                 .orElseThrow(() -> new RuntimeException("Rejected status not found"));
         
         // Update invitation status
@@ -224,7 +221,7 @@ public class InvitationService {
         
         // Check if invitation is pending or expired
         String statusId = invitation.getInvitationStatusId();
-        InvitationStatusesRecord status = invitationStatusRepository.findById(statusId)
+        InvitationStatusesRecord status = lookupTableCache.findInvitationStatusById(statusId)
                 .orElseThrow(() -> new RuntimeException("Status not found"));
         
         if (!"pending".equals(status.getCode()) && !"expired".equals(status.getCode())) {
@@ -249,7 +246,7 @@ public class InvitationService {
         LocalDateTime newExpiresAt = LocalDateTime.now().plusDays(7);
         
         // Get pending status
-        InvitationStatusesRecord pendingStatus = invitationStatusRepository.findByCode("pending")
+        InvitationStatusesRecord pendingStatus = lookupTableCache.findInvitationStatusByCode("pending")
                 .orElseThrow(() -> new RuntimeException("Pending status not found"));
         
         // Update invitation with new token, expiration, and status
@@ -306,7 +303,7 @@ public class InvitationService {
         String invitedById = record.getInvitedBy();
         
         // Fetch nested objects
-        InvitationStatusesRecord statusRecord = invitationStatusRepository.findById(statusId).orElse(null);
+        InvitationStatusesRecord statusRecord = lookupTableCache.findInvitationStatusById(statusId).orElse(null);
         OrganizationResponse organization = organizationService.getOrganizationById(organizationId);
         RoleResponse role = roleService.getRoleById(roleId);
         UserResponse invitedBy = invitedById != null ? userService.getUserById(invitedById) : null;
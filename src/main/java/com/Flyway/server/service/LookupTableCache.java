@@ -0,0 +1,129 @@
+package com.Flyway.server.service;
+
+import com.Flyway.server.jooq.tables.records.InvitationStatusesRecord;
+import com.Flyway.server.jooq.tables.records.RolesRecord;
+import com.Flyway.server.jooq.tables.records.UserStatusesRecord;
+import com.Flyway.server.repository.InvitationStatusRepository;
+import com.Flyway.server.repository.RoleRepository;
+import com.Flyway.server.repository.UserStatusRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of the lookup tables: user statuses, invitation statuses and roles.
+ *
+ * These rows practically never change, yet invitation, registration and organization flows
+ * looked them up by code or id several times per request. The tables are loaded at startup
+ * into immutable id and code/name maps and published as one snapshot with a single volatile
+ * write. Role changes made through RoleService call refresh(); anything changed out of band
+ * is picked up by the periodic reload.
+ *
+ * The records are shared between callers and must not be modified.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LookupTableCache {
+    
+    private final UserStatusRepository userStatusRepository;
+    private final InvitationStatusRepository invitationStatusRepository;
+    private final RoleRepository roleRepository;
+    
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    
+    /**
+     * Reload every lookup table from the database
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${lookup-cache.reload-interval-ms:300000}",
+               initialDelayString = "${lookup-cache.reload-interval-ms:300000}")
+    public synchronized void refresh() {
+        List<UserStatusesRecord> userStatuses = userStatusRepository.findAll();
+        List<InvitationStatusesRecord> invitationStatuses = invitationStatusRepository.findAll();
+        List<RolesRecord> roles = roleRepository.findAll();
+        
+        snapshot = new Snapshot(
+                index(userStatuses, UserStatusesRecord::getId),
+                index(userStatuses, UserStatusesRecord::getCode),
+                index(invitationStatuses, InvitationStatusesRecord::getId),
+                index(invitationStatuses, InvitationStatusesRecord::getCode),
+                index(roles, RolesRecord::getId),
+                index(roles, RolesRecord::getName)
+        );
+        
+        log.debug("Lookup tables loaded: {} user statuses, {} invitation statuses, {} roles",
+                  userStatuses.size(), invitationStatuses.size(), roles.size());
+    }
+    
+    public Optional<UserStatusesRecord> findUserStatusById(String id) {
+        return Optional.ofNullable(id).map(snapshot.userStatusesById()::get);
+    }
+    
+    public Optional<UserStatusesRecord> findUserStatusByCode(String code) {
+        return Optional.ofNullable(code).map(snapshot.userStatusesByCode()::get);
+    }
+    
+    public Optional<InvitationStatusesRecord> findInvitationStatusById(String id) {
+        return Optional.ofNullable(id).map(snapshot.invitationStatusesById()::get);
+    }
+    
+    public Optional<InvitationStatusesRecord> findInvitationStatusByCode(String code) {
+        return Optional.ofNullable(code).map(snapshot.invitationStatusesByCode()::get);
+    }
+    
+    public List<InvitationStatusesRecord> findInvitationStatusesByIds(Collection<String> ids) {
+        return findAll(snapshot.invitationStatusesById(), ids);
+    }
+    
+    public Optional<RolesRecord> findRoleById(String id) {
+        return Optional.ofNullable(id).map(snapshot.rolesById()::get);
+    }
+    
+    public Optional<RolesRecord> findRoleByName(String name) {
+        return Optional.ofNullable(name).map(snapshot.rolesByName()::get);
+    }
+    
+    public List<RolesRecord> findRolesByIds(Collection<String> ids) {
+        return findAll(snapshot.rolesById(), ids);
+    }
+    
+    private static <R> List<R> findAll(Map<String, R> byId, Collection<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+    
+    private static <R> Map<String, R> index(List<R> records, Function<R, String> key) {
+        return records.stream()
+                .filter(record -> key.apply(record) != null)
+                .collect(Collectors.toUnmodifiableMap(key, Function.identity(), (first, second) -> first));
+    }
+    
+    private record Snapshot(
+            Map<String, UserStatusesRecord> userStatusesById,
+            Map<String, UserStatusesRecord> userStatusesByCode,
+            Map<String, InvitationStatusesRecord> invitationStatusesById,
+            Map<String, InvitationStatusesRecord> invitationStatusesByCode,
+            Map<String, RolesRecord> rolesById,
+            Map<String, RolesRecord> rolesByName) {
+        
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of(), Map.of(), Map.of(), Map.of(), Map.of());
+    }
+}
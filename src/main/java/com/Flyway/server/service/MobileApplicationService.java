@@ -12,7 +12,6 @@ import com.Flyway.server.exception.ForbiddenException;
 import com.Flyway.server.exception.ResourceNotFoundException;
 import com.Flyway.server.repository.MobileApplicationRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,7 +25,7 @@ import java.util.stream.Collectors;
 public class MobileApplicationService {
     
     private final MobileApplicationRepository mobileApplicationRepository;
-    private final ApplicationEventPublisher eventPublisher;
+    private final EventOutboxService eventOutboxService;
     
     public MobileApplicationResponse getMobileApplicationById(String id, String organizationId) {
         MobileApplicationsRecord app = mobileApplicationRepository.findById(id)
@@ -86,7 +85,7 @@ public class MobileApplicationService {
         MobileApplicationResponse response = getMobileApplicationById(appId, organizationId);
         
         // Publish event for audit logging, webhooks, and notifications
-        eventPublisher.publishEvent(new MobileAppCreatedEvent(
+        eventOutboxService.publish(new MobileAppCreatedEvent(
                 appId,
                 request.getName(),
                 request.getBundleId(),
@@ -124,7 +123,7 @@ public class MobileApplicationService {
         MobileApplicationResponse response = getMobileApplicationById(id, organizationId);
         
         // Publish event for audit logging, webhooks, and notifications
-        eventPublisher.publishEvent(new MobileAppUpdatedEvent(
+        eventOutboxService.publish(new MobileAppUpdatedEvent(
                 id,
                 request.getName(),
                 app.getBundleId(),
@@ -152,7 +151,7 @@ public class MobileApplicationService {
         mobileApplicationRepository.delete(id);
         
         // Publish event for audit logging, webhooks, and notifications
-        eventPublisher.publishEvent(new MobileAppDeletedEvent(
+        eventOutboxService.publish(new MobileAppDeletedEvent(
                 id,
                 appName,
                 bundleId,
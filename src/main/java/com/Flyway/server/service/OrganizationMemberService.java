@@ -1,11 +1,20 @@
 package com.Flyway.server.service;
 
 import com.Flyway.server.dto.generated.AddOrganizationMemberRequest;
+import com.Flyway.server.dto.generated.InvitationStatusEnum;
+import com.Flyway.server.dto.generated.InvitationStatusResponse;
 import com.Flyway.server.dto.generated.UpdateMemberRoleRequest;
 import com.Flyway.server.dto.generated.OrganizationMemberResponse;
 import com.Flyway.server.dto.generated.PaginatedOrganizationMemberResponse;
 import com.Flyway.server.dto.generated.RoleResponse;
+import com.Flyway.server.dto.generated.UserOrganizationMembership;
+import com.Flyway.server.dto.generated.UserOrganizationResponse;
 import com.Flyway.server.dto.generated.UserResponse;
+import com.Flyway.server.dto.generated.UserStatusEnum;
+import com.Flyway.server.dto.generated.UserStatusResponse;
+import com.Flyway.server.event.MemberAddedEvent;
+import com.Flyway.server.event.MemberRemovedEvent;
+import com.Flyway.server.event.MemberRoleUpdatedEvent;
 import com.Flyway.server.jooq.tables.records.OrganizationMembersRecord;
 import com.Flyway.server.jooq.tables.records.OrganizationsRecord;
 import com.Flyway.server.exception.ConflictException;
@@ -13,67 +22,116 @@ import com.Flyway.server.exception.ForbiddenException;
 import com.Flyway.server.exception.ResourceNotFoundException;
 import com.Flyway.server.repository.OrganizationMemberRepository;
 import com.Flyway.server.repository.OrganizationRepository;
+import com.Flyway.server.repository.PagedRecords;
 import com.Flyway.server.repository.UserRepository;
+import com.Flyway.server.util.PageCursor;
+import com.Flyway.server.util.PageTotal;
+import com.Flyway.server.util.PermissionUtil;
 
 import lombok.RequiredArgsConstructor;
+import org.jooq.Record;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
 import java.util.stream.Collectors;
 
+import static com.Flyway.server.jooq.tables.InvitationStatuses.INVITATION_STATUSES;
+import static com.Flyway.server.jooq.tables.OrganizationMembers.ORGANIZATION_MEMBERS;
+import static com.Flyway.server.jooq.tables.Organizations.ORGANIZATIONS;
+import static com.Flyway.server.jooq.tables.Roles.ROLES;
+import static com.Flyway.server.jooq.tables.UserStatuses.USER_STATUSES;
+import static com.Flyway.server.jooq.tables.Users.USERS;
+
 @Service
 @RequiredArgsConstructor
 public class OrganizationMemberService {
     
+    private static final int STREAM_CHUNK_SIZE = 500;
+    
     private final OrganizationMemberRepository memberRepository;
     private final UserRepository userRepository;
     private final OrganizationRepository organizationRepository;
-    private final UserService userService;
-    private final RoleService roleService;
+    private final EventOutboxService eventOutboxService;
+    private final PageTotalCache pageTotalCache;
     
     public OrganizationMemberResponse getMemberById(String id) {
-        OrganizationMembersRecord member = memberRepository.findById(id)
+        Record member = memberRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Organization member", "id", id));
         
-        return mapToMemberResponse(member);
+        return mapToMemberResponses(List.of(member)).get(0);
     }
     
+    /**
+     * Get every member of an organization as one list; large organizations should use
+     * forEachMemberByOrganizationId instead
+     */
     public List<OrganizationMemberResponse> getMembersByOrganizationId(String organizationId) {
-        return memberRepository.findByOrganizationId(organizationId).stream()
-                .map(this::mapToMemberResponse)
-                .collect(Collectors.toList());
+        List<OrganizationMemberResponse> members = new ArrayList<>();
+        forEachMemberByOrganizationId(organizationId, members::add);
+        return members;
+    }
+    
+    /**
+     * Hand every member of an organization to the consumer, newest first, without holding
+     * the whole list in memory. Members are read in keyset chunks of STREAM_CHUNK_SIZE, so the
+     * connection is free between chunks for the memberships lookup.
+     */
+    public void forEachMemberByOrganizationId(String organizationId, Consumer<OrganizationMemberResponse> consumer) {
+        PageCursor cursor = null;
+        List<Record> chunk;
+        do {
+            chunk = memberRepository.findWithDetailsByOrganizationIdAfter(organizationId, cursor, STREAM_CHUNK_SIZE);
+            mapToMemberResponses(chunk).forEach(consumer);
+            
+            if (!chunk.isEmpty()) {
+                Record last = chunk.get(chunk.size() - 1);
+                cursor = new PageCursor(last.get(ORGANIZATION_MEMBERS.JOINED_AT), last.get(ORGANIZATION_MEMBERS.ID));
+            }
+        } while (chunk.size() == STREAM_CHUNK_SIZE);
     }
     
     public PaginatedOrganizationMemberResponse getMembersByOrganizationIdWithPagination(
-            String organizationId, int page, int limit) {
+            String organizationId, int page, int limit, String total) {
+        PageTotal totalMode = PageTotal.parse(total);
         int offset = page * limit;
         
-        List<OrganizationMemberResponse> members = memberRepository
-                .findByOrganizationIdWithPagination(organizationId, limit, offset)
-                .stream()
-                .map(this::mapToMemberResponse)
-                .collect(Collectors.toList());
+        // One extra row tells whether there is a next page; an exact total rides along in the same query
+        PagedRecords<Record> result = memberRepository
+                .findWithDetailsByOrganizationId(organizationId, limit + 1, offset, totalMode == PageTotal.EXACT);
+        boolean hasNext = result.records().size() > limit;
         
-        int totalCount = memberRepository.countByOrganizationId(organizationId);
+        List<OrganizationMemberResponse> members = mapToMemberResponses(
+                result.records().subList(0, Math.min(limit, result.records().size())));
+        
+        IntSupplier counter = () -> memberRepository.countByOrganizationId(organizationId);
+        Integer totalCount = switch (totalMode) {
+            case EXACT -> result.totalOrCount(offset, counter);
+            case ESTIMATE -> pageTotalCache.get(PageTotalCache.key("members", organizationId), counter);
+            case NONE -> null;
+        };
         
         return new PaginatedOrganizationMemberResponse()
                 .data(members)
                 .total(totalCount)
                 .count(members.size())
-                .itemsPerPage(limit);
+                .itemsPerPage(limit)
+                .hasNext(hasNext);
     }
     
     public List<OrganizationMemberResponse> getMembersByUserId(String userId) {
-        return memberRepository.findByUserId(userId).stream()
-                .map(this::mapToMemberResponse)
-                .collect(Collectors.toList());
+        return mapToMemberResponses(memberRepository.findWithDetailsByUserId(userId));
     }
     
     @Transactional
-    public OrganizationMemberResponse addMember(String organizationId, AddOrganizationMemberRequest request) {
+    public OrganizationMemberResponse addMember(String organizationId, AddOrganizationMemberRequest request, String userId) {
         // Check if user exists
         userRepository.findById(request.getUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", request.getUserId()));
@@ -90,11 +148,19 @@ public class OrganizationMemberService {
         // Add member
         String memberId = memberRepository.create(organizationId, request.getUserId(), request.getRoleId());
         
+        eventOutboxService.publish(new MemberAddedEvent(
+                memberId,
+                request.getUserId(),
+                request.getRoleId(),
+                userId,
+                organizationId
+        ));
+        
         return getMemberById(memberId);
     }
     
     @Transactional
-    public OrganizationMemberResponse updateMemberRole(String memberId, UpdateMemberRoleRequest request) {
+    public OrganizationMemberResponse updateMemberRole(String memberId, UpdateMemberRoleRequest request, String userId) {
         OrganizationMembersRecord member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new ResourceNotFoundException("Organization member", "id", memberId));
         
@@ -105,11 +171,19 @@ public class OrganizationMemberService {
         
         memberRepository.updateRole(memberId, request.getRoleId());
         
+        eventOutboxService.publish(new MemberRoleUpdatedEvent(
+                memberId,
+                member.getUserId(),
+                request.getRoleId(),
+                userId,
+                member.getOrganizationId()
+        ));
+        
         return getMemberById(memberId);
     }
     
     @Transactional
-    public void removeMember(String memberId) {
+    public void removeMember(String memberId, String userId) {
         OrganizationMembersRecord member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new ResourceNotFoundException("Organization member", "id", memberId));
         
@@ -119,6 +193,14 @@ public class OrganizationMemberService {
         }
         
         memberRepository.delete(memberId);
+        
+        eventOutboxService.publish(new MemberRemovedEvent(
+                memberId,
+                member.getUserId(),
+                member.getRoleId(),
+                userId,
+                member.getOrganizationId()
+        ));
     }
     
     public void verifyMemberOwnership(String memberId, String organizationId) {
@@ -144,21 +226,86 @@ public class OrganizationMemberService {
         return organization.getCreatedBy().equals(userId);
     }
     
-    private OrganizationMemberResponse mapToMemberResponse(OrganizationMembersRecord record) {
-        String userId = record.getUserId();
-        String roleId = record.getRoleId();
+    /**
+     * Map member rows joined with their user, status and role. The users' memberships are
+     * loaded for all rows in one query rather than one lookup per member.
+     */
+    private List<OrganizationMemberResponse> mapToMemberResponses(List<Record> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
         
-        UserResponse user = userService.getUserById(userId);
-        RoleResponse role = roleService.getRoleById(roleId);
+        List<String> userIds = rows.stream()
+                .map(row -> row.get(USERS.ID))
+                .distinct()
+                .collect(Collectors.toList());
+        
+        Map<String, List<UserOrganizationMembership>> membershipsByUserId = memberRepository
+                .findMembershipDetailsByUserIds(userIds)
+                .stream()
+                .collect(Collectors.groupingBy(
+                        row -> row.get(ORGANIZATION_MEMBERS.USER_ID),
+                        Collectors.mapping(this::mapToMembership, Collectors.toList())
+                ));
+        
+        return rows.stream()
+                .map(row -> mapToMemberResponse(row, membershipsByUserId.getOrDefault(row.get(USERS.ID), List.of())))
+                .collect(Collectors.toList());
+    }
+    
+    private OrganizationMemberResponse mapToMemberResponse(Record row, List<UserOrganizationMembership> memberships) {
+        String userStatusId = row.get(USER_STATUSES.ID);
+        UserStatusResponse status = userStatusId != null
+                ? new UserStatusResponse()
+                        .id(userStatusId)
+                        .status(UserStatusEnum.fromValue(row.get(USER_STATUSES.CODE)))
+                : null;
         
-        // Convert LocalDateTime to OffsetDateTime
-        LocalDateTime joinedAtLocal = record.getJoinedAt();
+        UserResponse user = new UserResponse()
+                .id(row.get(USERS.ID))
+                .firstName(row.get(USERS.FIRST_NAME))
+                .lastName(row.get(USERS.LAST_NAME))
+                .email(row.get(USERS.EMAIL))
+                .status(status)
+                .organizations(memberships)
+                .createdAt(toOffsetDateTime(row.get(USERS.CREATED_AT)))
+                .updatedAt(toOffsetDateTime(row.get(USERS.UPDATED_AT)));
         
         return new OrganizationMemberResponse()
-                .id(record.getId())
+                .id(row.get(ORGANIZATION_MEMBERS.ID))
                 .user(user)
-                .role(role)
-                .joinedAt(joinedAtLocal != null ? joinedAtLocal.atOffset(ZoneOffset.UTC) : null);
+                .role(mapToRoleResponse(row))
+                .joinedAt(toOffsetDateTime(row.get(ORGANIZATION_MEMBERS.JOINED_AT)));
+    }
+    
+    private UserOrganizationMembership mapToMembership(Record row) {
+        String invitationStatusId = row.get(INVITATION_STATUSES.ID);
+        InvitationStatusResponse invitationStatus = invitationStatusId != null
+                ? new InvitationStatusResponse()
+                        .id(invitationStatusId)
+                        .status(InvitationStatusEnum.fromValue(row.get(INVITATION_STATUSES.CODE)))
+                : null;
+        
+        return new UserOrganizationMembership()
+                .organization(new UserOrganizationResponse()
+                        .id(row.get(ORGANIZATIONS.ID))
+                        .subdomain(row.get(ORGANIZATIONS.SUBDOMAIN))
+                        .name(row.get(ORGANIZATIONS.NAME)))
+                .role(mapToRoleResponse(row))
+                .invitationStatus(invitationStatus);
+    }
+    
+    private RoleResponse mapToRoleResponse(Record row) {
+        return new RoleResponse()
+                .id(row.get(ROLES.ID))
+                .name(row.get(ROLES.NAME))
+                .description(row.get(ROLES.DESCRIPTION))
+                .permissionsValue(PermissionUtil.toPermissionString(row.get(ROLES.PERMISSIONS)))
+                .createdAt(toOffsetDateTime(row.get(ROLES.CREATED_AT)))
+                .updatedAt(toOffsetDateTime(row.get(ROLES.UPDATED_AT)));
+    }
+    
+    private OffsetDateTime toOffsetDateTime(LocalDateTime localDateTime) {
+        return localDateTime != null ? localDateTime.atOffset(ZoneOffset.UTC) : null;
     }
 }
-
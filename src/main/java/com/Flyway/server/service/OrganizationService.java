@@ -11,10 +11,8 @@ import com.Flyway.server.exception.ConflictException;
 import com.Flyway.server.exception.ResourceNotFoundException;
 import com.Flyway.server.repository.OrganizationMemberRepository;
 import com.Flyway.server.repository.OrganizationRepository;
-import com.Flyway.server.repository.RoleRepository;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,9 +26,9 @@ import java.util.stream.Collectors;
 public class OrganizationService {
     
     private final OrganizationRepository organizationRepository;
-    private final RoleRepository roleRepository;
+    private final LookupTableCache lookupTableCache;
     private final OrganizationMemberRepository organizationMemberRepository;
-    private final ApplicationEventPublisher eventPublisher;
+    private final EventOutboxService eventOutboxService;
     
     public OrganizationResponse getOrganizationById(String id) {
         OrganizationsRecord org = organizationRepository.findById(id)
@@ -97,7 +95,7 @@ public class OrganizationService {
         OrganizationResponse response = getOrganizationById(orgId);
         
         // Publish event for audit logging, webhooks, and notifications
-        eventPublisher.publishEvent(new OrganizationCreatedEvent(
+        eventOutboxService.publish(new OrganizationCreatedEvent(
                 orgId,
                 request.getName(),
                 createdBy
@@ -117,7 +115,7 @@ public class OrganizationService {
         OrganizationResponse response = getOrganizationById(id);
         
         // Publish event for audit logging, webhooks, and notifications
-        eventPublisher.publishEvent(new OrganizationUpdatedEvent(
+        eventOutboxService.publish(new OrganizationUpdatedEvent(
                 id,
                 request.getName(),
                 userId
@@ -131,7 +129,7 @@ public class OrganizationService {
      */
     private void assignOwnerRole(String orgId, String createdBy) {
         // Find the global Owner role
-        String ownerRoleId = roleRepository.findByName("Owner")
+        String ownerRoleId = lookupTableCache.findRoleByName("Owner")
                 .orElseThrow(() -> new ResourceNotFoundException("Role", "name", "Owner"))
                 .getId();
         
@@ -0,0 +1,79 @@
+package com.Flyway.server.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+
+/**
+ * Bounded, TTL-based cache of list totals for total=estimate pagination
+ *
+ * Counting a large organization's audit log costs more than reading a page of it. Paging
+ * through a list asks for the same total over and over, so it is counted once per TTL
+ * and reused, at the price of lagging writes made in the meantime.
+ */
+@Service
+public class PageTotalCache {
+    
+    private final Map<String, CachedTotal> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+    
+    public PageTotalCache(
+            @Value("${pagination.estimate-ttl-seconds:60}") long ttlSeconds,
+            @Value("${pagination.estimate-cache-max-entries:10000}") int maxEntries) {
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.maxEntries = maxEntries;
+    }
+    
+    /**
+     * Get the cached total for a list, counting it if it is missing or expired
+     *
+     * @param key Identifies the list and its filters
+     * @param counter Counts the list
+     */
+    public int get(String key, IntSupplier counter) {
+        CachedTotal cached = entries.get(key);
+        if (cached != null && cached.expiresAt() - System.nanoTime() > 0) {
+            return cached.total();
+        }
+        
+        int total = counter.getAsInt();
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+        entries.put(key, new CachedTotal(total, System.nanoTime() + ttlNanos));
+        return total;
+    }
+    
+    /**
+     * Build a cache key from a list name and its filters (nulls allowed)
+     */
+    public static String key(String list, Object... filters) {
+        StringBuilder key = new StringBuilder(list);
+        for (Object filter : filters) {
+            key.append('\u0000').append(filter);
+        }
+        return key.toString();
+    }
+    
+    /**
+     * Make room: drop expired entries, then arbitrary ones until below the bound
+     */
+    private void evict() {
+        long now = System.nanoTime();
+        entries.values().removeIf(cached -> cached.expiresAt() - now < 0);
+        
+        Iterator<String> iterator = entries.keySet().iterator();
+        while (entries.size() >= maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+    
+    private record CachedTotal(int total, long expiresAt) {
+    }
+}
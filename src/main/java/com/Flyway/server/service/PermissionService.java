@@ -5,6 +5,7 @@ import com.Flyway.server.jooq.tables.records.OrganizationMembersRecord;
 import com.Flyway.server.jooq.tables.records.RolesRecord;
 import com.Flyway.server.model.Permission;
 import com.Flyway.server.repository.OrganizationMemberRepository;
+import com.Flyway.server.repository.OrganizationRepository;
 import com.Flyway.server.repository.RoleRepository;
 import com.Flyway.server.util.PermissionUtil;
 
@@ -21,8 +22,33 @@ public class PermissionService {
     
     private final OrganizationMemberRepository organizationMemberRepository;
     private final RoleRepository roleRepository;
+    private final OrganizationRepository organizationRepository;
+    private final EffectivePermissionCache effectivePermissionCache;
+    private final PermissionVersionService permissionVersionService;
   
     
+    /**
+     * Get the effective permissions of a user in an organization as a bitmask.
+     * Organization owners get all permissions; non-members get none.
+     * Resolved values are cached until the membership changes, on any node.
+     * 
+     * @param userId The user ID
+     * @param organizationId The organization ID
+     * @return The effective permission value
+     */
+    public long getEffectivePermissions(String userId, String organizationId) {
+        long permissionVersion = permissionVersionService.getVersion(userId);
+        Long cached = effectivePermissionCache.get(userId, organizationId, permissionVersion);
+        if (cached != null) {
+            return cached;
+        }
+        
+        long permissions = resolvePermissions(userId, organizationId);
+        effectivePermissionCache.put(userId, organizationId, permissionVersion, permissions);
+        
+        return permissions;
+    }
+    
     /**
      * Check if a user has a specific permission in an organization
      * 
@@ -59,6 +85,21 @@ public class PermissionService {
         return PermissionUtil.hasPermission(rolePermissions, permissionCode);
     }
     
+    /**
+     * Resolve the effective permissions of a user in an organization from the database
+     */
+    private long resolvePermissions(String userId, String organizationId) {
+        if (organizationRepository.isUserOrganizationOwner(userId, organizationId)) {
+            return PermissionUtil.getAllPermissions();
+        }
+        
+        return organizationMemberRepository.findByOrganizationIdAndUserId(organizationId, userId)
+                .map(OrganizationMembersRecord::getRoleId)
+                .flatMap(roleRepository::findById)
+                .map(RolesRecord::getPermissions)
+                .orElse(0L);
+    }
+    
     /**
      * Get all available permissions in the system
      * 
@@ -0,0 +1,97 @@
+package com.Flyway.server.service;
+
+import com.Flyway.server.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Permission-version stamps used to revoke stateless access tokens
+ *
+ * Versions live in users.permission_version, so a bump on one node revokes the user's tokens
+ * on every node. Each node caches the versions it read for permissions.version-cache-ttl-ms,
+ * which bounds how long a revoked token keeps working elsewhere. A token is current only if
+ * it carries exactly the stored version.
+ */
+@Service
+public class PermissionVersionService {
+    
+    private final UserRepository userRepository;
+    private final Map<String, CachedVersion> versions = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+    
+    public PermissionVersionService(
+            UserRepository userRepository,
+            @Value("${permissions.version-cache-ttl-ms:2000}") long ttlMs,
+            @Value("${permissions.cache-max-entries:50000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.ttlNanos = ttlMs * 1_000_000L;
+        this.maxEntries = maxEntries;
+    }
+    
+    /**
+     * Get the current permission version of a user
+     */
+    public long getVersion(String userId) {
+        CachedVersion cached = versions.get(userId);
+        if (cached != null && cached.expiresAt() - System.nanoTime() > 0) {
+            return cached.version();
+        }
+        
+        long version = userRepository.findPermissionVersion(userId);
+        if (versions.size() >= maxEntries) {
+            evictExpired();
+        }
+        versions.put(userId, new CachedVersion(version, System.nanoTime() + ttlNanos));
+        return version;
+    }
+    
+    /**
+     * Check whether a token stamped with the given version still reflects the user's permissions
+     */
+    public boolean isCurrent(String userId, long tokenVersion) {
+        return tokenVersion == getVersion(userId);
+    }
+    
+    /**
+     * Invalidate every stateless token issued to a user so far. Joins the caller's transaction;
+     * this node stops accepting the tokens once it commits, other nodes within the cache TTL.
+     */
+    public void bump(String userId) {
+        userRepository.incrementPermissionVersion(userId);
+        versions.remove(userId);
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A read racing the uncommitted update may have cached the old version again
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.remove(userId);
+                }
+            });
+        }
+    }
+    
+    /**
+     * Make room: drop expired entries, then arbitrary ones until below the bound
+     */
+    private void evictExpired() {
+        long now = System.nanoTime();
+        versions.values().removeIf(cached -> cached.expiresAt() - now < 0);
+        
+        Iterator<String> iterator = versions.keySet().iterator();
+        while (versions.size() >= maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+    
+    private record CachedVersion(long version, long expiresAt) {
+    }
+}
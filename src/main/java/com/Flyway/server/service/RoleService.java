@@ -11,6 +11,8 @@ import com.Flyway.server.util.PermissionUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
@@ -23,9 +25,10 @@ public class RoleService {
     
     private final RoleRepository roleRepository;
     private final OrganizationMemberRepository organizationMemberRepository;
+    private final LookupTableCache lookupTableCache;
     
     public RoleResponse getRoleById(String id) {
-        RolesRecord role = roleRepository.findById(id)
+        RolesRecord role = lookupTableCache.findRoleById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Role", "id", id));
         
         return mapToRoleResponse(role);
@@ -40,7 +43,7 @@ public class RoleService {
 
     @Transactional
     public void deleteRole(String id) {
-        roleRepository.findById(id)
+        lookupTableCache.findRoleById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Role", "id", id));
         
         // Check if role has any members assigned to it
@@ -49,6 +52,24 @@ public class RoleService {
         }
         
         roleRepository.delete(id);
+        refreshAfterCommit();
+    }
+    
+    /**
+     * Reload the lookup tables once the change is committed, so a rollback cannot leave the
+     * cache without a role that still exists
+     */
+    private void refreshAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lookupTableCache.refresh();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lookupTableCache.refresh();
+            }
+        });
     }
     
     private RoleResponse mapToRoleResponse(RolesRecord record) {
@@ -0,0 +1,124 @@
+package com.Flyway.server.service;
+
+import com.Flyway.server.dto.generated.UpdateCheckResponse;
+import com.Flyway.server.exception.BadRequestException;
+import com.Flyway.server.model.IndexedBuild;
+import com.Flyway.server.model.IndexedDelta;
+import com.Flyway.server.model.UpdateCheckResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Service answering device update checks.
+ * Everything here is served from in-memory state - no database access on this path.
+ * Each result carries a strong ETag so unchanged checks can be answered with a bodiless 304.
+ */
+@Service
+@RequiredArgsConstructor
+public class UpdateCheckService {
+    
+    private static final String NO_UPDATE_ETAG = "\"none\"";
+    
+    private final BuildIndexService buildIndexService;
+    private final DeploymentIndexService deploymentIndexService;
+    
+    /**
+     * Work out what a device should be offered, without building the response
+     * 
+     * @param bundleId Bundle ID of the application
+     * @param nativeVersion Native version installed on the device
+     * @param channel Channel the device is subscribed to; without one, the newest build is offered
+     * @param currentCommit Commit hash of the bundle currently installed, if any
+     * @param deviceId Stable device identifier, used to place the device in staged rollouts
+     */
+    public UpdateCheckResult resolveUpdate(
+            String bundleId,
+            String nativeVersion,
+            String channel,
+            String currentCommit,
+            String deviceId) {
+        
+        if (bundleId == null || bundleId.isBlank()) {
+            throw new BadRequestException("bundleId is required");
+        }
+        
+        if (nativeVersion == null || nativeVersion.isBlank()) {
+            throw new BadRequestException("nativeVersion is required");
+        }
+        
+        Optional<IndexedBuild> target = (channel == null || channel.isBlank())
+                ? buildIndexService.findLatest(bundleId, nativeVersion)
+                : findDeployedBuild(bundleId, channel, nativeVersion, deviceId);
+        
+        if (target.isEmpty() || target.get().getCommitHash().equals(currentCommit)) {
+            return UpdateCheckResult.builder()
+                    .etag(NO_UPDATE_ETAG)
+                    .build();
+        }
+        
+        // Offer the smallest artifact: a delta from the device's current commit if one exists
+        IndexedDelta delta = buildIndexService.findDelta(target.get().getId(), currentCommit).orElse(null);
+        
+        return UpdateCheckResult.builder()
+                .build(target.get())
+                .delta(delta)
+                .etag(toEtag(target.get(), delta))
+                .build();
+    }
+    
+    /**
+     * Map a resolved update check to the response DTO
+     */
+    public UpdateCheckResponse toResponse(UpdateCheckResult result) {
+        if (!result.isUpdateAvailable()) {
+            return new UpdateCheckResponse().updateAvailable(false);
+        }
+        
+        IndexedBuild build = result.getBuild();
+        IndexedDelta delta = result.getDelta();
+        UpdateCheckResponse response = new UpdateCheckResponse()
+                .updateAvailable(true)
+                .buildId(build.getId())
+                .commitHash(build.getCommitHash())
+                .nativeVersion(build.getNativeVersion())
+                .fullDownloadUrl(build.getBuildUrl())
+                .fullSize(build.getBuildSize());
+        
+        if (delta != null) {
+            return response
+                    .artifactType(UpdateCheckResponse.ArtifactTypeEnum.DELTA)
+                    .downloadUrl(delta.getDeltaUrl())
+                    .size(delta.getDeltaSize());
+        }
+        
+        return response
+                .artifactType(UpdateCheckResponse.ArtifactTypeEnum.FULL)
+                .downloadUrl(build.getBuildUrl())
+                .size(build.getBuildSize());
+    }
+    
+    /**
+     * Resolve the build a channel serves to this device (the deployed one, or the previous one
+     * outside a staged rollout), if it is compatible with the device's native version
+     */
+    private Optional<IndexedBuild> findDeployedBuild(
+            String bundleId, String channel, String nativeVersion, String deviceId) {
+        return deploymentIndexService.find(bundleId, channel)
+                .map(pointer -> pointer.buildIdFor(deviceId))
+                .flatMap(buildIndexService::findById)
+                .filter(build -> build.getNativeVersion().equals(nativeVersion));
+    }
+    
+    /**
+     * Builds and deltas are immutable, so the pair identifies the response body. Any change to
+     * a deployment pointer (promotion, rollback, rollout) that affects this device resolves to
+     * another build and therefore another tag.
+     */
+    private static String toEtag(IndexedBuild build, IndexedDelta delta) {
+        return delta != null
+                ? "\"" + build.getId() + "." + delta.getId() + "\""
+                : "\"" + build.getId() + "\"";
+    }
+}
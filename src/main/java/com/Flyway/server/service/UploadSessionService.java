@@ -0,0 +1,316 @@
+package com.Flyway.server.service;
+
+import com.Flyway.server.dto.generated.BuildResponse;
+import com.Flyway.server.dto.generated.CreateUploadSessionRequest;
+import com.Flyway.server.dto.generated.UploadSessionResponse;
+import com.Flyway.server.exception.BadRequestException;
+import com.Flyway.server.exception.ConflictException;
+import com.Flyway.server.exception.ForbiddenException;
+import com.Flyway.server.exception.ResourceNotFoundException;
+import com.Flyway.server.jooq.tables.records.UploadSessionPartsRecord;
+import com.Flyway.server.jooq.tables.records.UploadSessionsRecord;
+import com.Flyway.server.repository.AppBuildRepository;
+import com.Flyway.server.repository.MobileApplicationRepository;
+import com.Flyway.server.repository.UploadSessionRepository;
+import com.Flyway.server.storage.DigestingInputStream;
+import com.Flyway.server.storage.StoragePaths;
+import com.Flyway.server.storage.StorageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Resumable uploads: a build is sent as fixed-size parts that can be uploaded in parallel
+ * and retried individually, then assembled into an app build on completion.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UploadSessionService {
+    
+    private final UploadSessionRepository uploadSessionRepository;
+    private final AppBuildRepository appBuildRepository;
+    private final MobileApplicationRepository mobileApplicationRepository;
+    private final AppBuildService appBuildService;
+    private final StorageService storageService;
+    
+    @Value("${uploads.max-file-size}")
+    private long maxFileSize;
+    
+    @Value("${uploads.part-size}")
+    private int partSize;
+    
+    @Value("${uploads.session-ttl-hours}")
+    private long sessionTtlHours;
+    
+    /**
+     * Start a resumable upload
+     */
+    public UploadSessionResponse createSession(
+            String organizationId,
+            String bundleId,
+            String createdBy,
+            CreateUploadSessionRequest request) {
+        
+        if (request.getTotalSize() == null || request.getTotalSize() <= 0) {
+            throw new BadRequestException("Total size must be greater than zero");
+        }
+        
+        if (request.getTotalSize() > maxFileSize) {
+            throw new BadRequestException("File size exceeds maximum allowed size of "
+                    + (maxFileSize / (1024 * 1024)) + "MB");
+        }
+        
+        String filename = request.getFilename();
+        if (filename == null || filename.isBlank() || filename.contains("/") || filename.contains("\\")) {
+            throw new BadRequestException("A valid file name is required");
+        }
+        
+        if (request.getSha256() != null && !request.getSha256().matches("[0-9a-fA-F]{64}")) {
+            throw new BadRequestException("SHA-256 must be 64 hexadecimal characters");
+        }
+        
+        // Verify the app belongs to the organization
+        var app = mobileApplicationRepository.findByBundleId(bundleId)
+                .orElseThrow(() -> new ResourceNotFoundException("Mobile Application", "bundleId", bundleId));
+        if (!app.getOrganizationId().equals(organizationId)) {
+            throw new ForbiddenException("You do not have access to this mobile application");
+        }
+        
+        // Fail early rather than after the whole build has been transferred
+        if (appBuildRepository.exists(organizationId, bundleId, request.getCommitHash())) {
+            throw new ConflictException("A build with commit hash '" + request.getCommitHash() +
+                    "' already exists for this application");
+        }
+        
+        UploadSessionsRecord session = uploadSessionRepository.create(
+                organizationId,
+                bundleId,
+                request.getCommitHash(),
+                request.getBranchName(),
+                request.getCommitMessage(),
+                request.getNativeVersion(),
+                filename,
+                request.getTotalSize(),
+                partSize,
+                request.getSha256() != null ? request.getSha256().toLowerCase() : null,
+                createdBy,
+                LocalDateTime.now().plusHours(sessionTtlHours)
+        );
+        
+        return mapToUploadSessionResponse(session, List.of());
+    }
+    
+    /**
+     * Get the progress of a resumable upload
+     */
+    public UploadSessionResponse getSession(String sessionId, String organizationId, String bundleId) {
+        UploadSessionsRecord session = findSession(sessionId, organizationId, bundleId);
+        return mapToUploadSessionResponse(session, uploadSessionRepository.findParts(sessionId));
+    }
+    
+    /**
+     * Receive one part of a resumable upload
+     * 
+     * Parts are stored as independent objects, so clients may send several in parallel
+     * and re-send any part after a dropped connection.
+     * 
+     * @param offset Byte offset of the part in the build, a multiple of the session's part size
+     * @param contentLength Size of the part in bytes
+     */
+    public UploadSessionResponse uploadPart(
+            String sessionId,
+            String organizationId,
+            String bundleId,
+            long offset,
+            long contentLength,
+            InputStream inputStream) throws IOException {
+        
+        UploadSessionsRecord session = findSession(sessionId, organizationId, bundleId);
+        
+        long totalSize = session.getTotalSize();
+        int sessionPartSize = session.getPartSize();
+        
+        if (offset < 0 || offset >= totalSize || offset % sessionPartSize != 0) {
+            throw new BadRequestException("Offset must be a multiple of " + sessionPartSize
+                    + " smaller than " + totalSize);
+        }
+        
+        int partNumber = (int) (offset / sessionPartSize);
+        int expectedSize = (int) Math.min(sessionPartSize, totalSize - offset);
+        
+        if (contentLength != expectedSize) {
+            throw new BadRequestException("Part at offset " + offset + " must be exactly " + expectedSize + " bytes");
+        }
+        
+        String partPath = StoragePaths.uploadPart(sessionId, partNumber);
+        DigestingInputStream partStream = new DigestingInputStream(inputStream, expectedSize);
+        try {
+            storageService.store(partStream, expectedSize, partPath);
+        } catch (DigestingInputStream.SizeLimitExceededException e) {
+            throw new BadRequestException("Part at offset " + offset + " must be exactly " + expectedSize + " bytes");
+        }
+        
+        if (partStream.getBytesRead() != expectedSize) {
+            throw new BadRequestException("Received " + partStream.getBytesRead() + " bytes but "
+                    + expectedSize + " were declared");
+        }
+        
+        uploadSessionRepository.savePart(sessionId, partNumber, expectedSize);
+        
+        return mapToUploadSessionResponse(session, uploadSessionRepository.findParts(sessionId));
+    }
+    
+    /**
+     * Assemble the received parts into a build and create its app_builds row
+     * 
+     * The parts are streamed back in order through the regular upload pipeline, which
+     * hashes the result, verifies the announced SHA-256 and publishes BuildUploadedEvent.
+     */
+    public BuildResponse completeSession(String sessionId, String organizationId, String bundleId) throws IOException {
+        UploadSessionsRecord session = findSession(sessionId, organizationId, bundleId);
+        
+        int partCount = partCount(session);
+        List<UploadSessionPartsRecord> parts = uploadSessionRepository.findParts(sessionId);
+        if (parts.size() != partCount) {
+            throw new ConflictException("Upload is incomplete: received " + parts.size() + " of " + partCount + " parts");
+        }
+        
+        BuildResponse build;
+        try (InputStream assembled = new SequenceInputStream(partStreams(sessionId, partCount))) {
+            build = appBuildService.uploadBuildStream(
+                    session.getOrganizationId(),
+                    session.getBundleId(),
+                    session.getCommitHash(),
+                    session.getBranchName(),
+                    session.getCommitMessage(),
+                    session.getNativeVersion(),
+                    session.getCreatedBy(),
+                    session.getFilename(),
+                    assembled,
+                    session.getTotalSize(),
+                    session.getExpectedSha256(),
+                    maxFileSize
+            );
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        
+        deleteSession(session);
+        
+        return build;
+    }
+    
+    /**
+     * Abandon a resumable upload and discard its parts
+     */
+    public void abortSession(String sessionId, String organizationId, String bundleId) {
+        deleteSession(findSession(sessionId, organizationId, bundleId));
+    }
+    
+    /**
+     * Discard sessions that were neither completed nor aborted before they expired
+     */
+    @Scheduled(fixedDelayString = "${uploads.cleanup-interval-ms:600000}")
+    public void purgeExpiredSessions() {
+        List<UploadSessionsRecord> expired = uploadSessionRepository.findExpired(LocalDateTime.now());
+        for (UploadSessionsRecord session : expired) {
+            deleteSession(session);
+        }
+        
+        if (!expired.isEmpty()) {
+            log.info("Purged {} expired upload sessions", expired.size());
+        }
+    }
+    
+    /**
+     * Find a live session owned by the given application
+     */
+    private UploadSessionsRecord findSession(String sessionId, String organizationId, String bundleId) {
+        UploadSessionsRecord session = uploadSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload session", "id", sessionId));
+        
+        if (!session.getOrganizationId().equals(organizationId) || !session.getBundleId().equals(bundleId)) {
+            throw new ForbiddenException("You do not have access to this upload session");
+        }
+        
+        if (session.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new ResourceNotFoundException("Upload session", "id", sessionId);
+        }
+        
+        return session;
+    }
+    
+    /**
+     * Open the parts one at a time, only when the previous one has been fully read
+     */
+    private Enumeration<InputStream> partStreams(String sessionId, int partCount) {
+        return new Enumeration<>() {
+            private int next = 0;
+            
+            @Override
+            public boolean hasMoreElements() {
+                return next < partCount;
+            }
+            
+            @Override
+            public InputStream nextElement() {
+                try {
+                    return storageService.load(StoragePaths.uploadPart(sessionId, next++));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+    
+    /**
+     * Delete the stored parts and the session row
+     */
+    private void deleteSession(UploadSessionsRecord session) {
+        for (UploadSessionPartsRecord part : uploadSessionRepository.findParts(session.getId())) {
+            try {
+                storageService.delete(StoragePaths.uploadPart(session.getId(), part.getPartNumber()));
+            } catch (Exception e) {
+                log.warn("Failed to delete part {} of upload session {}", part.getPartNumber(), session.getId(), e);
+            }
+        }
+        
+        uploadSessionRepository.deleteById(session.getId());
+    }
+    
+    private int partCount(UploadSessionsRecord session) {
+        return (int) ((session.getTotalSize() + session.getPartSize() - 1) / session.getPartSize());
+    }
+    
+    /**
+     * Map database record to response DTO
+     */
+    private UploadSessionResponse mapToUploadSessionResponse(
+            UploadSessionsRecord session,
+            List<UploadSessionPartsRecord> parts) {
+        
+        return new UploadSessionResponse()
+                .id(session.getId())
+                .bundleId(session.getBundleId())
+                .commitHash(session.getCommitHash())
+                .filename(session.getFilename())
+                .totalSize(session.getTotalSize())
+                .partSize(session.getPartSize())
+                .partCount(partCount(session))
+                .receivedParts(parts.stream().map(UploadSessionPartsRecord::getPartNumber).toList())
+                .bytesReceived(parts.stream().mapToLong(UploadSessionPartsRecord::getSize).sum())
+                .expiresAt(session.getExpiresAt().atOffset(ZoneOffset.UTC));
+    }
+}
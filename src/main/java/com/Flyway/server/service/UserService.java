@@ -20,10 +20,7 @@ import com.Flyway.server.exception.ResourceNotFoundException;
 import com.Flyway.server.repository.OrganizationMemberRepository;
 import com.Flyway.server.repository.OrganizationRepository;
 import com.Flyway.server.repository.UserRepository;
-import com.Flyway.server.repository.UserStatusRepository;
 import com.Flyway.server.repository.InvitationRepository;
-import com.Flyway.server.repository.InvitationStatusRepository;
-import com.Flyway.server.repository.RoleRepository;
 import com.Flyway.server.util.PermissionUtil;
 
 import lombok.RequiredArgsConstructor;
@@ -42,13 +39,11 @@ import java.util.stream.Collectors;
 public class UserService {
     
     private final UserRepository userRepository;
-    private final UserStatusRepository userStatusRepository;
+    private final LookupTableCache lookupTableCache;
     private final OrganizationMemberRepository organizationMemberRepository;
     private final OrganizationRepository organizationRepository;
     private final PermissionService permissionService;
     private final InvitationRepository invitationRepository;
-    private final InvitationStatusRepository invitationStatusRepository;
-    private final RoleRepository roleRepository;
     
     public UserResponse getUserById(String id) {
         UsersRecord user = userRepository.findById(id)
@@ -120,7 +115,7 @@ public class UserService {
             return null;
         }
         
-        return userStatusRepository.findById(userStatusId)
+        return lookupTableCache.findUserStatusById(userStatusId)
                 .map(statusRecord -> {
                     UserStatusEnum statusEnum = UserStatusEnum.fromValue(statusRecord.getCode());
                     return new UserStatusResponse()
@@ -153,7 +148,7 @@ public class UserService {
                 .stream()
                 .collect(Collectors.toMap(OrganizationsRecord::getId, org -> org));
         
-        Map<String, RolesRecord> roleMap = roleRepository.findByIds(roleIds)
+        Map<String, RolesRecord> roleMap = lookupTableCache.findRolesByIds(roleIds)
                 .stream()
                 .collect(Collectors.toMap(RolesRecord::getId, role -> role));
         
@@ -174,7 +169,7 @@ public class UserService {
                     .distinct()
                     .collect(Collectors.toList());
             
-            invitationStatusMap = invitationStatusRepository.findByIds(invitationStatusIds)
+            invitationStatusMap = lookupTableCache.findInvitationStatusesByIds(invitationStatusIds)
                     .stream()
                     .collect(Collectors.toMap(InvitationStatusesRecord::getId, status -> status));
         }
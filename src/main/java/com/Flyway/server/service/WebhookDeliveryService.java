@@ -0,0 +1,478 @@
+package com.Flyway.server.service;
+
+import com.Flyway.server.event.DomainEvent;
+import com.Flyway.server.jooq.tables.records.WebhooksRecord;
+import com.Flyway.server.repository.WebhookDeliveryRepository;
+import com.Flyway.server.repository.WebhookRepository;
+import com.Flyway.server.util.NetworkAddressUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers domain events to webhook endpoints over a non-blocking HTTP client.
+ *
+ * Every webhook gets its own in-memory endpoint: a bounded queue of pending events and at
+ * most max_concurrency requests in flight. With batch_size above 1, events are coalesced
+ * into a single POST once the batch is full or the oldest event waited batch_window_ms.
+ * Failed requests (network errors, 408, 429 and 5xx) are retried with exponential backoff
+ * and jitter, keeping their concurrency slot, up to webhooks.retry.max-attempts.
+ *
+ * Bodies are {"events":[...]} signed with the webhook secret in X-Flyway-Signature
+ * (sha256=hex HMAC of the raw body). Each attempt is recorded in webhook_deliveries.
+ *
+ * Webhook URLs are user-supplied, so unless webhooks.allow-private-addresses is set, every
+ * attempt first resolves the host and gives up on the batch if it resolves to an address that
+ * is not public (loopback, private networks, cloud metadata endpoints).
+ */
+@Slf4j
+@Service
+public class WebhookDeliveryService {
+    
+    private static final String ALL_EVENTS = "*";
+    
+    private final WebhookRepository webhookRepository;
+    private final WebhookDeliveryRepository webhookDeliveryRepository;
+    private final int maxPendingPerEndpoint;
+    private final Duration requestTimeout;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final int logRetentionDays;
+    private final boolean allowPrivateAddresses;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new SimpleModule().addSerializer(Instant.class, ToStringSerializer.instance));
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+    private final ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("webhook-scheduler").daemon(true).factory());
+    
+    public WebhookDeliveryService(
+            WebhookRepository webhookRepository,
+            WebhookDeliveryRepository webhookDeliveryRepository,
+            @Value("${webhooks.max-pending-per-endpoint:1000}") int maxPendingPerEndpoint,
+            @Value("${webhooks.connect-timeout-ms:5000}") long connectTimeoutMs,
+            @Value("${webhooks.request-timeout-ms:10000}") long requestTimeoutMs,
+            @Value("${webhooks.retry.max-attempts:6}") int maxAttempts,
+            @Value("${webhooks.retry.initial-backoff-ms:1000}") long initialBackoffMs,
+            @Value("${webhooks.retry.max-backoff-ms:300000}") long maxBackoffMs,
+            @Value("${webhooks.delivery-log-retention-days:14}") int logRetentionDays,
+            @Value("${webhooks.allow-private-addresses:false}") boolean allowPrivateAddresses) {
+        this.webhookRepository = webhookRepository;
+        this.webhookDeliveryRepository = webhookDeliveryRepository;
+        this.maxPendingPerEndpoint = maxPendingPerEndpoint;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.logRetentionDays = logRetentionDays;
+        this.allowPrivateAddresses = allowPrivateAddresses;
+        // Responses complete on virtual threads, so recording the attempt may block on the database
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .executor(virtualThreads)
+                .build();
+    }
+    
+    /**
+     * Queue an event for every active webhook of its organization subscribed to its type
+     */
+    public void dispatch(DomainEvent event) {
+        if (event.getOrganizationId() == null) {
+            return;
+        }
+        
+        List<WebhooksRecord> active = webhookRepository.findActiveByOrganizationId(event.getOrganizationId());
+        forgetInactive(event.getOrganizationId(), active);
+        
+        List<WebhooksRecord> subscribed = active.stream()
+                .filter(webhook -> isSubscribed(webhook, event.getEventType()))
+                .toList();
+        if (subscribed.isEmpty()) {
+            return;
+        }
+        
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize event {} for webhooks - {}", event.getEventId(), e.getMessage(), e);
+            return;
+        }
+        
+        PendingEvent pending = new PendingEvent(event.getEventType(), payload, System.nanoTime());
+        for (WebhooksRecord webhook : subscribed) {
+            endpointFor(webhook).offer(pending);
+        }
+    }
+    
+    /**
+     * Get the endpoint of a webhook, replacing it if the webhook was changed since it was
+     * created (possibly on another node, which cannot forget it here)
+     */
+    private Endpoint endpointFor(WebhooksRecord webhook) {
+        Endpoint current = endpoints.get(webhook.getId());
+        if (current != null && current.matches(webhook)) {
+            return current;
+        }
+        return endpoints.compute(webhook.getId(), (id, existing) -> {
+            if (existing != null && existing.matches(webhook)) {
+                return existing;
+            }
+            if (existing != null) {
+                existing.close();
+            }
+            return new Endpoint(webhook);
+        });
+    }
+    
+    /**
+     * Drop the endpoints of an organization's webhooks that were deleted or deactivated
+     */
+    private void forgetInactive(String organizationId, List<WebhooksRecord> active) {
+        Set<String> activeIds = active.stream().map(WebhooksRecord::getId).collect(Collectors.toSet());
+        endpoints.values().stream()
+                .filter(endpoint -> endpoint.organizationId.equals(organizationId))
+                .filter(endpoint -> !activeIds.contains(endpoint.webhookId))
+                .toList()
+                .forEach(endpoint -> forget(endpoint.webhookId));
+    }
+    
+    /**
+     * Drop a webhook's endpoint so the next event picks up its new settings.
+     * Pending events of a deleted or deactivated webhook are discarded.
+     */
+    public void forget(String webhookId) {
+        Endpoint endpoint = endpoints.remove(webhookId);
+        if (endpoint != null) {
+            endpoint.close();
+        }
+    }
+    
+    /**
+     * Number of events dropped because an endpoint's queue was full, since startup
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+    
+    /**
+     * Prune the delivery log
+     */
+    @Scheduled(fixedDelayString = "${webhooks.delivery-log-prune-interval-ms:3600000}")
+    public void pruneDeliveryLog() {
+        try {
+            int deleted = webhookDeliveryRepository.deleteOlderThan(LocalDateTime.now().minusDays(logRetentionDays));
+            if (deleted > 0) {
+                log.debug("Pruned {} webhook delivery log entries", deleted);
+            }
+        } catch (Exception e) {
+            log.error("Failed to prune webhook delivery log - {}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Check whether webhooks may be sent to a host: every address it resolves to must be public,
+     * unless private addresses are allowed
+     *
+     * @throws UnknownHostException if the host cannot be resolved
+     */
+    public boolean isAllowedHost(String host) throws UnknownHostException {
+        if (allowPrivateAddresses) {
+            return true;
+        }
+        return Arrays.stream(InetAddress.getAllByName(host)).allMatch(NetworkAddressUtil::isPublic);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        // Pending and retrying deliveries are lost; webhooks are best effort across restarts
+        scheduler.shutdownNow();
+        httpClient.shutdownNow();
+        virtualThreads.shutdownNow();
+    }
+    
+    private boolean isSubscribed(WebhooksRecord webhook, String eventType) {
+        return Arrays.stream(webhook.getEventTypes().split(","))
+                .anyMatch(type -> type.equals(ALL_EVENTS) || type.equals(eventType));
+    }
+    
+    private long backoffMillis(int attempt) {
+        long delay = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        // Jitter between half and the full delay so failing endpoints are not hit in lockstep
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+    
+    private static boolean isRetryable(int statusCode) {
+        return statusCode == 408 || statusCode == 429 || statusCode >= 500;
+    }
+    
+    private static String sign(String secret, byte[] body) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return "sha256=" + HexFormat.of().formatHex(mac.doFinal(body));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+    
+    private record PendingEvent(String eventType, byte[] payload, long queuedAt) {
+    }
+    
+    /**
+     * One POST worth of events, signed once and resent as is on retries
+     */
+    private record Batch(String deliveryId, String eventType, int eventCount, byte[] body, String signature) {
+    }
+    
+    /**
+     * The webhook host resolved to an address webhooks may not reach; not retried
+     */
+    private static final class BlockedAddressException extends IOException {
+        
+        BlockedAddressException(String host) {
+            super("Webhook host " + host + " resolves to a non-public address");
+        }
+    }
+    
+    /**
+     * Per-webhook queue, concurrency limit and batching window. All state is guarded by the endpoint's monitor.
+     */
+    private class Endpoint {
+        
+        private final String webhookId;
+        private final String organizationId;
+        private final URI url;
+        private final String secret;
+        private final int maxConcurrency;
+        private final int batchSize;
+        private final long batchWindowNanos;
+        
+        private final Queue<PendingEvent> pending = new ArrayDeque<>();
+        private int inFlight;
+        private boolean flushScheduled;
+        private boolean closed;
+        
+        Endpoint(WebhooksRecord webhook) {
+            this.webhookId = webhook.getId();
+            this.organizationId = webhook.getOrganizationId();
+            this.url = URI.create(webhook.getUrl());
+            this.secret = webhook.getSecret();
+            this.maxConcurrency = Math.max(1, webhook.getMaxConcurrency());
+            this.batchSize = Math.max(1, webhook.getBatchSize());
+            this.batchWindowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, webhook.getBatchWindowMs()));
+        }
+        
+        /**
+         * Whether the endpoint still reflects the webhook's delivery settings
+         */
+        boolean matches(WebhooksRecord webhook) {
+            return url.toString().equals(webhook.getUrl())
+                    && secret.equals(webhook.getSecret())
+                    && maxConcurrency == Math.max(1, webhook.getMaxConcurrency())
+                    && batchSize == Math.max(1, webhook.getBatchSize())
+                    && batchWindowNanos == TimeUnit.MILLISECONDS.toNanos(Math.max(0, webhook.getBatchWindowMs()));
+        }
+        
+        synchronized void offer(PendingEvent event) {
+            if (closed) {
+                return;
+            }
+            if (pending.size() >= maxPendingPerEndpoint) {
+                long total = dropped.incrementAndGet();
+                log.warn("Webhook {} has {} events pending, dropping {} ({} dropped since startup)",
+                         webhookId, pending.size(), event.eventType(), total);
+                return;
+            }
+            pending.offer(event);
+            pump();
+        }
+        
+        synchronized void close() {
+            closed = true;
+            pending.clear();
+        }
+        
+        /**
+         * Send ready batches while concurrency slots are free
+         */
+        private void pump() {
+            while (!closed && inFlight < maxConcurrency && !pending.isEmpty()) {
+                if (pending.size() < batchSize && batchWindowNanos > 0) {
+                    long waited = System.nanoTime() - pending.peek().queuedAt();
+                    if (waited < batchWindowNanos) {
+                        scheduleFlush(batchWindowNanos - waited);
+                        return;
+                    }
+                }
+                
+                inFlight++;
+                Batch batch = takeBatch();
+                // Send outside the monitor; sendAsync does not block
+                scheduler.execute(() -> send(batch, 1));
+            }
+        }
+        
+        private void scheduleFlush(long delayNanos) {
+            if (flushScheduled) {
+                return;
+            }
+            flushScheduled = true;
+            scheduler.schedule(() -> {
+                synchronized (this) {
+                    flushScheduled = false;
+                    pump();
+                }
+            }, delayNanos, TimeUnit.NANOSECONDS);
+        }
+        
+        private Batch takeBatch() {
+            List<PendingEvent> events = new ArrayList<>(Math.min(batchSize, pending.size()));
+            while (events.size() < batchSize && !pending.isEmpty()) {
+                events.add(pending.poll());
+            }
+            
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            body.writeBytes("{\"events\":[".getBytes(StandardCharsets.UTF_8));
+            for (int i = 0; i < events.size(); i++) {
+                if (i > 0) {
+                    body.write(',');
+                }
+                body.writeBytes(events.get(i).payload());
+            }
+            body.writeBytes("]}".getBytes(StandardCharsets.UTF_8));
+            
+            // A batch of mixed types is labelled with every type it carries
+            Set<String> types = events.stream().map(PendingEvent::eventType).collect(Collectors.toCollection(TreeSet::new));
+            byte[] bytes = body.toByteArray();
+            return new Batch(UUID.randomUUID().toString(), String.join(",", types), events.size(), bytes, sign(secret, bytes));
+        }
+        
+        private void send(Batch batch, int attempt) {
+            synchronized (this) {
+                if (closed) {
+                    inFlight--;
+                    return;
+                }
+            }
+            
+            // Resolving may block, so it runs off the scheduler thread
+            virtualThreads.execute(() -> sendIfAllowed(batch, attempt));
+        }
+        
+        /**
+         * Send the batch unless the host now resolves to an address webhooks may not reach
+         * (the DNS record may have changed since the webhook was registered)
+         */
+        private void sendIfAllowed(Batch batch, int attempt) {
+            long startedAt = System.nanoTime();
+            try {
+                if (!isAllowedHost(url.getHost())) {
+                    onComplete(batch, attempt, startedAt, null, new BlockedAddressException(url.getHost()));
+                    return;
+                }
+            } catch (UnknownHostException e) {
+                onComplete(batch, attempt, startedAt, null, e);
+                return;
+            }
+            
+            HttpRequest request = HttpRequest.newBuilder(url)
+                    .timeout(requestTimeout)
+                    .header("Content-Type", "application/json")
+                    .header("User-Agent", "Flyway-Webhooks")
+                    .header("X-Flyway-Event", batch.eventType())
+                    .header("X-Flyway-Delivery", batch.deliveryId())
+                    .header("X-Flyway-Signature", batch.signature())
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(batch.body()))
+                    .build();
+            
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> onComplete(batch, attempt, startedAt, response, error));
+        }
+        
+        private void onComplete(Batch batch, int attempt, long startedAt, HttpResponse<Void> response, Throwable error) {
+            int durationMs = (int) TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            Integer statusCode = response != null ? response.statusCode() : null;
+            boolean success = statusCode != null && statusCode >= 200 && statusCode < 300;
+            String message = error != null ? truncate(error.toString()) : null;
+            
+            try {
+                webhookDeliveryRepository.create(webhookId, truncate(batch.eventType()), batch.eventCount(), attempt,
+                                                 statusCode, success, durationMs, message);
+            } catch (Exception e) {
+                log.error("Failed to record webhook delivery for {} - {}", webhookId, e.getMessage());
+            }
+            
+            boolean retryable = !success && !(error instanceof BlockedAddressException)
+                    && (statusCode == null || isRetryable(statusCode));
+            if (retryable && attempt < maxAttempts) {
+                long delay = backoffMillis(attempt);
+                log.debug("Webhook {} delivery {} failed (attempt {}), retrying in {} ms",
+                          webhookId, batch.deliveryId(), attempt, delay);
+                try {
+                    scheduler.schedule(() -> send(batch, attempt + 1), delay, TimeUnit.MILLISECONDS);
+                    return;
+                } catch (Exception e) {
+                    // Scheduler shut down; give up on the batch
+                }
+            } else if (!success) {
+                log.warn("Giving up on webhook {} delivery {} ({} events) after {} attempts, last status {}",
+                         webhookId, batch.deliveryId(), batch.eventCount(), attempt, statusCode);
+            }
+            
+            synchronized (this) {
+                inFlight--;
+                pump();
+            }
+        }
+        
+        private static String truncate(String value) {
+            return value != null && value.length() > 255 ? value.substring(0, 255) : value;
+        }
+    }
+}
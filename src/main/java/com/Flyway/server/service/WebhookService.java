@@ -0,0 +1,232 @@
+package com.Flyway.server.service;
+
+import com.Flyway.server.dto.generated.CreateWebhookRequest;
+import com.Flyway.server.dto.generated.UpdateWebhookRequest;
+import com.Flyway.server.dto.generated.WebhookDeliveryResponse;
+import com.Flyway.server.dto.generated.WebhookResponse;
+import com.Flyway.server.exception.BadRequestException;
+import com.Flyway.server.exception.ForbiddenException;
+import com.Flyway.server.exception.ResourceNotFoundException;
+import com.Flyway.server.jooq.tables.records.WebhookDeliveriesRecord;
+import com.Flyway.server.jooq.tables.records.WebhooksRecord;
+import com.Flyway.server.repository.WebhookDeliveryRepository;
+import com.Flyway.server.repository.WebhookRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.security.SecureRandom;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class WebhookService {
+    
+    private static final int DEFAULT_MAX_CONCURRENCY = 2;
+    private static final int MAX_DELIVERIES_PAGE = 500;
+    
+    private final WebhookRepository webhookRepository;
+    private final WebhookDeliveryRepository webhookDeliveryRepository;
+    private final WebhookDeliveryService webhookDeliveryService;
+    
+    /**
+     * Get all webhooks of an organization
+     */
+    public List<WebhookResponse> getWebhooks(String organizationId, String authenticatedUserOrgId) {
+        verifyOrganizationAccess(organizationId, authenticatedUserOrgId);
+        
+        return webhookRepository.findByOrganizationId(organizationId).stream()
+                .map(record -> mapToWebhookResponse(record, false))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Subscribe a URL to domain events. The signing secret is only returned here.
+     */
+    @Transactional
+    public WebhookResponse createWebhook(
+            CreateWebhookRequest request,
+            String organizationId,
+            String userId,
+            String authenticatedUserOrgId) {
+        
+        verifyOrganizationAccess(organizationId, authenticatedUserOrgId);
+        
+        WebhooksRecord webhook = webhookRepository.create(
+                organizationId,
+                validateUrl(request.getUrl()),
+                generateSecret(),
+                joinEventTypes(request.getEventTypes()),
+                request.getMaxConcurrency() != null ? request.getMaxConcurrency() : DEFAULT_MAX_CONCURRENCY,
+                request.getBatchSize() != null ? request.getBatchSize() : 1,
+                request.getBatchWindowMs() != null ? request.getBatchWindowMs() : 0,
+                userId
+        );
+        
+        return mapToWebhookResponse(webhook, true);
+    }
+    
+    /**
+     * Update a webhook; fields left out keep their value
+     */
+    @Transactional
+    public WebhookResponse updateWebhook(
+            String webhookId,
+            UpdateWebhookRequest request,
+            String organizationId,
+            String authenticatedUserOrgId) {
+        
+        verifyOrganizationAccess(organizationId, authenticatedUserOrgId);
+        WebhooksRecord webhook = findWebhook(webhookId, organizationId);
+        
+        webhookRepository.update(
+                webhookId,
+                request.getUrl() != null ? validateUrl(request.getUrl()) : webhook.getUrl(),
+                request.getEventTypes() != null ? joinEventTypes(request.getEventTypes()) : webhook.getEventTypes(),
+                request.getMaxConcurrency() != null ? request.getMaxConcurrency() : webhook.getMaxConcurrency(),
+                request.getBatchSize() != null ? request.getBatchSize() : webhook.getBatchSize(),
+                request.getBatchWindowMs() != null ? request.getBatchWindowMs() : webhook.getBatchWindowMs(),
+                request.getActive() != null ? request.getActive() : webhook.getActive() != 0
+        );
+        forgetAfterCommit(webhookId);
+        
+        return mapToWebhookResponse(findWebhook(webhookId, organizationId), false);
+    }
+    
+    /**
+     * Delete a webhook and drop the events still waiting for it
+     */
+    @Transactional
+    public void deleteWebhook(String webhookId, String organizationId, String authenticatedUserOrgId) {
+        verifyOrganizationAccess(organizationId, authenticatedUserOrgId);
+        findWebhook(webhookId, organizationId);
+        
+        webhookRepository.delete(webhookId);
+        forgetAfterCommit(webhookId);
+    }
+    
+    /**
+     * Get the most recent delivery attempts of a webhook
+     */
+    public List<WebhookDeliveryResponse> getDeliveries(
+            String webhookId,
+            int limit,
+            String organizationId,
+            String authenticatedUserOrgId) {
+        
+        verifyOrganizationAccess(organizationId, authenticatedUserOrgId);
+        findWebhook(webhookId, organizationId);
+        
+        int cappedLimit = Math.max(1, Math.min(limit, MAX_DELIVERIES_PAGE));
+        return webhookDeliveryRepository.findRecentByWebhookId(webhookId, cappedLimit).stream()
+                .map(this::mapToDeliveryResponse)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Drop this node's endpoint of a webhook once the change is committed, so the next event
+     * rebuilds it from the stored settings (other nodes notice the change on their next dispatch)
+     */
+    private void forgetAfterCommit(String webhookId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            webhookDeliveryService.forget(webhookId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                webhookDeliveryService.forget(webhookId);
+            }
+        });
+    }
+    
+    private WebhooksRecord findWebhook(String webhookId, String organizationId) {
+        return webhookRepository.findByIdAndOrganizationId(webhookId, organizationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Webhook not found"));
+    }
+    
+    private void verifyOrganizationAccess(String organizationId, String authenticatedUserOrgId) {
+        if (!organizationId.equals(authenticatedUserOrgId)) {
+            throw new ForbiddenException("You do not have access to this organization");
+        }
+    }
+    
+    private String validateUrl(String url) {
+        try {
+            URI uri = URI.create(url.trim());
+            if (!"https".equalsIgnoreCase(uri.getScheme()) && !"http".equalsIgnoreCase(uri.getScheme())
+                    || uri.getHost() == null) {
+                throw new BadRequestException("Webhook URL must be an absolute http(s) URL");
+            }
+            // Deliveries check again before every attempt, in case the host's DNS records change
+            if (!webhookDeliveryService.isAllowedHost(uri.getHost())) {
+                throw new BadRequestException("Webhook URL must point to a public address");
+            }
+            return uri.toString();
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Webhook URL is not a valid URL");
+        } catch (UnknownHostException e) {
+            throw new BadRequestException("Webhook URL host cannot be resolved");
+        }
+    }
+    
+    private String joinEventTypes(List<String> eventTypes) {
+        List<String> cleaned = eventTypes == null ? List.of() : eventTypes.stream()
+                .map(String::trim)
+                .filter(type -> !type.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+        
+        if (cleaned.isEmpty()) {
+            throw new BadRequestException("At least one event type is required");
+        }
+        if (cleaned.stream().anyMatch(type -> type.contains(","))) {
+            throw new BadRequestException("Event types cannot contain commas");
+        }
+        return String.join(",", cleaned);
+    }
+    
+    private String generateSecret() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        return HexFormat.of().formatHex(secret);
+    }
+    
+    private WebhookResponse mapToWebhookResponse(WebhooksRecord record, boolean includeSecret) {
+        return new WebhookResponse()
+                .id(record.getId())
+                .organizationId(record.getOrganizationId())
+                .url(record.getUrl())
+                .secret(includeSecret ? record.getSecret() : null)
+                .eventTypes(Arrays.asList(record.getEventTypes().split(",")))
+                .maxConcurrency(record.getMaxConcurrency())
+                .batchSize(record.getBatchSize())
+                .batchWindowMs(record.getBatchWindowMs())
+                .active(record.getActive() != 0)
+                .createdBy(record.getCreatedBy())
+                .createdAt(record.getCreatedAt().atOffset(ZoneOffset.UTC))
+                .updatedAt(record.getUpdatedAt().atOffset(ZoneOffset.UTC));
+    }
+    
+    private WebhookDeliveryResponse mapToDeliveryResponse(WebhookDeliveriesRecord record) {
+        return new WebhookDeliveryResponse()
+                .id(record.getId())
+                .webhookId(record.getWebhookId())
+                .eventType(record.getEventType())
+                .eventCount(record.getEventCount())
+                .attempt(record.getAttempt())
+                .statusCode(record.getStatusCode() != null ? record.getStatusCode().intValue() : null)
+                .success(record.getSuccess() != 0)
+                .durationMs(record.getDurationMs())
+                .error(record.getError())
+                .createdAt(record.getCreatedAt().atOffset(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,29 @@
+package com.Flyway.server.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Per-build manifest of a chunked object: the ordered list of content-addressed chunks
+ * that reassemble into the original file.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChunkManifest {
+    
+    private long size;
+    private String sha256;
+    private List<Chunk> chunks;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Chunk {
+        private String hash;
+        private int size;
+    }
+}
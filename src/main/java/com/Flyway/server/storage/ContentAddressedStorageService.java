@@ -0,0 +1,230 @@
+package com.Flyway.server.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Content-addressed storage layered on top of the configured object store.
+ * 
+ * Objects are split into content-defined chunks (Gear rolling hash, 16KB min / 64KB average /
+ * 256KB max), and each chunk is stored once under chunks/{aa}/{sha256}. Identical assets shared by
+ * many builds (fonts, vendor JS, images) are therefore stored only once, and an edit only changes
+ * the chunks around it. A JSON manifest listing the chunks is written next to the object key,
+ * and reads reassemble the object by streaming the chunks in order.
+ * 
+ * Objects stored before chunking was enabled have no manifest and are read from the backend as is.
+ * Chunks are shared between builds and are not removed when a build is deleted.
+ */
+@Slf4j
+@Service
+@Primary
+@ConditionalOnProperty(name = "storage.chunking.enabled", havingValue = "true")
+public class ContentAddressedStorageService implements StorageService {
+    
+    private static final int MIN_CHUNK_SIZE = 16 * 1024;
+    private static final int MAX_CHUNK_SIZE = 256 * 1024;
+    private static final long CHUNK_MASK = (1L << 16) - 1; // ~64KB average chunk size
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_KNOWN_CHUNKS = 1_000_000;
+    
+    private static final String MANIFEST_SUFFIX = ".manifest.json";
+    private static final String DOWNLOAD_PATH = "/api/v1/bundles/";
+    
+    // Fixed seed: chunk boundaries must be identical across nodes and restarts
+    private static final long[] GEAR = new SplittableRandom(0x5EED_F1A7L).longs(256).toArray();
+    
+    private final StorageService backend;
+    private final String downloadBaseUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    // Chunks known to exist in the backend, to skip existence checks for popular chunks
+    private final Set<String> knownChunks = ConcurrentHashMap.newKeySet();
+    
+    public ContentAddressedStorageService(
+            @Qualifier(StorageService.BACKEND) StorageService backend,
+            @Value("${storage.download-base-url}") String downloadBaseUrl) {
+        this.backend = backend;
+        this.downloadBaseUrl = downloadBaseUrl;
+    }
+    
+    @Override
+    public String store(MultipartFile file, String path) throws IOException {
+        try (InputStream inputStream = file.getInputStream()) {
+            return store(inputStream, file.getSize(), path);
+        }
+    }
+    
+    @Override
+    public String store(InputStream inputStream, long size, String path) throws IOException {
+        MessageDigest fileDigest = sha256();
+        List<ChunkManifest.Chunk> chunks = new ArrayList<>();
+        int storedChunks = 0;
+        
+        byte[] chunk = new byte[MAX_CHUNK_SIZE];
+        byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+        int length = 0;
+        long hash = 0;
+        long total = 0;
+        int read;
+        
+        while ((read = inputStream.read(readBuffer)) != -1) {
+            fileDigest.update(readBuffer, 0, read);
+            total += read;
+            
+            for (int i = 0; i < read; i++) {
+                chunk[length++] = readBuffer[i];
+                hash = (hash << 1) + GEAR[readBuffer[i] & 0xff];
+                
+                if ((length >= MIN_CHUNK_SIZE && (hash & CHUNK_MASK) == 0) || length == MAX_CHUNK_SIZE) {
+                    storedChunks += storeChunk(chunk, length, chunks);
+                    length = 0;
+                    hash = 0;
+                }
+            }
+        }
+        
+        if (length > 0) {
+            storedChunks += storeChunk(chunk, length, chunks);
+        }
+        
+        ChunkManifest manifest = new ChunkManifest(total, HexFormat.of().formatHex(fileDigest.digest()), chunks);
+        byte[] manifestBytes = objectMapper.writeValueAsBytes(manifest);
+        backend.store(new ByteArrayInputStream(manifestBytes), manifestBytes.length, manifestPath(path));
+        
+        log.debug("Stored {} as {} chunks ({} new), {} bytes", path, chunks.size(), storedChunks, total);
+        return downloadBaseUrl + DOWNLOAD_PATH + path;
+    }
+    
+    @Override
+    public String move(String fromPath, String toPath) throws IOException {
+        // Chunks are shared by content, so only the manifest (or a raw backend object) changes key
+        if (backend.exists(manifestPath(fromPath))) {
+            backend.move(manifestPath(fromPath), manifestPath(toPath));
+        } else {
+            backend.move(fromPath, toPath);
+        }
+        return downloadBaseUrl + DOWNLOAD_PATH + toPath;
+    }
+    
+    @Override
+    public InputStream load(String path) throws IOException {
+        if (!backend.exists(manifestPath(path))) {
+            return backend.load(path);
+        }
+        
+        ChunkManifest manifest = loadManifest(path);
+        Iterator<ChunkManifest.Chunk> chunks = manifest.getChunks().iterator();
+        
+        // Open each chunk only when the previous one has been fully consumed
+        return new SequenceInputStream(new Enumeration<InputStream>() {
+            @Override
+            public boolean hasMoreElements() {
+                return chunks.hasNext();
+            }
+            
+            @Override
+            public InputStream nextElement() {
+                try {
+                    return backend.load(chunkPath(chunks.next().getHash()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+    }
+    
+    @Override
+    public boolean exists(String path) throws IOException {
+        return backend.exists(manifestPath(path)) || backend.exists(path);
+    }
+    
+    @Override
+    public void delete(String path) throws IOException {
+        backend.delete(manifestPath(path));
+        backend.delete(path);
+    }
+    
+    /**
+     * Check whether an object was stored as chunks (as opposed to a raw backend object)
+     */
+    public boolean isChunked(String path) throws IOException {
+        return backend.exists(manifestPath(path));
+    }
+    
+    /**
+     * Read the chunk manifest of an object
+     */
+    public ChunkManifest loadManifest(String path) throws IOException {
+        try (InputStream in = backend.load(manifestPath(path))) {
+            return objectMapper.readValue(in, ChunkManifest.class);
+        }
+    }
+    
+    /**
+     * Store a chunk unless an identical one already exists
+     * 
+     * @return 1 if the chunk was written, 0 if it was deduplicated
+     */
+    private int storeChunk(byte[] chunk, int length, List<ChunkManifest.Chunk> chunks) throws IOException {
+        MessageDigest digest = sha256();
+        digest.update(chunk, 0, length);
+        String hash = HexFormat.of().formatHex(digest.digest());
+        chunks.add(new ChunkManifest.Chunk(hash, length));
+        
+        if (knownChunks.contains(hash)) {
+            return 0;
+        }
+        
+        String chunkPath = chunkPath(hash);
+        int written = 0;
+        if (!backend.exists(chunkPath)) {
+            backend.store(new ByteArrayInputStream(chunk, 0, length), length, chunkPath);
+            written = 1;
+        }
+        
+        if (knownChunks.size() >= MAX_KNOWN_CHUNKS) {
+            knownChunks.clear();
+        }
+        knownChunks.add(hash);
+        
+        return written;
+    }
+    
+    private static String chunkPath(String hash) {
+        return String.format("chunks/%s/%s", hash.substring(0, 2), hash);
+    }
+    
+    private static String manifestPath(String path) {
+        return path + MANIFEST_SUFFIX;
+    }
+    
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
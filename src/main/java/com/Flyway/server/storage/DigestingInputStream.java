@@ -0,0 +1,91 @@
+package com.Flyway.server.storage;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Input stream that computes the SHA-256 and size of everything read through it
+ * and fails as soon as more than maxSize bytes have been read.
+ */
+public class DigestingInputStream extends FilterInputStream {
+    
+    private final MessageDigest digest;
+    private final long maxSize;
+    private long bytesRead;
+    
+    public DigestingInputStream(InputStream in, long maxSize) {
+        super(in);
+        this.maxSize = maxSize;
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            count(1);
+            digest.update((byte) b);
+        }
+        return b;
+    }
+    
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = super.read(b, off, len);
+        if (read > 0) {
+            count(read);
+            digest.update(b, off, read);
+        }
+        return read;
+    }
+    
+    @Override
+    public long skip(long n) throws IOException {
+        // Skipped bytes would be missing from the digest
+        throw new IOException("Skipping is not supported");
+    }
+    
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+    
+    /**
+     * Number of bytes read so far
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+    
+    /**
+     * Hex SHA-256 of the bytes read. Only call once the stream has been fully consumed.
+     */
+    public String getSha256() {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+    
+    private void count(int read) throws IOException {
+        bytesRead += read;
+        if (bytesRead > maxSize) {
+            throw new SizeLimitExceededException(maxSize);
+        }
+    }
+    
+    /**
+     * Thrown when the stream yields more than the allowed number of bytes
+     */
+    public static class SizeLimitExceededException extends IOException {
+        
+        public SizeLimitExceededException(long maxSize) {
+            super("Stream exceeds maximum allowed size of " + maxSize + " bytes");
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.Flyway.server.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Storage backed by the local filesystem (development and self-hosted installs)
+ */
+@Slf4j
+@Service
+@Qualifier(StorageService.BACKEND)
+@Profile("!prod")
+public class FileSystemStorageService implements StorageService {
+    
+    private static final int HASH_BUFFER_SIZE = 1024 * 1024;
+    private static final int MAX_CACHED_HASHES = 10_000;
+    
+    private final Path rootLocation;
+    private final String baseUrl;
+    
+    // path -> content hash, validated against the file's size and modification time
+    private final Map<String, CachedHash> contentHashes = new ConcurrentHashMap<>();
+    
+    public FileSystemStorageService(
+            @Value("${storage.filesystem.location}") String location,
+            @Value("${storage.filesystem.base-url}") String baseUrl) {
+        this.rootLocation = Paths.get(location).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl;
+    }
+    
+    @Override
+    public String store(MultipartFile file, String path) throws IOException {
+        try (InputStream inputStream = file.getInputStream()) {
+            return store(inputStream, file.getSize(), path);
+        }
+    }
+    
+    @Override
+    public String store(InputStream inputStream, long size, String path) throws IOException {
+        Path target = resolve(path);
+        Files.createDirectories(target.getParent());
+        
+        // Write next to the target and move into place, so a failed or rejected upload never leaves a partial object
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".part");
+        try {
+            Files.copy(inputStream, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        
+        log.debug("Stored {} bytes at {}", size, target);
+        return baseUrl + "/" + path;
+    }
+    
+    @Override
+    public String move(String fromPath, String toPath) throws IOException {
+        Path target = resolve(toPath);
+        Files.createDirectories(target.getParent());
+        Files.move(resolve(fromPath), target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        contentHashes.remove(fromPath);
+        contentHashes.remove(toPath);
+        
+        return baseUrl + "/" + toPath;
+    }
+    
+    @Override
+    public InputStream load(String path) throws IOException {
+        return Files.newInputStream(resolve(path));
+    }
+    
+    @Override
+    public boolean exists(String path) {
+        return Files.isRegularFile(resolve(path));
+    }
+    
+    @Override
+    public void delete(String path) throws IOException {
+        Files.deleteIfExists(resolve(path));
+        contentHashes.remove(path);
+    }
+    
+    /**
+     * Get the SHA-256 of a stored file. Hashes are cached until the file changes, so a file
+     * is read in full at most once per modification.
+     */
+    public String contentHash(String path) throws IOException {
+        Path file = resolve(path);
+        long size = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        
+        CachedHash cached = contentHashes.get(path);
+        if (cached != null && cached.size() == size && cached.lastModified() == lastModified) {
+            return cached.hash();
+        }
+        
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(HASH_BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        
+        String hash = HexFormat.of().formatHex(digest.digest());
+        if (contentHashes.size() >= MAX_CACHED_HASHES) {
+            contentHashes.clear();
+        }
+        contentHashes.put(path, new CachedHash(size, lastModified, hash));
+        
+        return hash;
+    }
+    
+    /**
+     * Resolve a storage key to a file under the root location, rejecting path traversal
+     */
+    public Path resolve(String path) {
+        Path resolved = rootLocation.resolve(path).normalize();
+        if (!resolved.startsWith(rootLocation)) {
+            throw new IllegalArgumentException("Storage path escapes the storage root: " + path);
+        }
+        return resolved;
+    }
+    
+    private record CachedHash(long size, long lastModified, String hash) {
+    }
+}
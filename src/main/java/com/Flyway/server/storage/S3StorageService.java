@@ -0,0 +1,82 @@
+package com.Flyway.server.storage;
+
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Storage backed by Amazon S3 (production)
+ */
+@Slf4j
+@Service
+@Qualifier(StorageService.BACKEND)
+@Profile("prod")
+public class S3StorageService implements StorageService {
+    
+    private final AmazonS3 s3Client;
+    private final String bucketName;
+    
+    public S3StorageService(
+            @Value("${storage.s3.bucket-name}") String bucketName,
+            @Value("${storage.s3.region}") String region,
+            @Value("${storage.s3.access-key}") String accessKey,
+            @Value("${storage.s3.secret-key}") String secretKey) {
+        this.bucketName = bucketName;
+        this.s3Client = AmazonS3ClientBuilder.standard()
+                .withRegion(region)
+                .withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials(accessKey, secretKey)))
+                .build();
+    }
+    
+    @Override
+    public String store(MultipartFile file, String path) throws IOException {
+        try (InputStream inputStream = file.getInputStream()) {
+            return store(inputStream, file.getSize(), path);
+        }
+    }
+    
+    @Override
+    public String store(InputStream inputStream, long size, String path) throws IOException {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(size);
+        s3Client.putObject(bucketName, path, inputStream, metadata);
+        
+        log.debug("Stored {} bytes at s3://{}/{}", size, bucketName, path);
+        return s3Client.getUrl(bucketName, path).toString();
+    }
+    
+    @Override
+    public String move(String fromPath, String toPath) {
+        // S3 has no rename: copy server-side, then drop the source
+        s3Client.copyObject(bucketName, fromPath, bucketName, toPath);
+        s3Client.deleteObject(bucketName, fromPath);
+        
+        return s3Client.getUrl(bucketName, toPath).toString();
+    }
+    
+    @Override
+    public InputStream load(String path) {
+        return s3Client.getObject(bucketName, path).getObjectContent();
+    }
+    
+    @Override
+    public boolean exists(String path) {
+        return s3Client.doesObjectExist(bucketName, path);
+    }
+    
+    @Override
+    public void delete(String path) {
+        s3Client.deleteObject(bucketName, path);
+    }
+}
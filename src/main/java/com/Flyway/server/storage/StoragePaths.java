@@ -0,0 +1,54 @@
+package com.Flyway.server.storage;
+
+/**
+ * Helpers for building and parsing storage keys of build artifacts
+ */
+public final class StoragePaths {
+    
+    private static final String BUILDS_PREFIX = "builds/";
+    
+    private StoragePaths() {
+    }
+    
+    /**
+     * Key of a full build artifact: builds/{org}/{bundle}/{commit}/{filename}
+     */
+    public static String build(String organizationId, String bundleId, String commitHash, String filename) {
+        return String.format("builds/%s/%s/%s/%s", organizationId, bundleId, commitHash, filename);
+    }
+    
+    /**
+     * Key of a delta patch: builds/{org}/{bundle}/{commit}/deltas/{fromCommit}.zip
+     */
+    public static String delta(String organizationId, String bundleId, String commitHash, String fromCommitHash) {
+        return String.format("builds/%s/%s/%s/deltas/%s.zip", organizationId, bundleId, commitHash, fromCommitHash);
+    }
+    
+    /**
+     * Key of one part of a resumable upload: uploads/{sessionId}/{partNumber}
+     */
+    public static String uploadPart(String sessionId, int partNumber) {
+        return String.format("uploads/%s/%d", sessionId, partNumber);
+    }
+    
+    /**
+     * Key a build is written to before it is known to be accepted: uploads/staged/{uploadId}
+     */
+    public static String stagedBuild(String uploadId) {
+        return String.format("uploads/staged/%s", uploadId);
+    }
+    
+    /**
+     * Extract the storage key from a public artifact URL
+     */
+    public static String fromUrl(String url, String organizationId, String bundleId, String commitHash) {
+        // Try to extract from URL pattern
+        if (url.contains(BUILDS_PREFIX + organizationId)) {
+            int startIdx = url.indexOf(BUILDS_PREFIX);
+            return url.substring(startIdx);
+        }
+        
+        // Fallback: reconstruct the path (won't work if filename is different)
+        return String.format("builds/%s/%s/%s/", organizationId, bundleId, commitHash);
+    }
+}
@@ -0,0 +1,49 @@
+package com.Flyway.server.storage;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Abstraction over the object store holding build artifacts.
+ * Paths are relative keys such as "builds/{org}/{bundle}/{commit}/{filename}".
+ */
+public interface StorageService {
+    
+    /**
+     * Qualifier of the concrete object store, for decorators layered on top of it
+     */
+    String BACKEND = "storageBackend";
+    
+    /**
+     * Store an uploaded file and return the public URL of the stored object
+     */
+    String store(MultipartFile file, String path) throws IOException;
+    
+    /**
+     * Store the content of a stream of known size and return the public URL of the stored object
+     */
+    String store(InputStream inputStream, long size, String path) throws IOException;
+    
+    /**
+     * Move a stored object to another key, replacing any object already there,
+     * and return the public URL of the object at its new key
+     */
+    String move(String fromPath, String toPath) throws IOException;
+    
+    /**
+     * Open a stored object for reading. The caller must close the stream.
+     */
+    InputStream load(String path) throws IOException;
+    
+    /**
+     * Check if an object exists
+     */
+    boolean exists(String path) throws IOException;
+    
+    /**
+     * Delete a stored object
+     */
+    void delete(String path) throws IOException;
+}
@@ -0,0 +1,36 @@
+package com.Flyway.server.util;
+
+import org.jooq.impl.AbstractConverter;
+
+/**
+ * jOOQ converter between BINARY(16) id columns and canonical UUID strings
+ *
+ * Applied by the code generator (forcedTypes in pom.xml), so repositories, services and DTOs
+ * keep handling ids as strings while the database stores 16 bytes.
+ */
+public class BinaryUuidConverter extends AbstractConverter<byte[], String> {
+    
+    private static final byte[] NO_MATCH = new byte[0];
+    
+    public BinaryUuidConverter() {
+        super(byte[].class, String.class);
+    }
+    
+    @Override
+    public String from(byte[] databaseObject) {
+        return databaseObject != null ? UuidUtil.fromBytes(databaseObject) : null;
+    }
+    
+    @Override
+    public byte[] to(String userObject) {
+        if (userObject == null) {
+            return null;
+        }
+        try {
+            return UuidUtil.toBytes(userObject);
+        } catch (IllegalArgumentException e) {
+            // A malformed id from a request matches no row (a 404), like it did as a CHAR(36)
+            return NO_MATCH;
+        }
+    }
+}
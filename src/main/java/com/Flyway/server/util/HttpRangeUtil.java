@@ -0,0 +1,70 @@
+package com.Flyway.server.util;
+
+/**
+ * Parsing of single byte-range "Range" headers (RFC 9110 section 14)
+ */
+public class HttpRangeUtil {
+    
+    /**
+     * Returned when the range cannot be satisfied for the resource size (respond with 416)
+     */
+    public static final long[] UNSATISFIABLE = new long[0];
+    
+    private static final String BYTES_UNIT = "bytes=";
+    
+    /**
+     * Parse a Range header against a resource of the given size
+     *
+     * @param rangeHeader The Range header value (may be null)
+     * @param size The resource size in bytes
+     * @return {start, end} (inclusive) for a single satisfiable range, UNSATISFIABLE,
+     *         or null when the whole resource should be served (no header, multiple or malformed ranges)
+     */
+    public static long[] parse(String rangeHeader, long size) {
+        if (rangeHeader == null || !rangeHeader.startsWith(BYTES_UNIT)) {
+            return null;
+        }
+        
+        String spec = rangeHeader.substring(BYTES_UNIT.length()).trim();
+        
+        // Multiple ranges are allowed to be answered with the full representation
+        if (spec.contains(",")) {
+            return null;
+        }
+        
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            
+            if (first.isEmpty()) {
+                // Suffix range: the last N bytes
+                if (last.isEmpty()) {
+                    return null;
+                }
+                long suffixLength = Long.parseLong(last);
+                if (suffixLength == 0 || size == 0) {
+                    return UNSATISFIABLE;
+                }
+                return new long[] { Math.max(0, size - suffixLength), size - 1 };
+            }
+            
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+            
+            if (start >= size) {
+                return UNSATISFIABLE;
+            }
+            if (end < start) {
+                return null;
+            }
+            return new long[] { start, end };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
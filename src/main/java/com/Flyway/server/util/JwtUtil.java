@@ -1,30 +1,49 @@
 package com.Flyway.server.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Component;
 
 import com.Flyway.server.config.JwtConfig;
+import com.Flyway.server.security.CustomUserDetails;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
     
+    public static final String CLAIM_EMAIL = "email";
+    public static final String CLAIM_EMAIL_VERIFIED = "email_verified";
+    public static final String CLAIM_STATUS = "status";
+    public static final String CLAIM_ORGANIZATION_ID = "org";
+    public static final String CLAIM_PERMISSIONS = "perms";
+    public static final String CLAIM_PERMISSION_VERSION = "pv";
+    
     private final JwtConfig jwtConfig;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    
+    // Claims of recently verified tokens, keyed by SHA-256 of the token, kept until the token expires
+    private final Map<ByteBuffer, Claims> verifiedTokens = new ConcurrentHashMap<>();
     
     public JwtUtil(JwtConfig jwtConfig) {
         this.jwtConfig = jwtConfig;
-    }
-    
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.signingKey = Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
     
     public String extractUserId(String token) {
@@ -40,16 +59,63 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
     
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Verify a token and return its claims in a single pass.
+     * Claims of recently verified tokens are served from memory until the token expires,
+     * so repeat calls skip the signature check and decoding.
+     * 
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, forged or expired
+     */
+    public Claims extractAllClaims(String token) {
+        ByteBuffer digest = digest(token);
+        Claims cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            if (!isExpired(cached)) {
+                return cached;
+            }
+            verifiedTokens.remove(digest, cached);
+        }
+        
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        
+        if (claims.getExpiration() != null) {
+            if (verifiedTokens.size() >= jwtConfig.getVerifiedTokenCacheSize()) {
+                evictExpired();
+            }
+            verifiedTokens.put(digest, claims);
+        }
+        
+        return claims;
     }
     
     private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return isExpired(extractAllClaims(token));
+    }
+    
+    private static boolean isExpired(Claims claims) {
+        return claims.getExpiration() != null && claims.getExpiration().before(new Date());
+    }
+    
+    /**
+     * Make room: drop expired entries, then arbitrary ones until below the bound
+     */
+    private void evictExpired() {
+        verifiedTokens.values().removeIf(JwtUtil::isExpired);
+        
+        Iterator<ByteBuffer> iterator = verifiedTokens.keySet().iterator();
+        while (verifiedTokens.size() >= jwtConfig.getVerifiedTokenCacheSize() && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+    
+    private static ByteBuffer digest(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
     
     public String generateToken(String userId) {
@@ -57,6 +123,30 @@ public class JwtUtil {
         return createToken(claims, userId, jwtConfig.getExpiration());
     }
     
+    /**
+     * Generate an access token that carries everything needed to rebuild the principal,
+     * so the authentication filter does not have to load the user on every request
+     */
+    public String generateToken(CustomUserDetails userDetails, long permissions, long permissionVersion) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_EMAIL, userDetails.getEmail());
+        claims.put(CLAIM_EMAIL_VERIFIED, userDetails.getEmailVerified());
+        claims.put(CLAIM_STATUS, userDetails.getUserStatusCode());
+        claims.put(CLAIM_PERMISSION_VERSION, permissionVersion);
+        if (userDetails.getOrganizationId() != null) {
+            claims.put(CLAIM_ORGANIZATION_ID, userDetails.getOrganizationId());
+            claims.put(CLAIM_PERMISSIONS, permissions);
+        }
+        return createToken(claims, userDetails.getId(), jwtConfig.getExpiration());
+    }
+    
+    /**
+     * Whether access tokens should embed the principal (see {@link #generateToken(CustomUserDetails, long, long)})
+     */
+    public boolean isStatelessPrincipalEnabled() {
+        return Boolean.TRUE.equals(jwtConfig.getStatelessPrincipal());
+    }
+    
     public String generateRefreshToken(String userId) {
         Map<String, Object> claims = new HashMap<>();
         return createToken(claims, userId, jwtConfig.getRefreshExpiration());
@@ -71,13 +161,13 @@ public class JwtUtil {
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expirationDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
     
     public Boolean validateToken(String token, String userId) {
-        final String extractedUserId = extractUserId(token);
-        return (extractedUserId.equals(userId) && !isTokenExpired(token));
+        final Claims claims = extractAllClaims(token);
+        return (claims.getSubject().equals(userId) && !isExpired(claims));
     }
     
     public Boolean validateToken(String token) {
@@ -0,0 +1,33 @@
+package com.Flyway.server.util;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+
+/**
+ * Classification of IP addresses for outbound requests to user-supplied URLs (webhooks)
+ */
+public class NetworkAddressUtil {
+    
+    /**
+     * Check whether an address is reachable on the public internet. Loopback, private,
+     * link-local (including cloud metadata endpoints), unspecified, multicast, carrier-grade
+     * NAT and IPv6 unique local addresses are not.
+     */
+    public static boolean isPublic(InetAddress address) {
+        if (address.isAnyLocalAddress() || address.isLoopbackAddress() || address.isLinkLocalAddress()
+                || address.isSiteLocalAddress() || address.isMulticastAddress()) {
+            return false;
+        }
+        
+        byte[] bytes = address.getAddress();
+        if (address instanceof Inet6Address) {
+            // fc00::/7 unique local
+            return (bytes[0] & 0xfe) != 0xfc;
+        }
+        
+        int first = bytes[0] & 0xff;
+        int second = bytes[1] & 0xff;
+        // 0.0.0.0/8 "this network" and 100.64.0.0/10 carrier-grade NAT
+        return first != 0 && !(first == 100 && second >= 64 && second < 128);
+    }
+}
@@ -0,0 +1,89 @@
+package com.Flyway.server.util;
+
+import com.Flyway.server.exception.BadRequestException;
+import org.jooq.Condition;
+import org.jooq.Field;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque keyset pagination cursor over (created_at, id)
+ *
+ * A page continues strictly after the last row of the previous one instead of skipping
+ * OFFSET rows, so deep pages cost the same as the first one on a (..., created_at, id) index.
+ */
+public record PageCursor(LocalDateTime createdAt, String id) {
+    
+    private static final char SEPARATOR = '|';
+    
+    /**
+     * Encode the position of the last row of a page
+     */
+    public static String encode(LocalDateTime createdAt, String id) {
+        String raw = createdAt + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Trim a page fetched with one extra row and return the cursor of the page after it
+     *
+     * @param rows The rows fetched with a limit of size + 1; the extra row is removed
+     * @return the next cursor, or null when this is the last page
+     */
+    public static <R> String nextPage(
+            List<R> rows,
+            int size,
+            Function<R, LocalDateTime> createdAt,
+            Function<R, String> id) {
+        if (rows.size() <= size) {
+            return null;
+        }
+        
+        rows.subList(size, rows.size()).clear();
+        R last = rows.get(size - 1);
+        return encode(createdAt.apply(last), id.apply(last));
+    }
+    
+    /**
+     * Decode a cursor received from a client
+     *
+     * @return the cursor, or null when none was given
+     * @throws BadRequestException if the cursor was not produced by encode
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new BadRequestException("Invalid pagination cursor");
+            }
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+    }
+    
+    /**
+     * Rows strictly after this cursor in (createdAt, id) order.
+     * The leading range on createdAt alone lets MySQL seek the index instead of evaluating the OR per row.
+     */
+    public Condition after(Field<LocalDateTime> createdAtField, Field<String> idField, boolean ascending) {
+        if (ascending) {
+            return createdAtField.ge(createdAt)
+                    .and(createdAtField.gt(createdAt)
+                            .or(createdAtField.eq(createdAt).and(idField.gt(id))));
+        }
+        return createdAtField.le(createdAt)
+                .and(createdAtField.lt(createdAt)
+                        .or(createdAtField.eq(createdAt).and(idField.lt(id))));
+    }
+}
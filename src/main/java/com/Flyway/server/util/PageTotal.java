@@ -0,0 +1,38 @@
+package com.Flyway.server.util;
+
+import com.Flyway.server.exception.BadRequestException;
+
+/**
+ * How a paginated list reports its total ("total" query parameter)
+ */
+public enum PageTotal {
+    
+    /**
+     * Exact total, counted by a COUNT(*) OVER() window in the page query itself
+     */
+    EXACT,
+    
+    /**
+     * Total from a short-lived cache, recounted at most once per TTL; may lag recent writes
+     */
+    ESTIMATE,
+    
+    /**
+     * No total, only whether a next page exists
+     */
+    NONE;
+    
+    /**
+     * Parse the "total" query parameter
+     * @param value "exact", "estimate" or "none" (case-insensitive)
+     * @return the mode
+     */
+    public static PageTotal parse(String value) {
+        for (PageTotal mode : values()) {
+            if (mode.name().equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new BadRequestException("Total parameter must be 'exact', 'estimate' or 'none'");
+    }
+}
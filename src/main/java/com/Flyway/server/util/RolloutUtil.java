@@ -0,0 +1,70 @@
+package com.Flyway.server.util;
+
+/**
+ * Deterministic device bucketing for staged rollouts
+ *
+ * A device falls into one of BUCKETS buckets by a hash of its device ID and a per-release seed.
+ * A rollout of N basis points serves the release to buckets 0..N-1, so raising the percentage
+ * only adds devices and a device never flips between builds while a release ramps up.
+ * Bucketing runs on the update check path: it reads the device ID in place and allocates nothing.
+ */
+public class RolloutUtil {
+    
+    /**
+     * Number of buckets; rollouts are expressed in the same unit (basis points, 10000 = 100%)
+     */
+    public static final int BUCKETS = 10_000;
+    
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    
+    /**
+     * Seed for one release of a deployment, computed once when the pointer is indexed
+     */
+    public static long seed(String deploymentId, String buildId) {
+        long hash = hash(FNV_OFFSET_BASIS, deploymentId);
+        hash = (hash ^ '/') * FNV_PRIME;
+        return hash(hash, buildId);
+    }
+    
+    /**
+     * Bucket (0 to BUCKETS - 1) of a device for the release the seed was computed for
+     */
+    public static int bucket(long seed, CharSequence deviceId) {
+        return (int) Long.remainderUnsigned(finish(hash(seed, deviceId)), BUCKETS);
+    }
+    
+    /**
+     * Convert a percentage (0 to 100, two decimals) to basis points
+     */
+    public static int toBasisPoints(double percentage) {
+        return (int) Math.round(percentage * 100);
+    }
+    
+    public static double toPercentage(int basisPoints) {
+        return basisPoints / 100.0;
+    }
+    
+    /**
+     * FNV-1a over the UTF-16 code units of the value
+     */
+    private static long hash(long hash, CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+    
+    /**
+     * MurmurHash3 finalizer; spreads FNV's weak low bits before taking the remainder
+     */
+    private static long finish(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb53a4594fe1aL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,78 @@
+package com.Flyway.server.util;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Time-ordered UUIDs (version 7, RFC 9562) for primary keys
+ *
+ * The first 48 bits are the Unix time in milliseconds, so ids created later sort later, both
+ * as canonical strings and as BINARY(16). Inserts then append to the end of the primary key
+ * index instead of splitting random pages. Within one millisecond a 12-bit counter keeps ids
+ * created by this process increasing; the remaining 62 bits are random.
+ */
+public class UuidUtil {
+    
+    private static final SecureRandom random = new SecureRandom();
+    
+    private static long lastMillis;
+    private static int sequence;
+    
+    /**
+     * Generate a new time-ordered UUID
+     */
+    public static UUID timeOrdered() {
+        long millis;
+        int counter;
+        synchronized (UuidUtil.class) {
+            long now = System.currentTimeMillis();
+            if (now > lastMillis) {
+                lastMillis = now;
+                // Random start, with headroom left for the ids that follow in the same millisecond
+                sequence = random.nextInt(0x800);
+            } else if (++sequence > 0xFFF) {
+                // Counter exhausted (or the clock went back): borrow the next millisecond
+                lastMillis++;
+                sequence = 0;
+            }
+            millis = lastMillis;
+            counter = sequence;
+        }
+        
+        long mostSignificant = (millis << 16) | 0x7000L | counter;
+        long leastSignificant = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+    
+    /**
+     * Generate a new time-ordered UUID in its canonical 36-character form
+     */
+    public static String timeOrderedId() {
+        return timeOrdered().toString();
+    }
+    
+    /**
+     * Pack a canonical UUID string into 16 bytes
+     *
+     * @throws IllegalArgumentException if the value is not a UUID
+     */
+    public static byte[] toBytes(String uuid) {
+        UUID parsed = UUID.fromString(uuid);
+        return ByteBuffer.allocate(16)
+                .putLong(parsed.getMostSignificantBits())
+                .putLong(parsed.getLeastSignificantBits())
+                .array();
+    }
+    
+    /**
+     * Unpack 16 bytes into a canonical UUID string
+     */
+    public static String fromBytes(byte[] bytes) {
+        if (bytes.length != 16) {
+            throw new IllegalArgumentException("A binary UUID must be 16 bytes, got " + bytes.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+}
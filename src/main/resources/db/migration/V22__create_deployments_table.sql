@@ -0,0 +1,41 @@
+-- Create deployments table
+-- Each (bundle_id, channel_id) pair points at exactly one build. Promotion and rollback
+-- swap the pointer with a single compare-and-set UPDATE guarded by the version column.
+CREATE TABLE deployments (
+    id CHAR(36) PRIMARY KEY,
+    organization_id CHAR(36) NOT NULL,
+    bundle_id VARCHAR(255) NOT NULL,
+    channel_id CHAR(36) NOT NULL,
+    build_id CHAR(36) NOT NULL,
+    previous_build_id CHAR(36) NULL,
+    version BIGINT NOT NULL DEFAULT 1,
+    deployed_by CHAR(36) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    
+    CONSTRAINT fk_deployments_organization 
+        FOREIGN KEY (organization_id) REFERENCES organizations(id) ON DELETE CASCADE,
+    CONSTRAINT fk_deployments_mobile_app 
+        FOREIGN KEY (bundle_id) REFERENCES mobile_applications(bundle_id) ON DELETE CASCADE,
+    CONSTRAINT fk_deployments_channel 
+        FOREIGN KEY (channel_id) REFERENCES channels(id) ON DELETE CASCADE,
+    -- A build cannot be deleted while a channel points at it
+    CONSTRAINT fk_deployments_build 
+        FOREIGN KEY (build_id) REFERENCES app_builds(id),
+    CONSTRAINT fk_deployments_previous_build 
+        FOREIGN KEY (previous_build_id) REFERENCES app_builds(id) ON DELETE SET NULL,
+    CONSTRAINT fk_deployments_deployer 
+        FOREIGN KEY (deployed_by) REFERENCES users(id),
+    
+    -- One pointer per application and channel
+    CONSTRAINT uk_deployments_bundle_channel UNIQUE (bundle_id, channel_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Create index for organization lookups
+CREATE INDEX idx_deployments_organization_id ON deployments(organization_id);
+
+-- Create index for build lookups (deleting builds, resolving previous builds)
+CREATE INDEX idx_deployments_build_id ON deployments(build_id);
+
+-- Create index used by the in-memory pointer sync to fetch recently changed rows
+CREATE INDEX idx_deployments_updated_at ON deployments(updated_at);
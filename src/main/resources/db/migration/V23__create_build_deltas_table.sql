@@ -0,0 +1,26 @@
+-- Create build_deltas table
+-- A delta patches a device from one build (from_build_id) to another (to_build_id).
+-- It contains only the files that changed, plus a manifest listing removed files.
+CREATE TABLE build_deltas (
+    id CHAR(36) PRIMARY KEY,
+    organization_id CHAR(36) NOT NULL,
+    bundle_id VARCHAR(255) NOT NULL,
+    from_build_id CHAR(36) NOT NULL,
+    to_build_id CHAR(36) NOT NULL,
+    delta_url VARCHAR(1024) NOT NULL,
+    delta_size BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    
+    CONSTRAINT fk_build_deltas_organization 
+        FOREIGN KEY (organization_id) REFERENCES organizations(id) ON DELETE CASCADE,
+    CONSTRAINT fk_build_deltas_from_build 
+        FOREIGN KEY (from_build_id) REFERENCES app_builds(id) ON DELETE CASCADE,
+    CONSTRAINT fk_build_deltas_to_build 
+        FOREIGN KEY (to_build_id) REFERENCES app_builds(id) ON DELETE CASCADE,
+    
+    -- Only one delta per pair of builds
+    CONSTRAINT uk_build_deltas_from_to UNIQUE (from_build_id, to_build_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Create index for target build lookups
+CREATE INDEX idx_build_deltas_to_build_id ON build_deltas(to_build_id);
@@ -0,0 +1,3 @@
+-- SHA-256 of the build artifact, computed while the upload is streamed to storage
+ALTER TABLE app_builds
+    ADD COLUMN content_sha256 CHAR(64) NULL AFTER build_size;
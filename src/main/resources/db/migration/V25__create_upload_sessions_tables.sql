@@ -0,0 +1,41 @@
+-- Create upload_sessions table
+-- A resumable upload receives a build in fixed-size parts that can be sent in any order
+-- and retried individually. Completing the session assembles the parts into an app build.
+CREATE TABLE upload_sessions (
+    id CHAR(36) PRIMARY KEY,
+    organization_id CHAR(36) NOT NULL,
+    bundle_id VARCHAR(255) NOT NULL,
+    commit_hash VARCHAR(255) NOT NULL,
+    branch_name VARCHAR(255) NOT NULL,
+    commit_message TEXT NULL,
+    native_version VARCHAR(50) NOT NULL,
+    filename VARCHAR(255) NOT NULL,
+    total_size BIGINT NOT NULL,
+    part_size INT NOT NULL,
+    expected_sha256 CHAR(64) NULL,
+    created_by CHAR(36) NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    
+    CONSTRAINT fk_upload_sessions_organization 
+        FOREIGN KEY (organization_id) REFERENCES organizations(id) ON DELETE CASCADE,
+    CONSTRAINT fk_upload_sessions_app 
+        FOREIGN KEY (bundle_id) REFERENCES mobile_applications(bundle_id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Create index for expiry sweeps
+CREATE INDEX idx_upload_sessions_expires_at ON upload_sessions(expires_at);
+
+-- Create upload_session_parts table
+-- One row per received part; part N covers bytes [N * part_size, N * part_size + size).
+CREATE TABLE upload_session_parts (
+    session_id CHAR(36) NOT NULL,
+    part_number INT NOT NULL,
+    size INT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    
+    PRIMARY KEY (session_id, part_number),
+    CONSTRAINT fk_upload_session_parts_session 
+        FOREIGN KEY (session_id) REFERENCES upload_sessions(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
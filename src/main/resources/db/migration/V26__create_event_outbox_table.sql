@@ -0,0 +1,21 @@
+-- Create event_outbox table
+-- Domain events are written here in the same transaction as the change that raised them,
+-- then relayed to listeners in the background. A row is deleted once its listeners ran.
+-- organization_key is the organization ID, or '' for events outside any organization;
+-- events of one organization are relayed in id order.
+CREATE TABLE event_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_id CHAR(36) NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    organization_key VARCHAR(36) NOT NULL,
+    payload MEDIUMBLOB NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    claimed_by CHAR(36) NULL,
+    claimed_until TIMESTAMP(3) NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    
+    CONSTRAINT uk_event_outbox_event_id UNIQUE (event_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Create index for finding the oldest pending event of each organization
+CREATE INDEX idx_event_outbox_organization_key ON event_outbox(organization_key, id);
@@ -0,0 +1,46 @@
+-- Create webhooks table
+-- A webhook POSTs domain events of the listed types (event_types, comma-separated,
+-- '*' for all) to url. Events may be coalesced into one request of up to batch_size
+-- events, waiting at most batch_window_ms for more to arrive.
+CREATE TABLE webhooks (
+    id CHAR(36) PRIMARY KEY,
+    organization_id CHAR(36) NOT NULL,
+    url VARCHAR(2048) NOT NULL,
+    secret VARCHAR(64) NOT NULL,
+    event_types VARCHAR(1024) NOT NULL,
+    max_concurrency INT NOT NULL DEFAULT 2,
+    batch_size INT NOT NULL DEFAULT 1,
+    batch_window_ms INT NOT NULL DEFAULT 0,
+    active TINYINT(1) NOT NULL DEFAULT 1,
+    created_by CHAR(36) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    
+    CONSTRAINT fk_webhooks_organization 
+        FOREIGN KEY (organization_id) REFERENCES organizations(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Create index for event fan-out
+CREATE INDEX idx_webhooks_organization_id ON webhooks(organization_id);
+
+-- Create webhook_deliveries table
+-- One compact row per delivery attempt; status_code is NULL when no response was received.
+CREATE TABLE webhook_deliveries (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    webhook_id CHAR(36) NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    event_count INT NOT NULL,
+    attempt INT NOT NULL,
+    status_code SMALLINT NULL,
+    success TINYINT(1) NOT NULL,
+    duration_ms INT NOT NULL,
+    error VARCHAR(255) NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    
+    CONSTRAINT fk_webhook_deliveries_webhook 
+        FOREIGN KEY (webhook_id) REFERENCES webhooks(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Create indexes for per-webhook history and retention sweeps
+CREATE INDEX idx_webhook_deliveries_webhook_id ON webhook_deliveries(webhook_id, id);
+CREATE INDEX idx_webhook_deliveries_created_at ON webhook_deliveries(created_at);
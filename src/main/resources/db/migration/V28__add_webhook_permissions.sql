@@ -0,0 +1,20 @@
+-- Add webhook permissions to existing roles
+-- webhook.view   = 1 << 39 = 549755813888
+-- webhook.manage = 1 << 40 = 1099511627776
+
+-- Owner: gets all permissions including webhooks
+UPDATE roles 
+SET permissions = permissions | 1649267441664
+WHERE name = 'Owner';
+
+-- Admin: gets all webhook permissions
+UPDATE roles 
+SET permissions = permissions | 1649267441664
+WHERE name = 'Admin';
+
+-- Developer: can view webhooks and their deliveries
+UPDATE roles 
+SET permissions = permissions | 549755813888
+WHERE name = 'Developer';
+
+-- Guest: does NOT get webhook permissions
@@ -0,0 +1,18 @@
+-- Composite indexes for cursor (keyset) pagination over (created_at, id).
+-- Each list seeks straight to its cursor and reads one page, in either sort direction.
+
+ALTER TABLE app_builds
+    ADD INDEX idx_app_builds_org_bundle_created (organization_id, bundle_id, created_at, id);
+
+ALTER TABLE api_keys
+    ADD INDEX idx_api_keys_org_bundle_created (organization_id, bundle_id, created_at, id);
+
+-- Supersedes idx_channels_organization_id (same leading column, so it still serves the foreign key)
+ALTER TABLE channels
+    ADD INDEX idx_channels_org_created (organization_id, created_at, id),
+    DROP INDEX idx_channels_organization_id;
+
+-- Supersedes idx_org_created
+ALTER TABLE audit_logs
+    ADD INDEX idx_audit_logs_org_created (organization_id, created_at, id),
+    DROP INDEX idx_org_created;
@@ -0,0 +1,6 @@
+-- Member listings are ordered by (joined_at, id) within an organization and streamed in
+-- keyset chunks over the same columns.
+-- Supersedes idx_org_members_organization (same leading column, so it still serves the foreign key)
+ALTER TABLE organization_members
+    ADD INDEX idx_org_members_org_joined (organization_id, joined_at, id),
+    DROP INDEX idx_org_members_organization;
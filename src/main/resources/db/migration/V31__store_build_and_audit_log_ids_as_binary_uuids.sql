@@ -0,0 +1,59 @@
+-- Store audit log and build ids as 16-byte binary UUIDs instead of 36-character strings.
+-- New ids are time-ordered (UUIDv7), so inserts append to the end of the index rather than
+-- landing on random pages, and every index carrying these ids shrinks. jOOQ maps BINARY(16)
+-- columns back to canonical UUID strings with BinaryUuidConverter.
+--
+-- Each column goes CHAR(36) -> VARBINARY(36) (same bytes) -> unhexed in place -> BINARY(16),
+-- which keeps the indexes on it. Foreign keys to app_builds are dropped while the types differ.
+
+ALTER TABLE deployments
+    DROP FOREIGN KEY fk_deployments_build,
+    DROP FOREIGN KEY fk_deployments_previous_build;
+
+ALTER TABLE build_deltas
+    DROP FOREIGN KEY fk_build_deltas_from_build,
+    DROP FOREIGN KEY fk_build_deltas_to_build;
+
+-- app_builds
+ALTER TABLE app_builds MODIFY id VARBINARY(36) NOT NULL;
+UPDATE app_builds SET id = UNHEX(REPLACE(id, '-', ''));
+ALTER TABLE app_builds MODIFY id BINARY(16) NOT NULL;
+
+-- deployments
+ALTER TABLE deployments
+    MODIFY build_id VARBINARY(36) NOT NULL,
+    MODIFY previous_build_id VARBINARY(36) NULL;
+UPDATE deployments
+SET build_id = UNHEX(REPLACE(build_id, '-', '')),
+    previous_build_id = UNHEX(REPLACE(previous_build_id, '-', ''));
+ALTER TABLE deployments
+    MODIFY build_id BINARY(16) NOT NULL,
+    MODIFY previous_build_id BINARY(16) NULL;
+
+-- build_deltas
+ALTER TABLE build_deltas
+    MODIFY from_build_id VARBINARY(36) NOT NULL,
+    MODIFY to_build_id VARBINARY(36) NOT NULL;
+UPDATE build_deltas
+SET from_build_id = UNHEX(REPLACE(from_build_id, '-', '')),
+    to_build_id = UNHEX(REPLACE(to_build_id, '-', ''));
+ALTER TABLE build_deltas
+    MODIFY from_build_id BINARY(16) NOT NULL,
+    MODIFY to_build_id BINARY(16) NOT NULL;
+
+ALTER TABLE deployments
+    ADD CONSTRAINT fk_deployments_build
+        FOREIGN KEY (build_id) REFERENCES app_builds(id),
+    ADD CONSTRAINT fk_deployments_previous_build
+        FOREIGN KEY (previous_build_id) REFERENCES app_builds(id) ON DELETE SET NULL;
+
+ALTER TABLE build_deltas
+    ADD CONSTRAINT fk_build_deltas_from_build
+        FOREIGN KEY (from_build_id) REFERENCES app_builds(id) ON DELETE CASCADE,
+    ADD CONSTRAINT fk_build_deltas_to_build
+        FOREIGN KEY (to_build_id) REFERENCES app_builds(id) ON DELETE CASCADE;
+
+-- audit_logs (clustered on id, nothing references it)
+ALTER TABLE audit_logs MODIFY id VARBINARY(36) NOT NULL;
+UPDATE audit_logs SET id = UNHEX(REPLACE(id, '-', ''));
+ALTER TABLE audit_logs MODIFY id BINARY(16) NOT NULL;
@@ -0,0 +1,4 @@
+-- Staged rollouts: share of a channel's devices (in basis points, 0-10000) that get the
+-- deployed build. Devices outside the rollout keep the previous build.
+ALTER TABLE deployments
+    ADD COLUMN rollout_basis_points INT NOT NULL DEFAULT 10000 AFTER previous_build_id;
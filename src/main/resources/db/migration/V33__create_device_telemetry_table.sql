@@ -0,0 +1,27 @@
+-- Update lifecycle events reported by devices (download, apply, success, rollback).
+-- Written in large multi-row batches; partitioned by day of receipt so expired days are
+-- dropped as whole partitions instead of deleted row by row. Partitions (pYYYYMMDD, days in UTC)
+-- are added ahead of time and dropped after telemetry.retention-days by DeviceTelemetryService;
+-- pmax only catches rows that arrive before the next partition exists.
+-- Partitioned InnoDB tables cannot have foreign keys, so none are declared.
+CREATE TABLE device_telemetry (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    organization_id CHAR(36) NOT NULL,
+    bundle_id VARCHAR(255) NOT NULL,
+    build_id BINARY(16) NOT NULL,
+    device_id VARCHAR(128) NOT NULL,
+    event_type VARCHAR(16) NOT NULL,
+    message VARCHAR(500) NULL,
+    occurred_at TIMESTAMP(3) NULL,
+    -- Whole seconds: UNIX_TIMESTAMP() is only accepted as a partitioning function on a
+    -- TIMESTAMP without fractional seconds
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    
+    -- The partitioning column must be part of every unique key
+    PRIMARY KEY (id, created_at),
+    -- Per-build adoption and failure counts
+    INDEX idx_device_telemetry_build (build_id, event_type, created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) (
+    PARTITION pmax VALUES LESS THAN MAXVALUE
+);
@@ -0,0 +1,3 @@
+-- The build index sync polls build_deltas by created_at every second
+ALTER TABLE build_deltas
+    ADD INDEX idx_build_deltas_created_at (created_at);
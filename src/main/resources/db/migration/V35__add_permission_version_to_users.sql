@@ -0,0 +1,4 @@
+-- Version stamped into stateless access tokens; bumped when a user's memberships change
+-- or they log out everywhere, so every node can tell a token was revoked
+ALTER TABLE users
+    ADD COLUMN permission_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,9 @@
+-- fk_deployments_build had no ON DELETE action, so deleting an application or organization
+-- could fail when the cascade reached app_builds before the deployments pointing at them.
+-- Deleting a single deployed build is still refused by AppBuildService.deleteBuild.
+ALTER TABLE deployments
+    DROP FOREIGN KEY fk_deployments_build;
+
+ALTER TABLE deployments
+    ADD CONSTRAINT fk_deployments_build
+        FOREIGN KEY (build_id) REFERENCES app_builds(id) ON DELETE CASCADE;
@@ -0,0 +1,183 @@
+package com.Flyway.server.service;
+
+import com.Flyway.server.model.DeploymentPointer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives the health windows with explicit minutes and checks when a deployment is rolled back
+ */
+class DeploymentHealthMonitorTests {
+
+    private static final String BUNDLE_ID = "com.example.app";
+    private static final String CHANNEL = "production";
+    private static final String DEPLOYMENT_ID = "deployment-1";
+    private static final String BUILD_ID = "build-2";
+    private static final String PREVIOUS_BUILD_ID = "build-1";
+
+    private static final int WINDOW_MINUTES = 10;
+    private static final long MIN_SAMPLES = 10;
+    private static final double FAILURE_THRESHOLD = 0.2;
+    private static final long MINUTE = 1_000;
+
+    private DeploymentIndexService deploymentIndexService;
+    private DeploymentService deploymentService;
+    private DeploymentHealthMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        deploymentIndexService = mock(DeploymentIndexService.class);
+        deploymentService = mock(DeploymentService.class);
+        serve(pointer(PREVIOUS_BUILD_ID));
+        monitor = monitor(true, 1_000);
+    }
+
+    @Test
+    void rollsBackWhenFailureRatioReachesThreshold() {
+        report(8, false, "ok-", MINUTE);
+        report(2, true, "failed-", MINUTE);
+
+        monitor.evaluate(MINUTE);
+
+        verify(deploymentService).rollbackUnhealthy(DEPLOYMENT_ID, BUILD_ID, 8, 2);
+    }
+
+    @Test
+    void keepsDeploymentBelowThreshold() {
+        report(9, false, "ok-", MINUTE);
+        report(1, true, "failed-", MINUTE);
+
+        monitor.evaluate(MINUTE);
+
+        verifyNoRollback();
+    }
+
+    @Test
+    void waitsForEnoughSamples() {
+        report(1, false, "ok-", MINUTE);
+        report(5, true, "failed-", MINUTE);
+
+        monitor.evaluate(MINUTE);
+
+        verifyNoRollback();
+    }
+
+    @Test
+    void countsEachDeviceOnce() {
+        report(9, false, "ok-", MINUTE);
+        for (int i = 0; i < 10; i++) {
+            monitor.record(BUNDLE_ID, BUILD_ID, "flaky", true, MINUTE);
+        }
+
+        monitor.evaluate(MINUTE);
+
+        // 1 failure out of 10 devices, not 10 out of 19 reports
+        verifyNoRollback();
+    }
+
+    @Test
+    void sumsReportsAcrossTheWindow() {
+        report(5, true, "failed-", MINUTE);
+        report(10, false, "ok-", MINUTE + WINDOW_MINUTES - 1);
+
+        monitor.evaluate(MINUTE + WINDOW_MINUTES - 1);
+
+        verify(deploymentService).rollbackUnhealthy(DEPLOYMENT_ID, BUILD_ID, 10, 5);
+    }
+
+    @Test
+    void forgetsReportsThatLeftTheWindow() {
+        report(5, true, "failed-", MINUTE);
+        report(10, false, "ok-", MINUTE + WINDOW_MINUTES);
+
+        monitor.evaluate(MINUTE + WINDOW_MINUTES);
+
+        verifyNoRollback();
+    }
+
+    @Test
+    void stopsCountingNewDevicesAtTheCap() {
+        monitor = monitor(true, 10);
+        report(10, false, "ok-", MINUTE);
+        report(10, true, "failed-", MINUTE);
+
+        monitor.evaluate(MINUTE);
+
+        verifyNoRollback();
+    }
+
+    @Test
+    void skipsDeploymentsWithoutPreviousBuild() {
+        serve(pointer(null));
+        report(10, true, "failed-", MINUTE);
+
+        monitor.evaluate(MINUTE);
+
+        verifyNoRollback();
+    }
+
+    @Test
+    void skipsChannelsThatMovedToAnotherBuild() {
+        report(10, true, "failed-", MINUTE);
+        when(deploymentIndexService.find(BUNDLE_ID, CHANNEL))
+                .thenReturn(Optional.of(pointer(PREVIOUS_BUILD_ID).toBuilder().buildId("build-3").build()));
+
+        monitor.evaluate(MINUTE);
+
+        verifyNoRollback();
+    }
+
+    @Test
+    void ignoresReportsWhenDisabled() {
+        monitor = monitor(false, 1_000);
+        report(10, true, "failed-", MINUTE);
+
+        monitor.evaluate(MINUTE);
+
+        verifyNoInteractions(deploymentService);
+    }
+
+    private DeploymentHealthMonitor monitor(boolean enabled, int maxDevices) {
+        return new DeploymentHealthMonitor(deploymentIndexService, deploymentService,
+                enabled, WINDOW_MINUTES, MIN_SAMPLES, FAILURE_THRESHOLD, maxDevices);
+    }
+
+    private void report(int devices, boolean failure, String devicePrefix, long minute) {
+        for (int i = 0; i < devices; i++) {
+            monitor.record(BUNDLE_ID, BUILD_ID, devicePrefix + i, failure, minute);
+        }
+    }
+
+    private void serve(DeploymentPointer pointer) {
+        when(deploymentIndexService.findByBundleId(BUNDLE_ID)).thenReturn(List.of(pointer));
+        when(deploymentIndexService.find(BUNDLE_ID, CHANNEL)).thenReturn(Optional.of(pointer));
+    }
+
+    private void verifyNoRollback() {
+        verify(deploymentService, never()).rollbackUnhealthy(anyString(), anyString(), anyLong(), anyLong());
+    }
+
+    private static DeploymentPointer pointer(String previousBuildId) {
+        return DeploymentPointer.builder()
+                .deploymentId(DEPLOYMENT_ID)
+                .organizationId("org-1")
+                .bundleId(BUNDLE_ID)
+                .channelId("channel-1")
+                .channelName(CHANNEL)
+                .buildId(BUILD_ID)
+                .previousBuildId(previousBuildId)
+                .version(1)
+                .build();
+    }
+}
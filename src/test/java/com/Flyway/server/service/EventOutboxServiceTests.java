@@ -0,0 +1,54 @@
+package com.Flyway.server.service;
+
+import com.Flyway.server.event.BuildUploadedEvent;
+import com.Flyway.server.event.DeploymentAutoRolledBackEvent;
+import com.Flyway.server.event.DomainEvent;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that events survive the JSON round trip through the outbox payload
+ */
+class EventOutboxServiceTests {
+
+    @Test
+    void roundTripsEventWithItsIdentity() {
+        BuildUploadedEvent event = new BuildUploadedEvent("build-1", "com.example.app", "abc123",
+                "main", "1.0.0", 42L, "https://example.com/build-1", "user-1", "org-1");
+
+        DomainEvent read = EventOutboxService.deserialize(event.getEventType(), EventOutboxService.serialize(event));
+
+        BuildUploadedEvent build = assertInstanceOf(BuildUploadedEvent.class, read);
+        assertEquals(event.getEventId(), build.getEventId());
+        assertEquals(event.getTimestamp(), build.getTimestamp());
+        assertEquals("user-1", build.getUserId());
+        assertEquals("org-1", build.getOrganizationId());
+        assertEquals("build-1", build.getBuildId());
+        assertEquals(42L, build.getBuildSize());
+    }
+
+    @Test
+    void restoresFieldsOutsideTheConstructor() {
+        DeploymentAutoRolledBackEvent event = new DeploymentAutoRolledBackEvent("deployment-1", "com.example.app",
+                "production", "build-1", "build-2", 8, 2, "org-1");
+
+        DomainEvent read = EventOutboxService.deserialize(event.getEventType(), EventOutboxService.serialize(event));
+
+        DeploymentAutoRolledBackEvent rolledBack = assertInstanceOf(DeploymentAutoRolledBackEvent.class, read);
+        assertEquals(0.2, rolledBack.getFailureRate());
+        assertEquals(2, rolledBack.getFailures());
+        assertEquals(event.getEventId(), rolledBack.getEventId());
+    }
+
+    @Test
+    void rejectsUnknownEventTypes() {
+        byte[] payload = "{}".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(IllegalStateException.class, () -> EventOutboxService.deserialize("something.else", payload));
+    }
+}
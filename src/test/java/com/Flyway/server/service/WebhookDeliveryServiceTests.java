@@ -0,0 +1,181 @@
+package com.Flyway.server.service;
+
+import com.Flyway.server.event.BuildUploadedEvent;
+import com.Flyway.server.jooq.tables.records.WebhooksRecord;
+import com.Flyway.server.repository.WebhookDeliveryRepository;
+import com.Flyway.server.repository.WebhookRepository;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the webhook delivery engine against a local stand-in receiver
+ */
+class WebhookDeliveryServiceTests {
+
+    private static final String ORG_ID = "org-1";
+    private static final String SECRET = "test-secret";
+
+    private final BlockingQueue<Received> received = new LinkedBlockingQueue<>();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+
+    private HttpServer receiver;
+    private WebhookRepository webhookRepository;
+    private WebhookDeliveryRepository webhookDeliveryRepository;
+    private WebhookDeliveryService deliveryService;
+
+    private record Received(String body, String signature, String eventType) {
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        receiver = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        receiver.createContext("/hook", exchange -> {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            int status = failuresLeft.getAndDecrement() > 0 ? 503 : 204;
+            received.add(new Received(
+                    new String(body, StandardCharsets.UTF_8),
+                    exchange.getRequestHeaders().getFirst("X-Flyway-Signature"),
+                    exchange.getRequestHeaders().getFirst("X-Flyway-Event")));
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        receiver.start();
+
+        webhookRepository = mock(WebhookRepository.class);
+        webhookDeliveryRepository = mock(WebhookDeliveryRepository.class);
+        deliveryService = new WebhookDeliveryService(
+                webhookRepository, webhookDeliveryRepository, 100, 1000, 2000, 3, 10, 50, 14, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        deliveryService.shutdown();
+        receiver.stop(0);
+    }
+
+    @Test
+    void deliversSignedEventToSubscribedWebhook() throws Exception {
+        subscribe(webhook("build.uploaded", 1, 0));
+
+        deliveryService.dispatch(buildUploaded("build-1"));
+
+        Received request = received.poll(5, TimeUnit.SECONDS);
+        assertNotNull(request);
+        assertEquals("build.uploaded", request.eventType());
+        assertTrue(request.body().startsWith("{\"events\":[{"));
+        assertTrue(request.body().contains("\"buildId\":\"build-1\""));
+        assertEquals(sign(request.body()), request.signature());
+        verify(webhookDeliveryRepository, timeout(5000))
+                .create(eq("hook-1"), eq("build.uploaded"), eq(1), eq(1), eq(204), eq(true), anyInt(), any());
+    }
+
+    @Test
+    void skipsWebhooksNotSubscribedToEventType() throws Exception {
+        subscribe(webhook("deployment.created", 1, 0));
+
+        deliveryService.dispatch(buildUploaded("build-1"));
+
+        assertNull(received.poll(300, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void coalescesEventsIntoOneBatch() throws Exception {
+        subscribe(webhook("*", 3, 5000));
+
+        deliveryService.dispatch(buildUploaded("build-1"));
+        deliveryService.dispatch(buildUploaded("build-2"));
+        deliveryService.dispatch(buildUploaded("build-3"));
+
+        Received request = received.poll(5, TimeUnit.SECONDS);
+        assertNotNull(request);
+        assertTrue(request.body().contains("build-1"));
+        assertTrue(request.body().contains("build-2"));
+        assertTrue(request.body().contains("build-3"));
+        assertNull(received.poll(300, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void flushesPartialBatchWhenWindowElapses() throws Exception {
+        subscribe(webhook("*", 10, 100));
+
+        deliveryService.dispatch(buildUploaded("build-1"));
+        deliveryService.dispatch(buildUploaded("build-2"));
+
+        Received request = received.poll(5, TimeUnit.SECONDS);
+        assertNotNull(request);
+        assertTrue(request.body().contains("build-1"));
+        assertTrue(request.body().contains("build-2"));
+    }
+
+    @Test
+    void retriesFailedDeliveryWithBackoff() throws Exception {
+        failuresLeft.set(2);
+        subscribe(webhook("*", 1, 0));
+
+        deliveryService.dispatch(buildUploaded("build-1"));
+
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(received.poll(5, TimeUnit.SECONDS), "attempt " + (i + 1));
+        }
+        verify(webhookDeliveryRepository, timeout(5000))
+                .create(eq("hook-1"), anyString(), eq(1), eq(3), eq(204), eq(true), anyInt(), any());
+        verify(webhookDeliveryRepository, timeout(5000))
+                .create(eq("hook-1"), anyString(), eq(1), eq(1), eq(503), anyBoolean(), anyInt(), any());
+    }
+
+    private void subscribe(WebhooksRecord webhook) {
+        when(webhookRepository.findActiveByOrganizationId(ORG_ID)).thenReturn(List.of(webhook));
+    }
+
+    private WebhooksRecord webhook(String eventTypes, int batchSize, int batchWindowMs) {
+        WebhooksRecord webhook = new WebhooksRecord();
+        webhook.setId("hook-1");
+        webhook.setOrganizationId(ORG_ID);
+        webhook.setUrl("http://127.0.0.1:" + receiver.getAddress().getPort() + "/hook");
+        webhook.setSecret(SECRET);
+        webhook.setEventTypes(eventTypes);
+        webhook.setMaxConcurrency(2);
+        webhook.setBatchSize(batchSize);
+        webhook.setBatchWindowMs(batchWindowMs);
+        webhook.setActive((byte) 1);
+        return webhook;
+    }
+
+    private BuildUploadedEvent buildUploaded(String buildId) {
+        return new BuildUploadedEvent(buildId, "com.example.app", "abc123", "main", "1.0.0",
+                                      1024L, "http://localhost/" + buildId, "user-1", ORG_ID);
+    }
+
+    private String sign(String body) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return "sha256=" + HexFormat.of().formatHex(mac.doFinal(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,37 @@
+package com.Flyway.server.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks the mapping between BINARY(16) columns and canonical id strings
+ */
+class BinaryUuidConverterTests {
+
+    private final BinaryUuidConverter converter = new BinaryUuidConverter();
+
+    @Test
+    void roundTripsIds() {
+        String id = UuidUtil.timeOrderedId();
+
+        byte[] stored = converter.to(id);
+
+        assertArrayEquals(UuidUtil.toBytes(id), stored);
+        assertEquals(id, converter.from(stored));
+    }
+
+    @Test
+    void passesNullsThrough() {
+        assertNull(converter.to(null));
+        assertNull(converter.from(null));
+    }
+
+    @Test
+    void mapsMalformedIdsToAValueMatchingNoRow() {
+        // Malformed ids from requests must lead to a 404, not a conversion error
+        assertEquals(0, converter.to("not-a-uuid").length);
+    }
+}
@@ -0,0 +1,114 @@
+package com.Flyway.server.util;
+
+import com.Flyway.server.exception.BadRequestException;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks cursor encoding, rejection of tampered cursors and the keyset predicate
+ */
+class PageCursorTests {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 5, 14, 30, 15, 123_000_000);
+    private static final String ID = "0190f3a2-5b7c-7d1e-8f00-123456789abc";
+
+    private static final Field<LocalDateTime> CREATED_AT_FIELD = DSL.field(DSL.name("created_at"), LocalDateTime.class);
+    private static final Field<String> ID_FIELD = DSL.field(DSL.name("id"), String.class);
+
+    private final DSLContext dsl = DSL.using(SQLDialect.MYSQL);
+
+    private record Row(LocalDateTime createdAt, String id) {
+    }
+
+    @Test
+    void roundTripsThroughEncodeAndDecode() {
+        String cursor = PageCursor.encode(CREATED_AT, ID);
+
+        assertEquals(new PageCursor(CREATED_AT, ID), PageCursor.decode(cursor));
+    }
+
+    @Test
+    void encodesUrlSafe() {
+        String cursor = PageCursor.encode(CREATED_AT, ID);
+
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"), cursor);
+    }
+
+    @Test
+    void decodesMissingCursorToNull() {
+        assertNull(PageCursor.decode(null));
+        assertNull(PageCursor.decode(" "));
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThrows(BadRequestException.class, () -> PageCursor.decode("not base64!"));
+        assertThrows(BadRequestException.class, () -> PageCursor.decode(encodeRaw("no-separator")));
+        assertThrows(BadRequestException.class, () -> PageCursor.decode(encodeRaw("|" + ID)));
+        assertThrows(BadRequestException.class, () -> PageCursor.decode(encodeRaw(CREATED_AT + "|")));
+        assertThrows(BadRequestException.class, () -> PageCursor.decode(encodeRaw("yesterday|" + ID)));
+    }
+
+    @Test
+    void nextPageTrimsExtraRowAndPointsAtLastKeptRow() {
+        List<Row> rows = new ArrayList<>(List.of(
+                new Row(CREATED_AT, "a"),
+                new Row(CREATED_AT.plusSeconds(1), "b"),
+                new Row(CREATED_AT.plusSeconds(2), "c")));
+
+        String cursor = PageCursor.nextPage(rows, 2, Row::createdAt, Row::id);
+
+        assertEquals(2, rows.size());
+        assertEquals(new PageCursor(CREATED_AT.plusSeconds(1), "b"), PageCursor.decode(cursor));
+    }
+
+    @Test
+    void nextPageIsNullOnLastPage() {
+        List<Row> rows = new ArrayList<>(List.of(new Row(CREATED_AT, "a"), new Row(CREATED_AT, "b")));
+
+        assertNull(PageCursor.nextPage(rows, 2, Row::createdAt, Row::id));
+        assertEquals(2, rows.size());
+    }
+
+    @Test
+    void afterAscendingSeeksPastCursor() {
+        Condition condition = new PageCursor(CREATED_AT, ID).after(CREATED_AT_FIELD, ID_FIELD, true);
+
+        assertEquals("`created_at`>=?and`created_at`>?or`created_at`=?and`id`>?", normalize(condition));
+        assertEquals(List.of(CREATED_AT, CREATED_AT, CREATED_AT, ID), dsl.extractBindValues(condition));
+    }
+
+    @Test
+    void afterDescendingSeeksBeforeCursor() {
+        Condition condition = new PageCursor(CREATED_AT, ID).after(CREATED_AT_FIELD, ID_FIELD, false);
+
+        assertEquals("`created_at`<=?and`created_at`<?or`created_at`=?and`id`<?", normalize(condition));
+        assertEquals(List.of(CREATED_AT, CREATED_AT, CREATED_AT, ID), dsl.extractBindValues(condition));
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Rendered SQL without whitespace and parentheses, so the check does not depend on jOOQ's formatting
+     */
+    private String normalize(Condition condition) {
+        return dsl.render(condition).replaceAll("[\\s()]", "").toLowerCase();
+    }
+}
@@ -0,0 +1,85 @@
+package com.Flyway.server.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the bucketing guarantees staged rollouts rely on
+ */
+class RolloutUtilTests {
+
+    private static final int DEVICES = 20_000;
+
+    @Test
+    void bucketsStayInRange() {
+        long seed = RolloutUtil.seed("deployment-1", "build-1");
+
+        for (int i = 0; i < DEVICES; i++) {
+            int bucket = RolloutUtil.bucket(seed, "device-" + i);
+            assertTrue(bucket >= 0 && bucket < RolloutUtil.BUCKETS, "bucket " + bucket + " out of range");
+        }
+    }
+
+    @Test
+    void bucketIsStableForDeviceAndRelease() {
+        long seed = RolloutUtil.seed("deployment-1", "build-1");
+
+        assertEquals(RolloutUtil.bucket(seed, "device-42"), RolloutUtil.bucket(seed, "device-42"));
+        assertEquals(seed, RolloutUtil.seed("deployment-1", "build-1"));
+    }
+
+    @Test
+    void raisingPercentageOnlyAddsDevices() {
+        long seed = RolloutUtil.seed("deployment-1", "build-1");
+        Set<String> served = new HashSet<>();
+
+        for (int basisPoints = 0; basisPoints <= RolloutUtil.BUCKETS; basisPoints += 500) {
+            Set<String> servedNow = new HashSet<>();
+            for (int i = 0; i < DEVICES; i++) {
+                String deviceId = "device-" + i;
+                if (RolloutUtil.bucket(seed, deviceId) < basisPoints) {
+                    servedNow.add(deviceId);
+                }
+            }
+
+            assertTrue(servedNow.containsAll(served), "a device left the rollout at " + basisPoints + " basis points");
+            served = servedNow;
+        }
+        assertEquals(DEVICES, served.size());
+    }
+
+    @Test
+    void spreadsDevicesEvenly() {
+        long seed = RolloutUtil.seed("deployment-1", "build-1");
+        int inFirstTenPercent = 0;
+
+        for (int i = 0; i < DEVICES; i++) {
+            if (RolloutUtil.bucket(seed, "device-" + i) < 1_000) {
+                inFirstTenPercent++;
+            }
+        }
+
+        // 10% of 20000 is 2000; allow a wide margin so the check is not flaky
+        assertTrue(inFirstTenPercent > 1_700 && inFirstTenPercent < 2_300, "got " + inFirstTenPercent);
+    }
+
+    @Test
+    void eachReleaseGetsItsOwnSeed() {
+        assertNotEquals(RolloutUtil.seed("deployment-1", "build-1"), RolloutUtil.seed("deployment-1", "build-2"));
+        assertNotEquals(RolloutUtil.seed("deployment-1", "build-2"), RolloutUtil.seed("deployment-2", "build-1"));
+    }
+
+    @Test
+    void convertsBetweenPercentageAndBasisPoints() {
+        assertEquals(0, RolloutUtil.toBasisPoints(0));
+        assertEquals(1_250, RolloutUtil.toBasisPoints(12.5));
+        assertEquals(RolloutUtil.BUCKETS, RolloutUtil.toBasisPoints(100));
+        assertEquals(33.33, RolloutUtil.toPercentage(RolloutUtil.toBasisPoints(33.33)));
+    }
+}
@@ -0,0 +1,92 @@
+package com.Flyway.server.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that time-ordered ids sort in creation order and survive the trip through 16 bytes
+ */
+class UuidUtilTests {
+
+    private static final int IDS = 50_000;
+
+    @Test
+    void generatesVersion7Ids() {
+        UUID id = UuidUtil.timeOrdered();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    void idsSortInCreationOrderAsStrings() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < IDS; i++) {
+            ids.add(UuidUtil.timeOrderedId());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0, ids.get(i - 1) + " >= " + ids.get(i));
+        }
+    }
+
+    @Test
+    void idsSortInCreationOrderAsBytes() {
+        byte[] previous = UuidUtil.toBytes(UuidUtil.timeOrderedId());
+        for (int i = 0; i < IDS; i++) {
+            byte[] next = UuidUtil.toBytes(UuidUtil.timeOrderedId());
+            // MySQL compares BINARY(16) as unsigned bytes
+            assertTrue(Arrays.compareUnsigned(previous, next) < 0);
+            previous = next;
+        }
+    }
+
+    @Test
+    void embedsCreationTime() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidUtil.timeOrdered();
+        long after = System.currentTimeMillis();
+
+        long millis = id.getMostSignificantBits() >>> 16;
+        // Bursts that exhaust the per-millisecond counter borrow the following milliseconds
+        assertTrue(millis >= before && millis <= after + 1_000, "embedded " + millis);
+    }
+
+    @Test
+    void roundTripsThroughBytes() {
+        String id = UuidUtil.timeOrderedId();
+        byte[] bytes = UuidUtil.toBytes(id);
+
+        assertEquals(16, bytes.length);
+        assertEquals(id, UuidUtil.fromBytes(bytes));
+    }
+
+    @Test
+    void roundTripsRandomUuids() {
+        String id = UUID.randomUUID().toString();
+
+        assertEquals(id, UuidUtil.fromBytes(UuidUtil.toBytes(id)));
+    }
+
+    @Test
+    void packsMostSignificantByteFirst() {
+        byte[] bytes = UuidUtil.toBytes("01020304-0506-0708-090a-0b0c0d0e0f10");
+
+        assertArrayEquals(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16}, bytes);
+    }
+
+    @Test
+    void rejectsMalformedInput() {
+        assertThrows(IllegalArgumentException.class, () -> UuidUtil.toBytes("not-a-uuid"));
+        assertThrows(IllegalArgumentException.class, () -> UuidUtil.fromBytes(new byte[15]));
+    }
+}